@@ -0,0 +1,65 @@
+package com.mohamedbendali.sigc.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache local (Caffeine) devant les lectures publiques des offres.
+ * L'invalidation est faite précisément après commit (OfferCacheInvalidationListener) ;
+ * le TTL n'est qu'un filet de sécurité contre une éventuelle lecture concurrente d'une donnée périmée.
+ * Exception : le tableau de bord recruteur n'est pas invalidé à chaque candidature, son TTL court borne le retard.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Détail d'une offre (JobOfferDTO), clé = id de l'offre
+    public static final String OFFER_DETAILS = "offerDetails";
+    // Premières pages des offres publiées (Page<JobOfferDTO>), clé = page:taille:tri
+    public static final String PUBLISHED_OFFER_PAGES = "publishedOfferPages";
+    // Seules les N premières pages sont mises en cache (les pages profondes sont rarement consultées)
+    public static final int MAX_CACHED_PAGES = 5;
+    // Première page du tableau de bord recruteur (CursorPage<OfferApplicationCountsDTO>), clé = statut d'offre (ou ALL):taille
+    public static final String OFFER_DASHBOARD = "offerDashboard";
+
+    @Value("${cache.offers.details.max-size:10000}")
+    private long offerDetailsMaxSize;
+
+    @Value("${cache.offers.pages.max-size:500}")
+    private long offerPagesMaxSize;
+
+    @Value("${cache.offers.ttl-minutes:30}")
+    private long offersTtlMinutes;
+
+    @Value("${cache.dashboard.ttl-seconds:30}")
+    private long dashboardTtlSeconds;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(OFFER_DETAILS, Caffeine.newBuilder()
+                .maximumSize(offerDetailsMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(offersTtlMinutes))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PUBLISHED_OFFER_PAGES, Caffeine.newBuilder()
+                .maximumSize(offerPagesMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(offersTtlMinutes))
+                .recordStats()
+                .build());
+        // Une entrée par (filtre de statut, taille de page), première page seulement : peu d'entrées, bornées
+        cacheManager.registerCustomCache(OFFER_DASHBOARD, Caffeine.newBuilder()
+                .maximumSize(32)
+                .expireAfterWrite(Duration.ofSeconds(dashboardTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -1,6 +1,7 @@
 // src/main/java/com/mohamedbendali/sigc/config/PasswordEncoderConfig.java
 package com.mohamedbendali.sigc.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,8 +10,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class PasswordEncoderConfig {
 
+    // Facteur de coût BCrypt (4-31). Chaque +1 double le temps de hachage : à calibrer avec BCryptCostBenchmark
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.mohamedbendali.sigc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Active les tâches @Scheduled (package scheduling). Taille du pool : spring.task.scheduling.pool.size
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
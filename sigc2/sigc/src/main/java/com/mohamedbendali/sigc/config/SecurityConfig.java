@@ -85,7 +85,20 @@ public class SecurityConfig {
                         // --- Règles GET publiques (si nécessaire) ---
                          .requestMatchers("/health", "/health/**").permitAll()  // Pour Render Health Checks
                          .requestMatchers("/").permitAll()               
-                         .requestMatchers(HttpMethod.GET, "/api/offers", "/api/offers/*").permitAll()
+                        // --- Règles par rôle AVANT les GET publics : "/api/offers/*" couvre aussi ces chemins ---
+                        // (@PreAuthorize n'est pas appliqué : pas de @EnableMethodSecurity)
+                        .requestMatchers(HttpMethod.GET, "/api/offers/dashboard").hasAnyRole("RECRUITER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/offers/duplicates").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/offers/*/duplicates").hasAnyRole("RECRUITER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/offers/all", "/api/offers/stage-durations",
+                                "/api/offers/*/stage-durations", "/api/offers/*/stats", "/api/offers/*/matching-candidates",
+                                "/api/offers/*/suggested-skills").hasAnyRole("RECRUITER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/offers/*/skills/auto-tag").hasAnyRole("RECRUITER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/offers/import", "/api/candidates/import", "/api/skills/backfill")
+                                .hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/candidates/export", "/api/applications/offer/*/export")
+                                .hasAnyRole("RECRUITER", "ADMIN")
+                         .requestMatchers(HttpMethod.GET, "/api/offers", "/api/offers/*", "/api/offers/*/similar").permitAll()
                         // --- Règles spécifiques aux rôles ---
                         // .requestMatchers("/admin/**").hasRole("ADMIN")
                         // --- Règle générale pour le reste de l'API (ou des endpoints) ---
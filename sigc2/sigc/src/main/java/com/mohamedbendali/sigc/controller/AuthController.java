@@ -3,7 +3,9 @@ package com.mohamedbendali.sigc.controller;
 import com.mohamedbendali.sigc.dto.LoginRequest; // Importer le DTO d'entrée
 import com.mohamedbendali.sigc.dto.JwtResponse; // Importer le DTO de sortie
 import com.mohamedbendali.sigc.dto.UserDTO; // Pour l'enregistrement (si vous l'ajoutez ici)
+import com.mohamedbendali.sigc.exception.TooManyRequestsException;
 import com.mohamedbendali.sigc.security.JwtTokenUtil; // Importer l'utilitaire JWT
+import com.mohamedbendali.sigc.security.PasswordHashingExecutor;
 import com.mohamedbendali.sigc.service.UserService; // Importer le UserService
 import jakarta.validation.Valid; // Pour valider le LoginRequest
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*; // Assurez-vous d'avoir les bonnes annotations
 
@@ -27,10 +30,13 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserService userService; // Doit être votre implémentation UserDetailsService
+    private final PasswordHashingExecutor passwordHashingExecutor; // Pool borné dédié au hachage BCrypt
 
     /**
      * Gère la requête de login.
      * Authentifie l'utilisateur et génère un token JWT si l'authentification réussit.
+     * La vérification BCrypt est exécutée sur le pool dédié {@link PasswordHashingExecutor}
+     * (et non sur le thread Tomcat) ; si ce pool est saturé la requête est refusée avec un 429.
      * @param authenticationRequest Contient username/email et password.
      * @return ResponseEntity contenant le JwtResponse avec le token.
      * @throws Exception si l'authentification échoue.
@@ -40,13 +46,17 @@ public class AuthController {
 
         log.info("Authentication attempt for user: {}", authenticationRequest.getUsernameOrEmail());
 
-        // 1. Authentifier l'utilisateur en utilisant l'AuthenticationManager
+        // 1. Authentifier l'utilisateur en utilisant l'AuthenticationManager (sur le pool de hachage)
+        final Authentication authentication;
         try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-                    authenticationRequest.getUsernameOrEmail(),
-                    authenticationRequest.getPassword()
-            ));
+            authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            authenticationRequest.getUsernameOrEmail(),
+                            authenticationRequest.getPassword()
+                    )));
             log.info("Authentication successful for user: {}", authenticationRequest.getUsernameOrEmail());
+        } catch (TooManyRequestsException e) {
+            throw e; // Contrôle d'admission : 429 via GlobalExceptionHandler
         } catch (DisabledException e) {
             log.warn("Authentication failed for disabled user: {}", authenticationRequest.getUsernameOrEmail());
             throw new Exception("USER_DISABLED", e); // Renvoyer une exception spécifique ou un statut 403/401
@@ -58,11 +68,10 @@ public class AuthController {
             throw new Exception("AUTHENTICATION_FAILED", e);
         }
 
-        // 2. Si l'authentification réussit, charger les UserDetails
-        //    (loadUserByUsername gère la recherche par username ou email)
-        final UserDetails userDetails = userService
-                .loadUserByUsername(authenticationRequest.getUsernameOrEmail());
-        log.debug("UserDetails loaded for user: {}", userDetails.getUsername());
+        // 2. Réutiliser les UserDetails déjà chargés par le DaoAuthenticationProvider
+        //    (évite un second loadUserByUsername / une seconde requête SQL par login)
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        log.debug("UserDetails resolved for user: {}", userDetails.getUsername());
 
 
         // 3. Générer le token JWT
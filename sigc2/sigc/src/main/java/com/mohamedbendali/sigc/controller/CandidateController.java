@@ -1,20 +1,42 @@
 package com.mohamedbendali.sigc.controller;
 
 import com.mohamedbendali.sigc.dto.CandidateDTO;
+import com.mohamedbendali.sigc.dto.CandidateSearchCriteria;
+import com.mohamedbendali.sigc.dto.CandidateSummaryDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.ImportReportDTO;
+import com.mohamedbendali.sigc.dto.SkillMatchDTO;
 import com.mohamedbendali.sigc.entity.User; // Pour AuthenticationPrincipal
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.CountMode;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import com.mohamedbendali.sigc.enums.SkillMatchMode;
 import com.mohamedbendali.sigc.service.CandidateService;
+import com.mohamedbendali.sigc.service.ExportService;
+import com.mohamedbendali.sigc.service.ImportService;
+import com.mohamedbendali.sigc.service.MatchingService;
 import com.mohamedbendali.sigc.service.UserService; // Service pour récupérer User depuis UserDetails
+import com.mohamedbendali.sigc.util.ExportResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/candidates")
@@ -22,6 +44,9 @@ import org.springframework.web.bind.annotation.*;
 public class CandidateController {
 
     private final CandidateService candidateService;
+    private final MatchingService matchingService;
+    private final ExportService exportService;
+    private final ImportService importService;
     // private final UserService userService; // Pour lier UserDetails à User/Candidate
 
     // Endpoint pour récupérer le profil du candidat connecté
@@ -38,6 +63,22 @@ public class CandidateController {
         return ResponseEntity.ok(candidate);
     }
 
+    // Offres publiées les mieux adaptées aux compétences du candidat connecté
+    @GetMapping("/me/matching-offers")
+    @PreAuthorize("hasRole('CANDIDATE')")
+    public ResponseEntity<List<SkillMatchDTO>> getMyMatchingOffers(@AuthenticationPrincipal UserDetails userDetails,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(matchingService.findMatchingOffersByEmail(userDetails.getUsername(), limit));
+    }
+
+    // Même classement pour un candidat donné (Recruteur/Admin)
+    @GetMapping("/{id}/matching-offers")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<List<SkillMatchDTO>> getMatchingOffers(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(matchingService.findMatchingOffers(id, limit));
+    }
+
     // Endpoint pour qu'un recruteur/admin récupère un candidat par ID
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
@@ -49,12 +90,59 @@ public class CandidateController {
     // Endpoint pour lister tous les candidats (Recruteur/Admin)
     @GetMapping
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
-    public ResponseEntity<Page<CandidateDTO>> getAllCandidates(
+    public ResponseEntity<?> getAllCandidates(
+            @RequestParam(defaultValue = "EXACT") CountMode count, // NONE/ESTIMATED : Slice sans COUNT(*)
             @PageableDefault(size = 10, sort = "lastName") Pageable pageable) {
+        if (count != CountMode.EXACT) {
+            return ResponseEntity.ok(candidateService.getAllCandidatesSlice(pageable, count));
+        }
         Page<CandidateDTO> candidates = candidateService.getAllCandidates(pageable);
         return ResponseEntity.ok(candidates);
     }
 
+    // Variante keyset (curseur) de la liste des candidats, triée par (nom, id)
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<CandidateDTO>> getCandidatesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(candidateService.getCandidatesKeyset(cursor, size));
+    }
+
+    // Recherche de candidats (Recruteur/Admin) : filtres combinés en ET, pagination keyset du plus récent au plus ancien.
+    // Ex: /api/candidates/search?q=dupont&skills=Java,Spring Boot&skillMode=ALL&statuses=INTERVIEW_SCHEDULED&createdFrom=2024-01-01
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<CandidateSummaryDTO>> searchCandidates(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Set<String> skills,
+            @RequestParam(defaultValue = "ALL") SkillMatchMode skillMode,
+            @RequestParam(required = false) Set<ApplicationStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CandidateSearchCriteria criteria = new CandidateSearchCriteria(q, skills, skillMode, statuses, createdFrom, createdTo);
+        return ResponseEntity.ok(candidateService.searchCandidates(criteria, cursor, size));
+    }
+
+    // Export de tous les candidats en flux (CSV ou NDJSON), gzip si Accept-Encoding le permet
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCandidates(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportResponses.of("candidates", format, acceptEncoding, out -> exportService.exportCandidates(format, out));
+    }
+
+    // Import en masse de profils (Admin seulement) : un email déjà connu met à jour le candidat existant
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDTO> importCandidates(@RequestParam("file") MultipartFile file,
+                                                            @RequestParam(defaultValue = "CSV") ExportFormat format) throws IOException {
+        return ResponseEntity.ok(importService.importCandidates(file.getInputStream(), format));
+    }
+
     // Endpoint pour créer un candidat (Admin? Ou lié à l'inscription User?)
     // La création de profil est souvent liée à la création du User.
     // Cet endpoint pourrait être réservé à l'admin pour créer un profil manuellement.
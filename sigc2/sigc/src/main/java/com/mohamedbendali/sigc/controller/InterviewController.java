@@ -7,10 +7,12 @@ import com.mohamedbendali.sigc.service.ChatService;
 import com.mohamedbendali.sigc.service.InterviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map; // Pour le corps de la requête simple
@@ -89,10 +91,16 @@ public class InterviewController {
     // Récupérer l'historique du chat (Recruteur/Admin ou Participant)
     @GetMapping("/{id}/chat")
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN') or @securityService.isInterviewParticipant(#id, principal)")
-    public ResponseEntity<List<ChatMessageDTO>> getChatHistory(@PathVariable Long id) {
+    public ResponseEntity<List<ChatMessageDTO>> getChatHistory(@PathVariable Long id, WebRequest request) {
         // TODO: Implémenter la vérification de participation
+        // GET conditionnel : l'historique ne change que lorsqu'un message est ajouté
+        String eTag = chatService.getChatHistoryETag(id);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
         List<ChatMessageDTO> history = chatService.getChatHistory(id);
-        return ResponseEntity.ok(history);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(history);
     }
 
     // Envoyer un message (typiquement le candidat) et obtenir la réponse du bot
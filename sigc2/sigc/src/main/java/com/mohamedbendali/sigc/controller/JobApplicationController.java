@@ -1,22 +1,36 @@
 package com.mohamedbendali.sigc.controller;
 
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateRequest;
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateResultDTO;
 import com.mohamedbendali.sigc.dto.CandidateDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
 import com.mohamedbendali.sigc.dto.JobApplicationDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.dto.TextMatchDTO;
 import com.mohamedbendali.sigc.entity.Candidate; // Pour récupérer l'ID du principal
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.CountMode;
+import com.mohamedbendali.sigc.enums.ExportFormat;
 import com.mohamedbendali.sigc.service.JobApplicationService;
 import com.mohamedbendali.sigc.service.CandidateService; // Pour obtenir le Candidate ID
+import com.mohamedbendali.sigc.service.ExportService;
+import com.mohamedbendali.sigc.service.MatchingService;
+import com.mohamedbendali.sigc.util.ExportResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,8 +39,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JobApplicationController {
 
+    // Données personnelles : jamais en cache partagé, revalidation systématique par ETag
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final JobApplicationService applicationService;
     private final CandidateService candidateService; // Pour trouver l'ID du candidat connecté
+    private final MatchingService matchingService;
+    private final ExportService exportService;
 
     // Endpoint pour qu'un candidat crée une nouvelle candidature
     @PostMapping
@@ -49,29 +68,101 @@ public class JobApplicationController {
     // Endpoint pour récupérer une candidature spécifique (Recruteur/Admin ou le candidat propriétaire)
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN') or @securityService.isApplicationOwner(#id, principal)")
-    public ResponseEntity<JobApplicationDTO> getApplicationById(@PathVariable Long id) {
+    public ResponseEntity<JobApplicationDTO> getApplicationById(@PathVariable Long id, WebRequest request) {
         // TODO: Implémenter la vérification de propriété dans SecurityService
+        String eTag = applicationService.getApplicationETag(id); // null si inexistante : 404 plus bas
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         JobApplicationDTO application = applicationService.getApplicationById(id);
-        return ResponseEntity.ok(application);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(PRIVATE_REVALIDATE).body(application);
     }
 
     // Endpoint pour que le candidat récupère ses propres candidatures
     @GetMapping("/my")
     @PreAuthorize("hasRole('CANDIDATE')")
-    public ResponseEntity<List<JobApplicationDTO>> getMyApplications(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<JobApplicationDTO>> getMyApplications(@AuthenticationPrincipal UserDetails userDetails,
+                                                                     WebRequest request) {
         CandidateDTO currentCandidate = candidateService.getCandidateByEmail(userDetails.getUsername()); // Placeholder
+        String eTag = applicationService.getApplicationsByCandidateETag(currentCandidate.getId());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
         List<JobApplicationDTO> applications = applicationService.getApplicationsByCandidateId(currentCandidate.getId());
-        return ResponseEntity.ok(applications);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(PRIVATE_REVALIDATE).body(applications);
     }
 
     // Endpoint pour qu'un Recruteur/Admin voie les candidatures d'une offre spécifique
     @GetMapping("/offer/{offerId}")
+    // ?count=NONE|ESTIMATED : Slice sans COUNT(*) (total approximatif en mode ESTIMATED)
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
-    public ResponseEntity<Page<JobApplicationDTO>> getApplicationsForOffer(
+    public ResponseEntity<?> getApplicationsForOffer(
             @PathVariable Long offerId,
-            @PageableDefault(size = 10, sort = "applicationDate") Pageable pageable) {
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @PageableDefault(size = 10, sort = "applicationDate") Pageable pageable,
+            WebRequest request) {
+        String eTag = applicationService.getApplicationsByOfferETag(offerId);
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        if (count != CountMode.EXACT) {
+            SliceResponse<JobApplicationDTO> slice = applicationService.getApplicationsByOfferIdSlice(offerId, pageable, count);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(PRIVATE_REVALIDATE).body(slice);
+        }
         Page<JobApplicationDTO> applications = applicationService.getApplicationsByOfferId(offerId, pageable);
-        return ResponseEntity.ok(applications);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(PRIVATE_REVALIDATE).body(applications);
+    }
+
+    // Export de toutes les candidatures d'une offre en flux (CSV ou NDJSON), sans pagination ni COUNT(*)
+    @GetMapping("/offer/{offerId}/export")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportApplicationsForOffer(
+            @PathVariable Long offerId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return ExportResponses.of("applications-offer-" + offerId, format, acceptEncoding,
+                out -> exportService.exportApplicationsByOffer(offerId, format, out));
+    }
+
+    // Endpoint pour qu'un Recruteur/Admin liste les candidatures d'un statut donné
+    @GetMapping("/status/{status}")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getApplicationsByStatus(
+            @PathVariable ApplicationStatus status,
+            @RequestParam(defaultValue = "EXACT") CountMode count, // NONE/ESTIMATED : Slice sans COUNT(*)
+            @PageableDefault(size = 10, sort = "applicationDate") Pageable pageable) {
+        if (count != CountMode.EXACT) {
+            return ResponseEntity.ok(applicationService.getApplicationsByStatusSlice(status, pageable, count));
+        }
+        return ResponseEntity.ok(applicationService.getApplicationsByStatus(status, pageable));
+    }
+
+    // Candidatures d'une offre classées par pertinence de la lettre de motivation (similarité TF-IDF locale)
+    @GetMapping("/offer/{offerId}/relevance")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TextMatchDTO>> rankApplicationsForOffer(
+            @PathVariable Long offerId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(matchingService.rankApplicationsByRelevance(offerId, limit));
+    }
+
+    // Variantes keyset (curseur) pour les offres très demandées : pas d'OFFSET ni de COUNT par page
+    @GetMapping("/offer/{offerId}/cursor")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<JobApplicationDTO>> getApplicationsForOfferByCursor(
+            @PathVariable Long offerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(applicationService.getApplicationsByOfferIdKeyset(offerId, cursor, size));
+    }
+
+    @GetMapping("/status/{status}/cursor")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<JobApplicationDTO>> getApplicationsByStatusByCursor(
+            @PathVariable ApplicationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(applicationService.getApplicationsByStatusKeyset(status, cursor, size));
     }
 
     // Endpoint pour qu'un Recruteur/Admin change le statut d'une candidature
@@ -84,6 +175,14 @@ public class JobApplicationController {
         return ResponseEntity.ok(updatedApplication);
     }
 
+    // Tri recruteur : même statut pour une liste de candidatures (ou un filtre par offre) en une transaction,
+    // avec un résultat par candidature (UPDATED, UNCHANGED, INVALID_TRANSITION, NOT_FOUND)
+    @PatchMapping("/bulk-status")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public ResponseEntity<BulkStatusUpdateResultDTO> updateApplicationStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(applicationService.updateApplicationStatuses(request));
+    }
+
     // Endpoint pour qu'un candidat retire sa candidature
     @PatchMapping("/{id}/withdraw")
     @PreAuthorize("@securityService.isApplicationOwner(#id, principal)") // Sécurisé pour le propriétaire
@@ -95,4 +194,8 @@ public class JobApplicationController {
 
     // TODO: Ajouter endpoints pour gérer les pièces jointes liées à une candidature
     // Ex: POST /api/applications/{id}/attachments
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(PRIVATE_REVALIDATE).build();
+    }
 }
\ No newline at end of file
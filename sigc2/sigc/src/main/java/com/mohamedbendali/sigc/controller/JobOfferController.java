@@ -1,17 +1,46 @@
 package com.mohamedbendali.sigc.controller;
 
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.DuplicateClusterDTO;
+import com.mohamedbendali.sigc.dto.FacetedOfferSearchDTO;
+import com.mohamedbendali.sigc.dto.ImportReportDTO;
+import com.mohamedbendali.sigc.dto.JobOfferCardDTO;
 import com.mohamedbendali.sigc.dto.JobOfferDTO;
+import com.mohamedbendali.sigc.dto.OfferApplicationCountsDTO;
+import com.mohamedbendali.sigc.dto.OfferStatsDTO;
+import com.mohamedbendali.sigc.dto.SkillMatchDTO;
+import com.mohamedbendali.sigc.dto.SkillSuggestionDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.dto.StageDurationDTO;
+import com.mohamedbendali.sigc.dto.SuggestionDTO;
+import com.mohamedbendali.sigc.dto.TextMatchDTO;
+import com.mohamedbendali.sigc.enums.CountMode;
+import com.mohamedbendali.sigc.enums.ExportFormat;
 import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.enums.SalaryBand;
+import com.mohamedbendali.sigc.service.DashboardService;
+import com.mohamedbendali.sigc.service.ImportService;
 import com.mohamedbendali.sigc.service.JobOfferService;
+import com.mohamedbendali.sigc.service.MatchingService;
+import com.mohamedbendali.sigc.service.SkillTaggingService;
+import com.mohamedbendali.sigc.service.StageAnalyticsService;
+import com.mohamedbendali.sigc.stats.OfferStatsCounter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/offers")
@@ -19,22 +48,172 @@ import org.springframework.web.bind.annotation.*;
 public class JobOfferController {
 
     private final JobOfferService offerService;
+    private final OfferStatsCounter offerStatsCounter;
+    private final MatchingService matchingService;
+    private final SkillTaggingService skillTaggingService;
+    private final ImportService importService;
+    private final StageAnalyticsService stageAnalyticsService;
+    private final DashboardService dashboardService;
 
     // Endpoint public pour lister les offres publiées (avec pagination et recherche optionnelle)
+    // GET conditionnel : If-None-Match -> 304 avant toute recherche ou mapping DTO
+    // ?count=NONE|ESTIMATED (sans mot-clé) : Slice sans COUNT(*) pour le défilement infini
     @GetMapping
-    public ResponseEntity<Page<JobOfferDTO>> getPublishedOffers(
+    public ResponseEntity<?> getPublishedOffers(
             @RequestParam(required = false) String keyword,
-            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable,
+            WebRequest request) {
+        String eTag = offerService.getPublishedOffersETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
+        if (count != CountMode.EXACT && (keyword == null || keyword.isBlank())) {
+            SliceResponse<JobOfferDTO> slice = offerService.getPublishedOffersSlice(pageable, count);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(slice);
+        }
         // Par défaut, on retourne les offres PUBLISHED
         Page<JobOfferDTO> offers = offerService.searchOffers(keyword, OfferStatus.PUBLISHED, pageable);
-        return ResponseEntity.ok(offers);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(offers);
+    }
+
+    // Liste publique allégée (cartes) : titre, extrait, dates et noms des compétences en une seule requête.
+    // Le détail complet reste servi par GET /api/offers/{id}.
+    @GetMapping("/cards")
+    public ResponseEntity<Page<JobOfferCardDTO>> getPublishedOfferCards(
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest request) {
+        String eTag = offerService.getPublishedOffersETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(offerService.getPublishedOfferCards(pageable));
+    }
+
+    // Variante keyset (curseur) de la liste publique : coût constant quelle que soit la profondeur.
+    // Renvoyer nextCursor dans ?cursor= pour obtenir la page suivante.
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<JobOfferDTO>> getPublishedOffersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(offerService.getPublishedOffersKeyset(cursor, size));
+    }
+
+    // Autocomplétion publique des titres (à chaque frappe) : servie en mémoire, sans accès base
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestOffers(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(offerService.suggestOffers(prefix, limit));
+    }
+
+    // Recherche à facettes publique : filtres OU dans une facette, ET entre facettes, avec comptages par valeur.
+    // Ex: /api/offers/facets?skillIds=3,7&salaryBands=FROM_30K_TO_45K
+    @GetMapping("/facets")
+    public ResponseEntity<FacetedOfferSearchDTO> searchOffersFaceted(
+            @RequestParam(required = false) Set<Long> skillIds,
+            @RequestParam(required = false) Set<String> categories,
+            @RequestParam(required = false) Set<SalaryBand> salaryBands,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(offerService.searchOffersFaceted(skillIds, categories, salaryBands, page, size));
     }
 
     // Endpoint pour récupérer une offre spécifique par ID (public)
     @GetMapping("/{id}")
-    public ResponseEntity<JobOfferDTO> getOfferById(@PathVariable Long id) {
+    public ResponseEntity<JobOfferDTO> getOfferById(@PathVariable Long id, WebRequest request) {
+        String eTag = offerService.getOfferETag(id); // null si inexistante : getOfferById lèvera le 404
+        if (eTag != null) {
+            offerStatsCounter.recordView(id); // Compté aussi pour une réponse 304 (la page a bien été consultée)
+        }
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+        }
         JobOfferDTO offer = offerService.getOfferById(id);
-        return ResponseEntity.ok(offer);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(offer);
+    }
+
+    // Vues et candidatures d'une offre (tableau de bord recruteur)
+    @GetMapping("/{id}/stats")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<OfferStatsDTO> getOfferStats(@PathVariable Long id) {
+        return ResponseEntity.ok(offerService.getOfferStats(id));
+    }
+
+    // Durée passée dans chaque étape par les candidatures de l'offre (moyenne et centiles, agrégats maintenus en tâche de fond)
+    @GetMapping("/{id}/stage-durations")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<StageDurationDTO>> getStageDurations(@PathVariable Long id) {
+        return ResponseEntity.ok(stageAnalyticsService.getStageDurations(id));
+    }
+
+    // Durée passée dans chaque étape, toutes offres confondues
+    @GetMapping("/stage-durations")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<StageDurationDTO>> getAllStageDurations() {
+        return ResponseEntity.ok(stageAnalyticsService.getStageDurations(null));
+    }
+
+    // Tableau de bord recruteur : candidatures par statut pour chaque offre, une requête par page (compteurs maintenus,
+    // première page en cache quelques secondes). Renvoyer nextCursor dans ?cursor= pour obtenir la page suivante.
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<CursorPage<OfferApplicationCountsDTO>> getDashboard(
+            @RequestParam(required = false) OfferStatus offerStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(dashboardService.getApplicationCountsByOffer(offerStatus, cursor, size));
+    }
+
+    // Offres publiées au texte proche (public, similarité TF-IDF locale)
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<TextMatchDTO>> getSimilarOffers(@PathVariable Long id,
+                                                               @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(matchingService.findSimilarOffers(id, limit));
+    }
+
+    // Offres quasi identiques (clones, republications), tous statuts confondus
+    @GetMapping("/{id}/duplicates")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<TextMatchDTO>> getDuplicateOffers(@PathVariable Long id) {
+        return ResponseEntity.ok(matchingService.findDuplicateOffers(id));
+    }
+
+    // Groupes de quasi-doublons sur tout le catalogue (Admin seulement, signalement sans fusion)
+    @GetMapping("/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClusters(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(matchingService.findDuplicateClusters(limit));
+    }
+
+    // Import en masse d'offres (Admin seulement) : fichier CSV ou NDJSON, bilan avec les erreurs par ligne
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDTO> importOffers(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format) throws IOException {
+        return ResponseEntity.ok(importService.importOffers(file.getInputStream(), format));
+    }
+
+    // Candidats dont les compétences correspondent le mieux à l'offre (classement en mémoire)
+    @GetMapping("/{id}/matching-candidates")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<SkillMatchDTO>> getMatchingCandidates(@PathVariable Long id,
+                                                                     @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(matchingService.findBestCandidates(id, limit));
+    }
+
+    // Compétences détectées dans le titre et la description mais pas encore requises par l'offre
+    @GetMapping("/{id}/suggested-skills")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<SkillSuggestionDTO>> getSuggestedSkills(@PathVariable Long id) {
+        return ResponseEntity.ok(skillTaggingService.suggestSkillsForOffer(id));
+    }
+
+    // Ajoute à l'offre les compétences détectées ; retourne celles qui ont été ajoutées
+    @PostMapping("/{id}/skills/auto-tag")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<List<SkillSuggestionDTO>> autoTagSkills(@PathVariable Long id) {
+        return ResponseEntity.ok(skillTaggingService.autoTagOffer(id));
     }
 
     // Endpoint pour créer une offre (Recruteur uniquement)
@@ -73,9 +252,15 @@ public class JobOfferController {
     // Endpoint pour que les recruteurs voient TOUTES les offres (y compris brouillons etc)
     @GetMapping("/all")
     @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
-    public ResponseEntity<Page<JobOfferDTO>> getAllOffersForRecruiter(
+    public ResponseEntity<?> getAllOffersForRecruiter(
             @RequestParam(required = false) OfferStatus status, // Filtrer par statut optionnel
+            @RequestParam(defaultValue = "EXACT") CountMode count, // NONE/ESTIMATED : Slice sans COUNT(*)
             @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
+        if (count != CountMode.EXACT) {
+            return ResponseEntity.ok(status != null
+                    ? offerService.getOffersByStatusSlice(status, pageable, count)
+                    : offerService.getAllOffersSlice(pageable, count));
+        }
         Page<JobOfferDTO> offers;
         if (status != null) {
             offers = offerService.getOffersByStatus(status, pageable);
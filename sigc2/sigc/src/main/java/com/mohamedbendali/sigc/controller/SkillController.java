@@ -1,7 +1,12 @@
 package com.mohamedbendali.sigc.controller;
 
+import com.mohamedbendali.sigc.dto.SkillBackfillReportDTO;
 import com.mohamedbendali.sigc.dto.SkillDTO;
+import com.mohamedbendali.sigc.dto.SkillSuggestionDTO;
+import com.mohamedbendali.sigc.dto.TagTextRequest;
+import com.mohamedbendali.sigc.enums.CountMode;
 import com.mohamedbendali.sigc.service.SkillService;
+import com.mohamedbendali.sigc.service.SkillTaggingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,12 +24,17 @@ import java.util.List;
 public class SkillController {
 
     private final SkillService skillService;
+    private final SkillTaggingService skillTaggingService;
 
     // Lister toutes les compétences (Admin/Recruteur)
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER')")
-    public ResponseEntity<Page<SkillDTO>> getAllSkills(
+    public ResponseEntity<?> getAllSkills(
+            @RequestParam(defaultValue = "EXACT") CountMode count, // NONE/ESTIMATED : Slice sans COUNT(*)
             @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        if (count != CountMode.EXACT) {
+            return ResponseEntity.ok(skillService.findAllSlice(pageable, count));
+        }
         return ResponseEntity.ok(skillService.findAll(pageable));
     }
 
@@ -36,6 +46,20 @@ public class SkillController {
     }
 
 
+    // Compétences reconnues dans un texte libre, noms et synonymes (Admin/Recruteur)
+    @PostMapping("/tag")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER')")
+    public ResponseEntity<List<SkillSuggestionDTO>> tagText(@Valid @RequestBody TagTextRequest request) {
+        return ResponseEntity.ok(skillTaggingService.tagText(request.getText()));
+    }
+
+    // Marquage rétroactif de tout l'historique (Admin seulement) ; attach=false : simulation sans écriture
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SkillBackfillReportDTO> backfillSkills(@RequestParam(defaultValue = "false") boolean attach) {
+        return ResponseEntity.ok(skillTaggingService.backfill(attach));
+    }
+
     // Obtenir une compétence par ID (Admin/Recruteur)
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'RECRUITER')")
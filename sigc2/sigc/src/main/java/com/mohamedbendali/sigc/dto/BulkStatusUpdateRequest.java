@@ -0,0 +1,24 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Mise à jour groupée du statut de candidatures : soit une liste d'identifiants, soit un filtre
+ * (offre, et éventuellement statut actuel) - l'un des deux, pas les deux.
+ */
+@Data
+public class BulkStatusUpdateRequest {
+
+    @NotNull
+    private ApplicationStatus status; // Statut cible
+
+    private List<Long> applicationIds;
+
+    // Filtre : toutes les candidatures de l'offre, limitées au statut actuel s'il est fourni
+    private Long offerId;
+    private ApplicationStatus currentStatus;
+}
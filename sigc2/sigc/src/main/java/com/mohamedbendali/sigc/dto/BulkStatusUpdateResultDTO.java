@@ -0,0 +1,27 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.StatusUpdateOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bilan d'une mise à jour groupée : un résultat par candidature demandée, dans l'ordre de la demande.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResultDTO {
+
+    private ApplicationStatus status; // Statut cible
+    private int requested;
+    private int updated;
+    private List<Outcome> outcomes;
+
+    // previousStatus null si la candidature n'existe pas
+    public record Outcome(Long applicationId, ApplicationStatus previousStatus, StatusUpdateOutcome outcome) {
+    }
+}
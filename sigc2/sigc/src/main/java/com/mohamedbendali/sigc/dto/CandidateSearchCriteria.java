@@ -0,0 +1,31 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.SkillMatchMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filtres de la recherche de candidats (recruteur) ; un filtre null ou vide est ignoré, les filtres se combinent en ET.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchCriteria {
+
+    private String query; // Sous-chaîne du prénom, du nom ou de l'email (au moins 3 caractères)
+
+    private Set<String> skills; // Noms de compétences, casse ignorée
+
+    private SkillMatchMode skillMode = SkillMatchMode.ALL;
+
+    private Set<ApplicationStatus> applicationStatuses; // Au moins une candidature dans l'un de ces statuts
+
+    private LocalDate createdFrom; // Inclus
+
+    private LocalDate createdTo;   // Inclus
+}
@@ -0,0 +1,29 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Ligne de résultat de la recherche de candidats : projection sans candidatures ni documents
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSummaryDTO {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private LocalDateTime createdAt;
+
+    private List<String> skillNames;
+}
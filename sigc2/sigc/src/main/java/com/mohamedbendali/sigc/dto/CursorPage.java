@@ -0,0 +1,46 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.mohamedbendali.sigc.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page obtenue par pagination "keyset" (curseur) : pas de numéro de page ni de total,
+ * seulement un jeton opaque à renvoyer dans {@code cursor} pour obtenir la page suivante.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private String nextCursor; // null sur la dernière page
+
+    private boolean hasNext;
+
+    private int size;
+
+    public static final int MAX_SIZE = 100;
+
+    // Borne la taille demandée par le client à [1, MAX_SIZE]
+    public static int clampSize(int requestedSize) {
+        return Math.max(1, Math.min(requestedSize, MAX_SIZE));
+    }
+
+    /**
+     * Construit la page à partir de lignes lues avec une limite de {@code size + 1} :
+     * la ligne en trop (non renvoyée) indique seulement qu'une page suivante existe.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext, pageRows.size());
+    }
+}
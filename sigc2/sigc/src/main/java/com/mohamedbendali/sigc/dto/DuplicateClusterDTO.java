@@ -0,0 +1,21 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Groupe d'offres quasi identiques (MinHash / LSH). L'offre de référence est la plus ancienne du groupe ;
+ * le score de chaque offre est sa similarité estimée avec elle (1 pour la référence).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+
+    private Long canonicalOfferId;
+
+    private List<TextMatchDTO> offers;
+}
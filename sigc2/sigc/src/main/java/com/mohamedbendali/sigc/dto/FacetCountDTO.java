@@ -0,0 +1,17 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+
+    private String value; // Valeur à renvoyer comme filtre (id de compétence, catégorie, tranche)
+
+    private String label; // Libellé affichable
+
+    private int count;    // Nombre d'offres publiées correspondant aux autres filtres
+}
@@ -0,0 +1,30 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Réponse de la recherche à facettes : page d'offres publiées + comptages par facette.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedOfferSearchDTO {
+
+    private List<JobOfferDTO> content;
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    private List<FacetCountDTO> skills;
+
+    private List<FacetCountDTO> skillCategories;
+
+    private List<FacetCountDTO> salaryBands;
+}
@@ -0,0 +1,33 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un import en masse (offres ou candidats). Les lignes rejetées ne sont pas chargées ; les autres
+ * le sont dans une seule transaction. errors est plafonné (import.max-reported-errors), rejected reste exact.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+    private long linesRead;   // Enregistrements lus (hors en-tête et lignes vides)
+    private long inserted;
+    private long updated;     // Candidats existants (même email) mis à jour
+    private long rejected;
+    private List<LineError> errors = new ArrayList<>();
+    private long elapsedMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;    // Numéro de ligne dans le fichier (première ligne d'un champ CSV multiligne)
+        private String message;
+    }
+}
@@ -13,7 +13,7 @@ public class JobApplicationDTO {
     private String candidateFullName; // Pour affichage facile
     private Long jobOfferId;
     private String jobOfferTitle; // Pour affichage facile
-    private String coverLetter;
+    private String coverLetter; // Détail uniquement : null dans les listes (projection sans le @Lob)
     private LocalDateTime applicationDate;
     private LocalDateTime updatedAt;
     private List<Long> interviewIds; // Juste les IDs
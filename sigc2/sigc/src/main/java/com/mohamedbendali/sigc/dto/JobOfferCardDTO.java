@@ -0,0 +1,29 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Version compacte d'une offre pour les listes (cartes) : pas de description complète ni d'exigences.
+ * Le détail reste servi par JobOfferDTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobOfferCardDTO {
+
+    private Long id;
+    private String title;
+    private String excerpt; // Début de la description
+    private OfferStatus status;
+    private String salaryRange;
+    private LocalDateTime publicationDate;
+    private LocalDateTime expirationDate;
+    private LocalDateTime createdAt;
+    private List<String> skillNames; // Triés par ordre alphabétique
+}
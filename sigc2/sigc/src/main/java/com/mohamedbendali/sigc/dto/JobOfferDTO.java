@@ -28,4 +28,8 @@ public class JobOfferDTO {
     private LocalDateTime publicationDate;
     private LocalDateTime expirationDate;
     private LocalDateTime createdAt;
+
+    // Renseignés uniquement pour les résultats de recherche plein texte
+    private Double searchRank; // Score de pertinence (ts_rank_cd)
+    private String searchSnippet; // Extrait de la description avec les termes surlignés (<mark>)
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Ligne du tableau de bord recruteur : nombre de candidatures de l'offre dans chaque statut.
+ * Les statuts sans candidature sont absents de counts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferApplicationCountsDTO {
+
+    private Long offerId;
+    private String title;
+    private OfferStatus offerStatus;
+    private Map<ApplicationStatus, Long> counts;
+    private long total;
+}
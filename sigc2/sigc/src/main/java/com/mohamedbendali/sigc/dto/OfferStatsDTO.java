@@ -0,0 +1,24 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistiques d'une offre pour le tableau de bord recruteur.
+ * Les compteurs incluent les incréments pas encore écrits en base par l'instance qui répond
+ * (ceux des autres instances apparaissent après leur prochain vidage).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferStatsDTO {
+
+    private Long offerId;
+    private long views;
+    private long applications;
+    private Double applyRate; // applications / views, null tant qu'il n'y a aucune vue
+    private LocalDateTime lastFlushedAt; // Dernière écriture en base, null si jamais écrite
+}
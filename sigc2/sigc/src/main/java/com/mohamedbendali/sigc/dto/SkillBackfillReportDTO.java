@@ -0,0 +1,22 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bilan d'un marquage rétroactif des compétences sur tout l'historique (offres et lettres de motivation).
+ * En simulation (attached = false), les liens "ajoutés" sont ceux qui auraient été proposés, doublons compris.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillBackfillReportDTO {
+
+    private boolean attached;
+    private long offersScanned;
+    private long coverLettersScanned;
+    private long offerSkillLinks;     // Liens offre -> compétence ajoutés (ou proposés)
+    private long candidateSkillLinks; // Liens candidat -> compétence ajoutés (ou proposés)
+    private long elapsedMs;
+}
@@ -0,0 +1,24 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Candidat (ou offre) classé par adéquation de compétences : identifiant, libellé affiché et détail du score
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillMatchDTO {
+
+    private Long id;
+
+    private String label; // Nom du candidat ou titre de l'offre
+
+    private double score; // Entre 0 et 1
+
+    private double coverage; // Part des compétences requises couvertes
+
+    private int matchedSkillCount;
+
+    private int requiredSkillCount;
+}
@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Compétence reconnue dans un texte par le marquage automatique (nom ou synonyme)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillSuggestionDTO {
+
+    private Long skillId;
+
+    private String name; // Nom de la compétence dans le référentiel, même si le texte utilise un synonyme
+
+    private int occurrences;
+}
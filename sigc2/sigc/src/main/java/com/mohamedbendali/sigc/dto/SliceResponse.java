@@ -0,0 +1,33 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.CountMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Page sans COUNT(*) exact : la page suivante est détectée en lisant une ligne de plus (limit + 1).
+ * {@code estimatedTotal} n'est renseigné qu'en mode ESTIMATED et reste approximatif.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> content;
+
+    private int number;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private Long estimatedTotal; // null si non demandé
+
+    public static <T> SliceResponse<T> of(Slice<T> slice, Long estimatedTotal) {
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), estimatedTotal);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mohamedbendali.sigc.dto;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durée passée par les candidatures dans une étape (statut), calculée sur les séjours terminés.
+ * Centiles estimés à partir d'un histogramme à tranches fixes (précision de l'ordre de la tranche).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageDurationDTO {
+
+    private ApplicationStatus stage;
+    private long samples;        // Candidatures sorties de l'étape
+    private long meanSeconds;
+    private long p50Seconds;
+    private long p90Seconds;
+    private long p95Seconds;
+    private long maxSeconds;
+}
@@ -0,0 +1,16 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Suggestion d'autocomplétion : identifiant de la ressource et libellé affiché
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+
+    private Long id;
+
+    private String label;
+}
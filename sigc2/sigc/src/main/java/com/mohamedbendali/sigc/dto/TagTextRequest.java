@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Texte libre à analyser (ex: description d'offre en cours de rédaction)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagTextRequest {
+
+    @NotBlank(message = "Le texte est obligatoire")
+    @Size(max = 100000, message = "Le texte ne peut dépasser 100000 caractères")
+    private String text;
+}
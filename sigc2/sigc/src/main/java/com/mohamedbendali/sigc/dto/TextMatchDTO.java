@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Offre ou candidature classée par similarité textuelle (TF-IDF) : identifiant, libellé affiché et score
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextMatchDTO {
+
+    private Long id;
+
+    private String label; // Titre de l'offre ou nom du candidat
+
+    private double score; // Similarité cosinus, entre 0 et 1
+}
@@ -9,6 +9,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp; // Gardé de l'exemple même si pas dans le détail de Candidate
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -58,6 +59,7 @@ public class Candidate {
     private User user;
 
     @ManyToMany(fetch = FetchType.LAZY) // Chapitre 5
+    @BatchSize(size = 50) // Une page de N candidats charge les compétences en IN (...) et non en N requêtes
     @JoinTable(
             name = "candidate_skills",
             joinColumns = @JoinColumn(name = "candidate_id"),
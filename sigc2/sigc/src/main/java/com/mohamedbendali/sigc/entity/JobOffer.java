@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,7 +40,8 @@ public class JobOffer {
     private OfferStatus status = OfferStatus.DRAFT; // Valeur par défaut
 
     @ElementCollection(fetch = FetchType.LAZY)
-    // Peut être LAZY
+    // Peut être LAZY ; @BatchSize : une liste de N offres charge les exigences en IN (...) et non en N requêtes
+    @BatchSize(size = 50)
     @CollectionTable(name = "offer_requirements", joinColumns = @JoinColumn(name = "offer_id"))
     @Column(name = "requirement")
     private List<String> requirements;
@@ -49,6 +51,7 @@ public class JobOffer {
     private List<JobApplication> applications = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.LAZY) // Relation de Chapitre 5
+    @BatchSize(size = 50)
     @JoinTable(
             name = "offer_skills",
             joinColumns = @JoinColumn(name = "offer_id"),
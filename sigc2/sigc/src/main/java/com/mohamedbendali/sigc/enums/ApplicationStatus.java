@@ -10,5 +10,18 @@ public enum ApplicationStatus {
     OFFER_EXTENDED,     // Offre proposée
     ACCEPTED,           // Acceptée par le candidat
     REJECTED,           // Refusée (par l'entreprise ou le candidat)
-    WITHDRAWN           // Retirée par le candidat
-}
\ No newline at end of file
+    WITHDRAWN;          // Retirée par le candidat
+
+    // Statuts définitifs : la candidature ne peut plus changer d'état
+    public boolean isFinal() {
+        return this == ACCEPTED || this == REJECTED || this == WITHDRAWN;
+    }
+
+    /**
+     * Transition autorisée vers {@code target} : jamais depuis un statut définitif, jamais de retour à RECEIVED
+     * (statut initial uniquement). Les étapes intermédiaires peuvent être sautées ou rejouées (ex: second entretien).
+     */
+    public boolean canTransitionTo(ApplicationStatus target) {
+        return target != null && target != this && !isFinal() && target != RECEIVED;
+    }
+}
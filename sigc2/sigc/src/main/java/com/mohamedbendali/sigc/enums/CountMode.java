@@ -0,0 +1,8 @@
+package com.mohamedbendali.sigc.enums;
+
+// Mode de comptage d'une liste paginée, choisi par le client (?count=...)
+public enum CountMode {
+    EXACT,      // Page classique avec COUNT(*) exact (comportement historique)
+    NONE,       // Slice : pas de total, seulement hasNext (défilement infini)
+    ESTIMATED   // Slice + total approximatif issu des statistiques du planificateur PostgreSQL
+}
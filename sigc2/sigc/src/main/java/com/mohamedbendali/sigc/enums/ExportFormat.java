@@ -0,0 +1,7 @@
+package com.mohamedbendali.sigc.enums;
+
+// Format des exports et imports en flux (ExportService, ImportService)
+public enum ExportFormat {
+    CSV,    // Séparateur ";" avec BOM UTF-8, ouvert directement par les tableurs
+    NDJSON  // Un objet JSON par ligne
+}
@@ -0,0 +1,42 @@
+package com.mohamedbendali.sigc.enums;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Tranches de salaire annuel brut utilisées comme facette de recherche (déduites de JobOffer.salaryRange)
+public enum SalaryBand {
+    UNSPECIFIED,        // salaryRange vide ou illisible
+    UNDER_30K,
+    FROM_30K_TO_45K,
+    FROM_45K_TO_60K,
+    OVER_60K;
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+    private static final Pattern THOUSANDS_SUFFIX = Pattern.compile("\\d\\s*[kK](?![a-zA-Z])");
+    private static final Pattern THOUSANDS_SEPARATOR = Pattern.compile("(?<=\\d)[\\s\\u00A0\\u202F](?=\\d{3}(?!\\d))");
+
+    /**
+     * Déduit la tranche depuis le texte libre de l'offre ("35k-45k €", "35-45k", "3000 - 3500 / mois", "50 000").
+     * La borne basse de la fourchette est retenue. Sans suffixe "k", un montant inférieur à 10 000 est considéré mensuel.
+     */
+    public static SalaryBand fromSalaryRange(String salaryRange) {
+        if (salaryRange == null || salaryRange.isBlank()) {
+            return UNSPECIFIED;
+        }
+        String text = THOUSANDS_SEPARATOR.matcher(salaryRange).replaceAll(""); // "50 000" -> "50000"
+        Matcher matcher = NUMBER.matcher(text);
+        if (!matcher.find()) {
+            return UNSPECIFIED;
+        }
+        double amount = Double.parseDouble(matcher.group().replace(',', '.'));
+        if (THOUSANDS_SUFFIX.matcher(text).find() && amount < 1_000) {
+            amount *= 1_000; // "35-45k" : le suffixe porte sur toute la fourchette
+        } else if (amount < 10_000) {
+            amount *= 12; // Salaire mensuel
+        }
+        if (amount < 30_000) return UNDER_30K;
+        if (amount < 45_000) return FROM_30K_TO_45K;
+        if (amount < 60_000) return FROM_45K_TO_60K;
+        return OVER_60K;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mohamedbendali.sigc.enums;
+
+// Combinaison des compétences demandées dans une recherche de candidats (?skillMode=...)
+public enum SkillMatchMode {
+    ALL,    // Le candidat possède toutes les compétences demandées
+    ANY     // Le candidat possède au moins une des compétences demandées
+}
@@ -0,0 +1,9 @@
+package com.mohamedbendali.sigc.enums;
+
+// Résultat d'une candidature dans une mise à jour de statut groupée
+public enum StatusUpdateOutcome {
+    UPDATED,            // Statut modifié
+    UNCHANGED,          // Déjà au statut demandé
+    INVALID_TRANSITION, // Refusée par ApplicationStatus.canTransitionTo
+    NOT_FOUND           // Identifiant inconnu
+}
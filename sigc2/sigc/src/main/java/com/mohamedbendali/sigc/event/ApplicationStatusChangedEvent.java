@@ -0,0 +1,23 @@
+package com.mohamedbendali.sigc.event;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Événement publié (JobApplicationServiceImpl, InterviewServiceImpl, ChatServiceImpl) après un ou plusieurs changements de statut de candidatures
+ * dans la même transaction : une mise à jour groupée publie un seul événement portant toutes ses transitions.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ApplicationStatusChangedEvent {
+
+    public record Change(long applicationId, long offerId, ApplicationStatus previousStatus, ApplicationStatus newStatus) {
+    }
+
+    private final List<Change> changes;
+}
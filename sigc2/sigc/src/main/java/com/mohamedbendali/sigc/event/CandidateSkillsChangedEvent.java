@@ -0,0 +1,17 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Événement publié par CandidateServiceImpl quand les compétences d'un candidat peuvent avoir changé
+ * (création, mise à jour du profil, suppression). Écouté en AFTER_COMMIT par SkillMatchIndex.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class CandidateSkillsChangedEvent {
+
+    private final Long candidateId;
+}
@@ -0,0 +1,19 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Événement publié une fois par import en masse de candidats (ImportService), à la place d'un
+ * CandidateSkillsChangedEvent par candidat créé ou mis à jour.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = "candidateIds")
+public class CandidatesImportedEvent {
+
+    private final List<Long> candidateIds;
+}
@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Événement publié par InterviewServiceImpl à la fin d'un entretien (enregistré dans l'outbox par OutboxRecorder).
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class InterviewCompletedEvent {
+
+    private final Long interviewId;
+    private final Long applicationId;
+    private final Double score;
+}
@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Événement publié par JobApplicationServiceImpl à la création d'une candidature
+ * (écouté en AFTER_COMMIT par TextSimilarityIndex pour indexer la lettre de motivation).
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class JobApplicationCreatedEvent {
+
+    private final Long applicationId;
+    private final Long offerId;
+}
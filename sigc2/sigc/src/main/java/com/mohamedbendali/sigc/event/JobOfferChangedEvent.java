@@ -0,0 +1,35 @@
+package com.mohamedbendali.sigc.event;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Événement applicatif publié par JobOfferServiceImpl à chaque écriture sur une offre.
+ * Les listeners l'écoutent en phase AFTER_COMMIT pour ne réagir qu'aux changements réellement persistés.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class JobOfferChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Long offerId;
+    private final ChangeType type;
+    private final OfferStatus previousStatus; // null à la création
+    private final OfferStatus newStatus;      // null à la suppression
+
+    /**
+     * Indique si le changement peut modifier les listes publiques (offre publiée avant ou après).
+     */
+    public boolean affectsPublishedOffers() {
+        return previousStatus == OfferStatus.PUBLISHED || newStatus == OfferStatus.PUBLISHED;
+    }
+}
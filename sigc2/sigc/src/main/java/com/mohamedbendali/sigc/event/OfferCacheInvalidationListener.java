@@ -0,0 +1,77 @@
+package com.mohamedbendali.sigc.event;
+
+import com.mohamedbendali.sigc.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalide les caches d'offres une fois la transaction d'écriture validée :
+ * le détail de l'offre concernée est évincé, et les pages publiées ne sont vidées
+ * que si l'offre était ou devient PUBLISHED (un brouillon modifié ne touche pas les listes publiques).
+ * Un renommage ou une suppression de compétence vide les deux caches.
+ * Le tableau de bord recruteur (titre et statut de chaque offre) est vidé à toute écriture sur une offre ;
+ * les changements de statut des candidatures n'y sont visibles qu'à l'expiration du TTL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfferCacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        Cache details = cacheManager.getCache(CacheConfig.OFFER_DETAILS);
+        if (details != null) {
+            details.evict(event.getOfferId());
+        }
+
+        if (event.affectsPublishedOffers()) {
+            Cache pages = cacheManager.getCache(CacheConfig.PUBLISHED_OFFER_PAGES);
+            if (pages != null) {
+                pages.clear();
+            }
+        }
+        clear(CacheConfig.OFFER_DASHBOARD);
+        log.debug("Offer caches invalidated after commit: {}", event);
+    }
+
+    // Offres importées : aucun détail en cache (ids neufs), seules les pages publiées peuvent changer
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        clear(CacheConfig.OFFER_DASHBOARD);
+        if (event.affectsPublishedOffers()) {
+            Cache pages = cacheManager.getCache(CacheConfig.PUBLISHED_OFFER_PAGES);
+            if (pages != null) {
+                pages.clear();
+            }
+        }
+    }
+
+    // Les DTO en cache portent les noms des compétences requises : un renommage ou une suppression les rend faux
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.getType() == SkillChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        for (String cacheName : new String[]{CacheConfig.OFFER_DETAILS, CacheConfig.PUBLISHED_OFFER_PAGES}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        log.debug("Offer caches cleared after skill change: {}", event);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Événement publié une fois par import en masse d'offres (ImportService), à la place d'un JobOfferChangedEvent
+ * par offre : les index en mémoire se reconstruisent une fois au lieu de relire chaque offre.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = {"offerIds", "publishedOfferIds"})
+public class OffersImportedEvent {
+
+    private final List<Long> offerIds;
+    private final List<Long> publishedOfferIds; // Sous-ensemble créé directement au statut PUBLISHED
+
+    public boolean affectsPublishedOffers() {
+        return !publishedOfferIds.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mohamedbendali.sigc.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Événement publié par SkillServiceImpl à chaque écriture sur le référentiel de compétences
+ * (écouté en AFTER_COMMIT par les index en mémoire : autocomplétion, facettes, SkillResolver).
+ * skillId est null pour une création par lot (SkillResolver avec skills.auto-create).
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class SkillChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Long skillId;
+    private final ChangeType type;
+}
@@ -0,0 +1,17 @@
+package com.mohamedbendali.sigc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Jeton de pagination (curseur) illisible ou falsifié.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Curseur de pagination invalide : '%s'", cursor));
+    }
+}
@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Fichier d'import illisible dans son ensemble (en-tête absent, guillemet non fermé, ...).
+ * Les erreurs limitées à une ligne sont rapportées dans le bilan d'import, sans exception.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportFileException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
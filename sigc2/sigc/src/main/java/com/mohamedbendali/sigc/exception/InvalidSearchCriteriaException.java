@@ -0,0 +1,17 @@
+package com.mohamedbendali.sigc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Filtres de recherche incohérents ou trop larges pour être servis par un index (ex: sous-chaîne trop courte).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSearchCriteriaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
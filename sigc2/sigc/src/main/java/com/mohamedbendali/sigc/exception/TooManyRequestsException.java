@@ -0,0 +1,27 @@
+package com.mohamedbendali.sigc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception levée lorsqu'une ressource limitée (ex: pool de hachage des mots de passe)
+ * est saturée et que la requête est refusée par contrôle d'admission.
+ *
+ * Mappée au statut HTTP 429 (Too Many Requests) avec un en-tête Retry-After.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds; // Valeur renvoyée dans l'en-tête Retry-After
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
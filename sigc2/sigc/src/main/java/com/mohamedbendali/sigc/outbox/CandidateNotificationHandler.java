@@ -0,0 +1,88 @@
+package com.mohamedbendali.sigc.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.dto.SkillMatchDTO;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.projection.ApplicationContactRow;
+import com.mohamedbendali.sigc.service.MatchingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Notifications aux candidats, hors du chemin des écritures : changement de statut d'une candidature,
+ * fin d'entretien, et publication d'une offre (aux candidats dont les compétences correspondent le mieux).
+ * Aucun canal d'envoi (e-mail, push) n'est encore configuré : la notification est journalisée.
+ */
+@Component
+@Slf4j
+public class CandidateNotificationHandler implements OutboxHandler {
+
+    private static final Set<String> EVENT_TYPES = Set.of(
+            OutboxEvents.APPLICATION_STATUS_CHANGED, OutboxEvents.INTERVIEW_COMPLETED, OutboxEvents.OFFER_PUBLISHED);
+
+    private final JobApplicationRepository applicationRepository;
+    private final MatchingService matchingService;
+    private final ObjectMapper objectMapper;
+    private final int offerMatchLimit;
+
+    public CandidateNotificationHandler(JobApplicationRepository applicationRepository, MatchingService matchingService,
+                                        ObjectMapper objectMapper,
+                                        @Value("${notifications.offer-published.candidates:20}") int offerMatchLimit) {
+        this.applicationRepository = applicationRepository;
+        this.matchingService = matchingService;
+        this.objectMapper = objectMapper;
+        this.offerMatchLimit = offerMatchLimit;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return EVENT_TYPES.contains(eventType);
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        switch (message.eventType()) {
+            case OutboxEvents.APPLICATION_STATUS_CHANGED -> {
+                OutboxEvents.ApplicationStatusChanged change =
+                        objectMapper.readValue(message.payload(), OutboxEvents.ApplicationStatusChanged.class);
+                contactOf(change.applicationId()).ifPresent(contact -> notify(change.applicationId(),
+                        "Your application for \"" + contact.getOfferTitle() + "\" is now " + change.newStatus()));
+            }
+            case OutboxEvents.INTERVIEW_COMPLETED -> {
+                OutboxEvents.InterviewCompleted interview =
+                        objectMapper.readValue(message.payload(), OutboxEvents.InterviewCompleted.class);
+                contactOf(interview.applicationId()).ifPresent(contact -> notify(interview.applicationId(),
+                        "Your interview for \"" + contact.getOfferTitle() + "\" is complete"));
+            }
+            case OutboxEvents.OFFER_PUBLISHED -> {
+                OutboxEvents.OfferPublished offer = objectMapper.readValue(message.payload(), OutboxEvents.OfferPublished.class);
+                List<SkillMatchDTO> matches;
+                try {
+                    matches = matchingService.findBestCandidates(offer.offerId(), offerMatchLimit);
+                } catch (ResourceNotFoundException e) {
+                    // Offre supprimée avant l'envoi : rien à notifier (ne pas réessayer jusqu'à DEAD)
+                    log.debug("Offer {} deleted before notification, skipped", offer.offerId());
+                    return;
+                }
+                log.info("Notification: offer {} published, {} matching candidates notified", offer.offerId(), matches.size());
+            }
+            default -> log.debug("Unsupported outbox event type {}", message.eventType());
+        }
+    }
+
+    // Candidature supprimée entre-temps : rien à notifier
+    private Optional<ApplicationContactRow> contactOf(long applicationId) {
+        return applicationRepository.findContactById(applicationId);
+    }
+
+    // Identifiant de la candidature seulement : pas d'adresse e-mail dans les journaux
+    private void notify(long applicationId, String text) {
+        log.info("Notification for application {}: {}", applicationId, text);
+    }
+}
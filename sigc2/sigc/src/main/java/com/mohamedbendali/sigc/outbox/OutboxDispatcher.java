@@ -0,0 +1,187 @@
+package com.mohamedbendali.sigc.outbox;
+
+import com.mohamedbendali.sigc.repository.OutboxStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Livre les messages de l'outbox aux OutboxHandler, en arrière-plan et par lots.
+ *
+ * Déclenché après chaque commit qui écrit dans l'outbox (OutboxRecorder) et par un passage périodique
+ * (rattrapage des nouveaux essais et des autres instances). Chaque lot est réservé dans une courte transaction
+ * sous verrou consultatif (une instance réserve à la fois) en repoussant next_attempt_at d'un bail ; les handlers
+ * s'exécutent ensuite hors transaction, et un message non acquitté avant la fin du bail est relivré.
+ * Ordre par agrégat : un message n'est réservé que si aucun message plus ancien du même agrégat n'est en attente,
+ * et dans un lot, l'échec d'un message reporte les suivants du même agrégat.
+ * Échec : nouvel essai après un délai exponentiel, puis statut DEAD après max-attempts essais.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    // Clé du verrou consultatif, propre à cette tâche ("SIGC" + 2)
+    private static final long ADVISORY_LOCK_KEY = 0x5349474302L;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxStore outboxStore;
+    private final List<OutboxHandler> handlers;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+
+    @Value("${outbox.dispatch.batch-size:200}")
+    private int batchSize;
+    @Value("${outbox.dispatch.lease-seconds:60}")
+    private long leaseSeconds;
+    @Value("${outbox.dispatch.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${outbox.dispatch.retry-base-ms:1000}")
+    private long retryBaseMs;
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ExecutorService dispatchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxDispatcher(OutboxStore outboxStore, List<OutboxHandler> handlers, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxStore = outboxStore;
+        this.handlers = handlers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveredCounter = Counter.builder("sigc.outbox.delivered")
+                .description("Messages de l'outbox traités par tous leurs handlers")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("sigc.outbox.failed")
+                .description("Échecs de livraison de messages de l'outbox (nouvel essai ou abandon)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+    }
+
+    /**
+     * Demande un passage dès que possible ; les réveils rapprochés (ex: écritures en rafale) fusionnent en un seul passage.
+     */
+    public void wakeUp() {
+        if (scheduled.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> {
+                scheduled.set(false);
+                dispatchAll();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.poll-interval-ms:5000}",
+            initialDelayString = "${outbox.dispatch.initial-delay-ms:10000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgeDelivered() {
+        int deleted = outboxStore.deleteDoneBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Outbox cleanup deleted {} delivered messages", deleted);
+        }
+    }
+
+    // Lots successifs jusqu'à épuisement des messages dus
+    private void dispatchAll() {
+        try {
+            int delivered;
+            do {
+                delivered = dispatchBatch();
+            } while (delivered == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * @return le nombre de messages réservés (0 si aucun n'est dû ou si une autre instance réserve).
+     */
+    int dispatchBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return List.<OutboxMessage>of();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            return outboxStore.claimDue(now, now.plusSeconds(leaseSeconds), batchSize);
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> done = new ArrayList<>(batch.size());
+        List<Long> postponed = new ArrayList<>();
+        Set<String> blockedAggregates = new HashSet<>();
+        for (OutboxMessage message : batch) {
+            String aggregate = message.aggregateType() + ":" + message.aggregateId();
+            if (blockedAggregates.contains(aggregate)) {
+                postponed.add(message.id()); // Un message précédent du même agrégat a échoué
+                continue;
+            }
+            try {
+                for (OutboxHandler handler : handlers) {
+                    if (handler.supports(message.eventType())) {
+                        handler.handle(message);
+                    }
+                }
+                done.add(message.id());
+            } catch (Exception e) {
+                blockedAggregates.add(aggregate);
+                fail(message, e);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxStore.markDone(done, now);
+        outboxStore.release(postponed, now);
+        deliveredCounter.increment(done.size());
+        log.debug("Outbox batch: {} claimed, {} delivered, {} postponed", batch.size(), done.size(), postponed.size());
+        return batch.size();
+    }
+
+    private void fail(OutboxMessage message, Exception e) {
+        failedCounter.increment();
+        int attempts = message.attempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        // Délai exponentiel plafonné à 1 h : 1 s, 2 s, 4 s, ...
+        long delayMs = Math.min(retryBaseMs << Math.min(attempts - 1, 20), 3_600_000L);
+        String error = String.valueOf(e.getMessage());
+        outboxStore.markFailed(message.id(), error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                LocalDateTime.now().plusNanos(delayMs * 1_000_000L), dead);
+        if (dead) {
+            log.error("Outbox message {} ({} {}) abandoned after {} attempts", message.id(), message.eventType(),
+                    message.aggregateId(), attempts, e);
+        } else {
+            log.warn("Outbox message {} ({} {}) failed, attempt {} of {}: {}", message.id(), message.eventType(),
+                    message.aggregateId(), attempts, maxAttempts, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.mohamedbendali.sigc.outbox;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+
+/**
+ * Types d'agrégats et d'événements de l'outbox, et leurs charges utiles (sérialisées en JSON).
+ * L'ordre de livraison est garanti par agrégat : les événements d'entretien sont rattachés à leur candidature.
+ */
+public final class OutboxEvents {
+
+    public static final String APPLICATION = "APPLICATION";
+    public static final String OFFER = "OFFER";
+
+    public static final String APPLICATION_STATUS_CHANGED = "APPLICATION_STATUS_CHANGED";
+    public static final String INTERVIEW_COMPLETED = "INTERVIEW_COMPLETED";
+    public static final String OFFER_PUBLISHED = "OFFER_PUBLISHED";
+
+    private OutboxEvents() {
+    }
+
+    public record ApplicationStatusChanged(long applicationId, long offerId, ApplicationStatus previousStatus,
+                                           ApplicationStatus newStatus) {
+    }
+
+    public record InterviewCompleted(long interviewId, long applicationId, Double score) {
+    }
+
+    public record OfferPublished(long offerId, OfferStatus previousStatus) {
+    }
+}
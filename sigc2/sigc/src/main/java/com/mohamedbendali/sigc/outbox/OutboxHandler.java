@@ -0,0 +1,15 @@
+package com.mohamedbendali.sigc.outbox;
+
+/**
+ * Traitement en arrière-plan d'un type d'événement de l'outbox (OutboxDispatcher).
+ *
+ * Livraison "au moins une fois" : un message peut être relivré après un arrêt brutal ou un échec d'un autre
+ * handler du même message, le traitement doit donc être idempotent. Une exception déclenche un nouvel essai
+ * différé ; les messages suivants du même agrégat attendent que celui-ci soit traité.
+ */
+public interface OutboxHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxMessage message) throws Exception;
+}
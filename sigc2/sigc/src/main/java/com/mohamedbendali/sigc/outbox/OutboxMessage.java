@@ -0,0 +1,7 @@
+package com.mohamedbendali.sigc.outbox;
+
+/**
+ * Message de l'outbox tel que reçu par un OutboxHandler ; payload est le JSON d'un record de OutboxEvents.
+ */
+public record OutboxMessage(long id, String aggregateType, long aggregateId, String eventType, String payload, int attempts) {
+}
@@ -0,0 +1,89 @@
+package com.mohamedbendali.sigc.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.event.InterviewCompletedEvent;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.repository.OutboxStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Enregistre dans l'outbox les événements métier qui ont des effets de bord différés.
+ *
+ * Écoute en BEFORE_COMMIT : les lignes sont insérées dans la transaction de l'écriture (même connexion),
+ * donc validées ou annulées avec elle. Après commit, OutboxDispatcher est réveillé sans attendre son prochain passage.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxStore outboxStore;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher dispatcher;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onApplicationStatusChanged(ApplicationStatusChangedEvent event) {
+        record(event.getChanges().stream()
+                .map(change -> message(OutboxEvents.APPLICATION, change.applicationId(), OutboxEvents.APPLICATION_STATUS_CHANGED,
+                        new OutboxEvents.ApplicationStatusChanged(change.applicationId(), change.offerId(),
+                                change.previousStatus(), change.newStatus())))
+                .toList());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onInterviewCompleted(InterviewCompletedEvent event) {
+        record(List.of(message(OutboxEvents.APPLICATION, event.getApplicationId(), OutboxEvents.INTERVIEW_COMPLETED,
+                new OutboxEvents.InterviewCompleted(event.getInterviewId(), event.getApplicationId(), event.getScore()))));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        if (event.getNewStatus() == OfferStatus.PUBLISHED && event.getPreviousStatus() != OfferStatus.PUBLISHED) {
+            record(List.of(message(OutboxEvents.OFFER, event.getOfferId(), OutboxEvents.OFFER_PUBLISHED,
+                    new OutboxEvents.OfferPublished(event.getOfferId(), event.getPreviousStatus()))));
+        }
+    }
+
+    // Offres importées directement publiées : un seul INSERT en lot pour tout l'import
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            record(event.getPublishedOfferIds().stream()
+                    .map(offerId -> message(OutboxEvents.OFFER, offerId, OutboxEvents.OFFER_PUBLISHED,
+                            new OutboxEvents.OfferPublished(offerId, null)))
+                    .toList());
+        }
+    }
+
+    private void record(List<OutboxStore.NewMessage> messages) {
+        outboxStore.addAll(messages);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        } else {
+            dispatcher.wakeUp();
+        }
+    }
+
+    private OutboxStore.NewMessage message(String aggregateType, long aggregateId, String eventType, Object payload) {
+        try {
+            return new OutboxStore.NewMessage(aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload " + eventType, e);
+        }
+    }
+}
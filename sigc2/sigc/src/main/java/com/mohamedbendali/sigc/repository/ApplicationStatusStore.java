@@ -0,0 +1,65 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Accès JDBC au statut des candidatures pour les mises à jour groupées (JobApplicationServiceImpl) :
+ * lecture verrouillée des statuts actuels puis une seule instruction UPDATE pour tout le lot,
+ * sans charger d'entité (ni lettre de motivation) dans le contexte de persistance.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationStatusStore {
+
+    private static final String SELECT_CURRENT = "SELECT id, offer_id, status FROM job_applications ";
+    private static final RowMapper<CurrentStatus> CURRENT_STATUS = (rs, rowNum) ->
+            new CurrentStatus(rs.getLong("id"), rs.getLong("offer_id"), ApplicationStatus.valueOf(rs.getString("status")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record CurrentStatus(long id, long offerId, ApplicationStatus status) {
+    }
+
+    /**
+     * Statut actuel des candidatures existantes parmi {@code ids}. Les lignes sont verrouillées (FOR UPDATE)
+     * jusqu'à la fin de la transaction : une mise à jour concurrente ne peut pas invalider la transition validée.
+     */
+    public List<CurrentStatus> lockByIds(Collection<Long> ids) {
+        return jdbcTemplate.query(SELECT_CURRENT + "WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", ids), CURRENT_STATUS);
+    }
+
+    /**
+     * Candidatures d'une offre (au statut {@code currentStatus} s'il est fourni), verrouillées, au plus {@code limit}.
+     */
+    public List<CurrentStatus> lockByOffer(long offerId, ApplicationStatus currentStatus, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("offerId", offerId).addValue("limit", limit);
+        String filter = "WHERE offer_id = :offerId";
+        if (currentStatus != null) {
+            filter += " AND status = :status";
+            params.addValue("status", currentStatus.name());
+        }
+        return jdbcTemplate.query(SELECT_CURRENT + filter + " ORDER BY id LIMIT :limit FOR UPDATE", params, CURRENT_STATUS);
+    }
+
+    // Une instruction pour tout le lot : toutes les lignes reçoivent le même statut
+    public int updateStatus(Collection<Long> ids, ApplicationStatus status, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("UPDATE job_applications SET status = :status, updated_at = :updatedAt WHERE id IN (:ids)",
+                new MapSqlParameterSource("status", status.name())
+                        .addValue("updatedAt", Timestamp.valueOf(updatedAt))
+                        .addValue("ids", ids));
+    }
+}
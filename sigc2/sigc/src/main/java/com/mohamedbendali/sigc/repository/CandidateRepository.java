@@ -1,9 +1,15 @@
 package com.mohamedbendali.sigc.repository;
 
 import com.mohamedbendali.sigc.entity.Candidate;
+import com.mohamedbendali.sigc.repository.projection.SkillLink;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +20,23 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
 
     // Trouver un candidat par son ID utilisateur lié
     Optional<Candidate> findByUserId(Long userId);
+
+    // Compétences des candidats (SkillMatchIndex), lues sans hydrater les entités
+    @Query("SELECT c.id AS ownerId, s.id AS skillId FROM Candidate c JOIN c.skills s")
+    List<SkillLink> findAllSkillLinks();
+
+    @Query("SELECT s.id FROM Candidate c JOIN c.skills s WHERE c.id = :candidateId")
+    List<Long> findSkillIdsByCandidateId(@Param("candidateId") Long candidateId);
+
+    // Variante Slice de findAll(Pageable) : pas de COUNT(*)
+    @Query("SELECT c FROM Candidate c")
+    Slice<Candidate> findAllAsSlice(Pageable pageable);
+
+    // --- Pagination keyset (curseur) : tri (last_name, id) croissant, index idx_candidates_last_name_id ---
+
+    List<Candidate> findAllByOrderByLastNameAscIdAsc(Pageable pageable); // Première page
+
+    @Query(value = "SELECT * FROM candidates c WHERE (c.last_name, c.id) > (:lastName, :id) " +
+            "ORDER BY c.last_name, c.id LIMIT :limit", nativeQuery = true)
+    List<Candidate> findAllAfter(@Param("lastName") String lastName, @Param("id") Long id, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.dto.CandidateSummaryDTO;
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.SkillMatchMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recherche de candidats à filtres combinables, en SQL construit dynamiquement : seuls les filtres renseignés
+ * apparaissent dans la requête, ce qui laisse le planificateur choisir l'index adapté à chaque combinaison.
+ *
+ * - sous-chaîne du nom / email : LIKE '%...%' sur l'expression indexée par idx_candidates_search_trgm (GIN pg_trgm) ;
+ * - compétences et statuts de candidature : sous-requêtes EXISTS / COUNT sur les tables de jointure ;
+ * - pagination keyset sur (created_at, id) décroissants : le coût d'une page ne dépend pas de sa position.
+ * Les lignes sont projetées directement en DTO, sans hydrater d'entité.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CandidateSearchRepository {
+
+    // Doit rester identique à l'expression de l'index idx_candidates_search_trgm (schema.sql)
+    private static final String SEARCH_TEXT = "lower(c.first_name || ' ' || c.last_name || ' ' || c.email)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Filtres déjà résolus par le service : identifiants de compétences, bornes de dates en instants.
+     * Un champ null (ou un ensemble vide) désactive le filtre correspondant.
+     */
+    public record Filter(String substring, Set<Long> skillIds, SkillMatchMode skillMode,
+                         Set<ApplicationStatus> applicationStatuses, LocalDateTime createdFrom, LocalDateTime createdBefore) {
+    }
+
+    /**
+     * Candidats triés du plus récent au plus ancien, strictement après (afterCreatedAt, afterId) si fournis.
+     */
+    public List<CandidateSummaryDTO> search(Filter filter, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT c.id, c.first_name, c.last_name, c.email, c.phone, c.created_at, " +
+                "(SELECT array_agg(s.name ORDER BY s.name) " +
+                "FROM candidate_skills cs JOIN skills s ON s.id = cs.skill_id WHERE cs.candidate_id = c.id) AS skill_names " +
+                "FROM candidates c WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (filter.substring() != null) {
+            sql.append(" AND ").append(SEARCH_TEXT).append(" LIKE :pattern ESCAPE '\\'");
+            params.addValue("pattern", "%" + escapeLike(filter.substring().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (filter.skillIds() != null && !filter.skillIds().isEmpty()) {
+            if (filter.skillMode() == SkillMatchMode.ANY) {
+                sql.append(" AND EXISTS (SELECT 1 FROM candidate_skills cs WHERE cs.candidate_id = c.id AND cs.skill_id IN (:skillIds))");
+            } else {
+                sql.append(" AND (SELECT count(*) FROM candidate_skills cs WHERE cs.candidate_id = c.id AND cs.skill_id IN (:skillIds)) = :skillCount");
+                params.addValue("skillCount", filter.skillIds().size());
+            }
+            params.addValue("skillIds", filter.skillIds());
+        }
+        if (filter.applicationStatuses() != null && !filter.applicationStatuses().isEmpty()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM job_applications a WHERE a.candidate_id = c.id AND a.status IN (:statuses))");
+            params.addValue("statuses", filter.applicationStatuses().stream().map(Enum::name).toList());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND c.created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.valueOf(filter.createdFrom()));
+        }
+        if (filter.createdBefore() != null) {
+            sql.append(" AND c.created_at < :createdBefore");
+            params.addValue("createdBefore", Timestamp.valueOf(filter.createdBefore()));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(" AND (c.created_at, c.id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.valueOf(afterCreatedAt));
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY c.created_at DESC, c.id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            Array skillNames = rs.getArray("skill_names");
+            return new CandidateSummaryDTO(
+                    rs.getLong("id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getString("phone"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    skillNames == null ? List.of() : Arrays.asList((String[]) skillNames.getArray()));
+        });
+    }
+
+    // Les caractères spéciaux de LIKE saisis par l'utilisateur sont recherchés littéralement
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,6 +2,8 @@ package com.mohamedbendali.sigc.repository;
 
 import com.mohamedbendali.sigc.entity.ChatMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -10,4 +12,8 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     // Trouver tous les messages pour un entretien, triés par timestamp
     List<ChatMessage> findByInterviewIdOrderByTimestampAsc(Long interviewId);
+
+    // Id du dernier message (les messages ne sont jamais modifiés) : sert d'empreinte pour l'ETag de l'historique
+    @Query("SELECT max(m.id) FROM ChatMessage m WHERE m.interview.id = :interviewId")
+    Long findLastMessageIdByInterviewId(@Param("interviewId") Long interviewId);
 }
\ No newline at end of file
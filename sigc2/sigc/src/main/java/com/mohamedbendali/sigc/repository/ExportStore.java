@@ -0,0 +1,70 @@
+package com.mohamedbendali.sigc.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lectures en flux pour les exports (ExportService) : curseur JDBC en avant seulement, lu par paquets de
+ * fetch-size lignes. Le pilote PostgreSQL n'ouvre un vrai curseur (au lieu de tout charger) qu'hors autocommit :
+ * l'appelant doit être dans une transaction. Chaque ligne est passée au consommateur puis oubliée.
+ */
+@Repository
+public class ExportStore {
+
+    public static final List<String> APPLICATION_COLUMNS = List.of(
+            "id", "status", "applicationDate", "updatedAt", "candidateId", "firstName", "lastName", "email", "phone",
+            "offerId", "offerTitle");
+
+    public static final List<String> CANDIDATE_COLUMNS = List.of(
+            "id", "firstName", "lastName", "email", "phone", "createdAt", "skills");
+
+    private static final String APPLICATIONS_BY_OFFER_SQL =
+            "SELECT a.id, a.status, a.application_date, a.updated_at, c.id AS candidate_id, c.first_name, c.last_name, " +
+            "c.email, c.phone, o.id AS offer_id, o.title FROM job_applications a " +
+            "JOIN candidates c ON c.id = a.candidate_id JOIN job_offers o ON o.id = a.offer_id " +
+            "WHERE a.offer_id = ? ORDER BY a.application_date, a.id";
+
+    private static final String CANDIDATES_SQL =
+            "SELECT c.id, c.first_name, c.last_name, c.email, c.phone, c.created_at, " +
+            "(SELECT string_agg(s.name, ', ' ORDER BY s.name) FROM candidate_skills cs " +
+            "JOIN skills s ON s.id = cs.skill_id WHERE cs.candidate_id = c.id) AS skills " +
+            "FROM candidates c ORDER BY c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportStore(DataSource dataSource, @Value("${export.fetch-size:1000}") int fetchSize) {
+        // Instance dédiée : le fetch size ne s'applique qu'aux exports
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Valeurs dans l'ordre de APPLICATION_COLUMNS, sans la lettre de motivation
+    public void streamApplicationsByOffer(long offerId, Consumer<Object[]> sink) {
+        jdbcTemplate.query(APPLICATIONS_BY_OFFER_SQL, (RowCallbackHandler) rs -> sink.accept(new Object[]{
+                rs.getLong("id"), rs.getString("status"), dateTime(rs, "application_date"), dateTime(rs, "updated_at"),
+                rs.getLong("candidate_id"), rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                rs.getString("phone"), rs.getLong("offer_id"), rs.getString("title")}), offerId);
+    }
+
+    // Valeurs dans l'ordre de CANDIDATE_COLUMNS
+    public void streamCandidates(Consumer<Object[]> sink) {
+        jdbcTemplate.query(CANDIDATES_SQL, (RowCallbackHandler) rs -> sink.accept(new Object[]{
+                rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                rs.getString("phone"), dateTime(rs, "created_at"), rs.getString("skills")}));
+    }
+
+    private static LocalDateTime dateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
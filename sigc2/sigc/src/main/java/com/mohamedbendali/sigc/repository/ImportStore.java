@@ -0,0 +1,195 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Chargement en masse pour les imports (ImportService) : les lignes validées sont copiées par COPY FROM STDIN
+ * (CopyManager du pilote PostgreSQL, un aller-retour par lot) dans des tables temporaires, puis fusionnées
+ * dans job_offers, candidates et les tables de jointure par quelques requêtes ensemblistes.
+ * Tables temporaires ON COMMIT DROP : tout se passe dans la transaction de l'appelant, sur sa connexion.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportStore {
+
+    private static final String CREATE_OFFER_STAGING_SQL =
+            "CREATE TEMP TABLE import_offers (id BIGINT PRIMARY KEY, title TEXT, description TEXT, status TEXT, " +
+            "salary_range TEXT, publication_date TIMESTAMP, expiration_date TIMESTAMP) ON COMMIT DROP";
+    private static final String CREATE_OFFER_SKILL_STAGING_SQL =
+            "CREATE TEMP TABLE import_offer_skills (offer_id BIGINT, skill_id BIGINT) ON COMMIT DROP";
+    private static final String CREATE_CANDIDATE_STAGING_SQL =
+            "CREATE TEMP TABLE import_candidates (email_key TEXT PRIMARY KEY, email TEXT, first_name TEXT, last_name TEXT, " +
+            "phone TEXT) ON COMMIT DROP";
+    private static final String CREATE_CANDIDATE_SKILL_STAGING_SQL =
+            "CREATE TEMP TABLE import_candidate_skills (email_key TEXT, skill_id BIGINT) ON COMMIT DROP";
+
+    // Les ids sont réservés avant la copie : les liens offre -> compétence peuvent être copiés dans le même lot
+    private static final String NEXT_OFFER_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('job_offers', 'id')) FROM generate_series(1, ?)";
+
+    private static final String MERGE_OFFERS_SQL =
+            "INSERT INTO job_offers (id, title, description, status, salary_range, publication_date, expiration_date, created_at) " +
+            "SELECT id, title, description, status, salary_range, publication_date, expiration_date, ? FROM import_offers";
+    // Jointure sur skills : un id de compétence supprimée entre-temps est ignoré au lieu de faire échouer l'import
+    private static final String MERGE_OFFER_SKILLS_SQL =
+            "INSERT INTO offer_skills (offer_id, skill_id) SELECT DISTINCT s.offer_id, s.skill_id FROM import_offer_skills s " +
+            "JOIN skills k ON k.id = s.skill_id ON CONFLICT DO NOTHING";
+
+    // Candidat existant : même email, casse ignorée (index idx_candidates_lower_email) ; le téléphone absent est conservé
+    private static final String MERGE_UPDATE_CANDIDATES_SQL =
+            "UPDATE candidates c SET first_name = s.first_name, last_name = s.last_name, phone = coalesce(s.phone, c.phone), " +
+            "updated_at = ? FROM import_candidates s WHERE lower(c.email) = s.email_key";
+    // ON CONFLICT : un candidat créé en concurrence depuis la mise à jour n'est pas dupliqué
+    private static final String MERGE_INSERT_CANDIDATES_SQL =
+            "INSERT INTO candidates (first_name, last_name, email, phone, created_at) " +
+            "SELECT s.first_name, s.last_name, s.email, s.phone, ? FROM import_candidates s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM candidates c WHERE lower(c.email) = s.email_key) ON CONFLICT DO NOTHING";
+    // Compétences ajoutées à celles du profil (un import ne retire rien)
+    private static final String MERGE_CANDIDATE_SKILLS_SQL =
+            "INSERT INTO candidate_skills (candidate_id, skill_id) SELECT DISTINCT c.id, s.skill_id " +
+            "FROM import_candidate_skills s JOIN candidates c ON lower(c.email) = s.email_key " +
+            "JOIN skills k ON k.id = s.skill_id ON CONFLICT DO NOTHING";
+    private static final String IMPORTED_CANDIDATE_IDS_SQL =
+            "SELECT c.id FROM candidates c JOIN import_candidates s ON lower(c.email) = s.email_key";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record OfferRow(long id, String title, String description, OfferStatus status, String salaryRange,
+                           LocalDateTime publicationDate, LocalDateTime expirationDate) {
+    }
+
+    public record CandidateRow(String emailKey, String email, String firstName, String lastName, String phone) {
+    }
+
+    public record OfferSkill(long offerId, long skillId) {
+    }
+
+    public record CandidateSkill(String emailKey, long skillId) {
+    }
+
+    public record CandidateMerge(int updated, int inserted, List<Long> candidateIds) {
+    }
+
+    public void createOfferStaging() {
+        jdbcTemplate.execute(CREATE_OFFER_STAGING_SQL);
+        jdbcTemplate.execute(CREATE_OFFER_SKILL_STAGING_SQL);
+    }
+
+    public void createCandidateStaging() {
+        jdbcTemplate.execute(CREATE_CANDIDATE_STAGING_SQL);
+        jdbcTemplate.execute(CREATE_CANDIDATE_SKILL_STAGING_SQL);
+    }
+
+    public List<Long> nextOfferIds(int count) {
+        return jdbcTemplate.queryForList(NEXT_OFFER_IDS_SQL, Long.class, count);
+    }
+
+    public void stageOffers(List<OfferRow> rows, List<OfferSkill> skills) {
+        CopyBuffer offers = new CopyBuffer();
+        for (OfferRow row : rows) {
+            offers.value(row.id()).value(row.title()).value(row.description()).value(row.status().name())
+                    .value(row.salaryRange()).value(row.publicationDate()).value(row.expirationDate()).endRow();
+        }
+        copy("COPY import_offers (id, title, description, status, salary_range, publication_date, expiration_date) " +
+                "FROM STDIN (FORMAT csv)", offers);
+
+        CopyBuffer links = new CopyBuffer();
+        skills.forEach(link -> links.value(link.offerId()).value(link.skillId()).endRow());
+        copy("COPY import_offer_skills (offer_id, skill_id) FROM STDIN (FORMAT csv)", links);
+    }
+
+    public void stageCandidates(List<CandidateRow> rows, List<CandidateSkill> skills) {
+        CopyBuffer candidates = new CopyBuffer();
+        for (CandidateRow row : rows) {
+            candidates.value(row.emailKey()).value(row.email()).value(row.firstName()).value(row.lastName())
+                    .value(row.phone()).endRow();
+        }
+        copy("COPY import_candidates (email_key, email, first_name, last_name, phone) FROM STDIN (FORMAT csv)", candidates);
+
+        CopyBuffer links = new CopyBuffer();
+        skills.forEach(link -> links.value(link.emailKey()).value(link.skillId()).endRow());
+        copy("COPY import_candidate_skills (email_key, skill_id) FROM STDIN (FORMAT csv)", links);
+    }
+
+    // @return le nombre d'offres insérées
+    public int mergeOffers(LocalDateTime now) {
+        analyze("import_offers", "import_offer_skills");
+        int inserted = jdbcTemplate.update(MERGE_OFFERS_SQL, Timestamp.valueOf(now));
+        jdbcTemplate.update(MERGE_OFFER_SKILLS_SQL);
+        return inserted;
+    }
+
+    public CandidateMerge mergeCandidates(LocalDateTime now) {
+        analyze("import_candidates", "import_candidate_skills");
+        int updated = jdbcTemplate.update(MERGE_UPDATE_CANDIDATES_SQL, Timestamp.valueOf(now));
+        int inserted = jdbcTemplate.update(MERGE_INSERT_CANDIDATES_SQL, Timestamp.valueOf(now));
+        jdbcTemplate.update(MERGE_CANDIDATE_SKILLS_SQL);
+        return new CandidateMerge(updated, inserted, jdbcTemplate.queryForList(IMPORTED_CANDIDATE_IDS_SQL, Long.class));
+    }
+
+    // Les tables temporaires échappent à l'autovacuum : sans statistiques, le planificateur se trompe sur les jointures
+    private void analyze(String... tables) {
+        for (String table : tables) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    private void copy(String sql, CopyBuffer buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(buffer.toString()));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("COPY failed", e);
+            }
+        });
+    }
+
+    // Lignes au format CSV de COPY : valeur vide sans guillemets = NULL, chaîne toujours entre guillemets
+    static final class CopyBuffer {
+
+        private final StringBuilder text = new StringBuilder();
+        private boolean rowStarted;
+
+        CopyBuffer value(Object value) {
+            if (rowStarted) {
+                text.append(',');
+            }
+            rowStarted = true;
+            if (value instanceof String string) {
+                text.append('"').append(string.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                text.append(value); // Nombres et LocalDateTime (ISO, accepté par PostgreSQL)
+            }
+            return this;
+        }
+
+        void endRow() {
+            text.append('\n');
+            rowStarted = false;
+        }
+
+        boolean isEmpty() {
+            return text.length() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
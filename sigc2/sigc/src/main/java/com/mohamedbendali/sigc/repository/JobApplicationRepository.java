@@ -2,27 +2,73 @@ package com.mohamedbendali.sigc.repository;
 
 import com.mohamedbendali.sigc.entity.JobApplication;
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.repository.projection.ApplicationContactRow;
+import com.mohamedbendali.sigc.repository.projection.ApplicationListRow;
+import com.mohamedbendali.sigc.repository.projection.ApplicationTextRow;
+import com.mohamedbendali.sigc.repository.projection.IdCount;
+import com.mohamedbendali.sigc.repository.projection.OwnedId;
+import com.mohamedbendali.sigc.repository.projection.VersionStamp;
 // Imports nécessaires pour Page et Pageable
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
 
-    // Trouve les candidatures pour un candidat spécifique
-    List<JobApplication> findByCandidateId(Long candidateId);
+    // --- Listes projetées (ApplicationListRow) : une requête par page, sans entité ni lettre de motivation ---
 
-    // Trouve les candidatures pour une offre spécifique (AVEC PAGINATION)
-    // MODIFIEZ CETTE LIGNE : changez le type de retour en Page<> et ajoutez Pageable
-    Page<JobApplication> findByJobOfferId(Long jobOfferId, Pageable pageable);
+    String ID_LIST_SEPARATOR = ",";
 
-    // Trouve les candidatures par statut
-    Page<JobApplication> findByStatus(ApplicationStatus status, Pageable pageable);
+    String LIST_ROW = "SELECT a.id AS id, a.status AS status, a.applicationDate AS applicationDate, a.updatedAt AS updatedAt, " +
+            "c.id AS candidateId, c.firstName AS candidateFirstName, c.lastName AS candidateLastName, " +
+            "o.id AS jobOfferId, o.title AS jobOfferTitle, " +
+            "(SELECT listagg(str(i.id), '" + ID_LIST_SEPARATOR + "') WITHIN GROUP (ORDER BY i.id) " +
+            "FROM Interview i WHERE i.application.id = a.id) AS interviewIds, " +
+            "(SELECT listagg(str(f.id), '" + ID_LIST_SEPARATOR + "') WITHIN GROUP (ORDER BY f.id) " +
+            "FROM Attachment f WHERE f.jobApplication.id = a.id) AS attachmentIds " +
+            "FROM JobApplication a JOIN a.candidate c JOIN a.jobOffer o ";
+
+    // Équivalent SQL pour les requêtes natives (pagination keyset)
+    String LIST_ROW_SQL = "SELECT a.id AS \"id\", a.status AS \"status\", a.application_date AS \"applicationDate\", " +
+            "a.updated_at AS \"updatedAt\", c.id AS \"candidateId\", c.first_name AS \"candidateFirstName\", " +
+            "c.last_name AS \"candidateLastName\", o.id AS \"jobOfferId\", o.title AS \"jobOfferTitle\", " +
+            "(SELECT string_agg(cast(i.id AS text), '" + ID_LIST_SEPARATOR + "' ORDER BY i.id) FROM interviews i " +
+            "WHERE i.application_id = a.id) AS \"interviewIds\", " +
+            "(SELECT string_agg(cast(f.id AS text), '" + ID_LIST_SEPARATOR + "' ORDER BY f.id) FROM attachments f " +
+            "WHERE f.application_id = a.id) AS \"attachmentIds\" " +
+            "FROM job_applications a JOIN candidates c ON c.id = a.candidate_id JOIN job_offers o ON o.id = a.offer_id ";
+
+    @Query(value = LIST_ROW + "WHERE a.jobOffer.id = :offerId",
+            countQuery = "SELECT count(a) FROM JobApplication a WHERE a.jobOffer.id = :offerId")
+    Page<ApplicationListRow> findRowsByJobOfferId(@Param("offerId") Long offerId, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE a.jobOffer.id = :offerId")
+    Slice<ApplicationListRow> findRowSliceByJobOfferId(@Param("offerId") Long offerId, Pageable pageable);
+
+    @Query(value = LIST_ROW + "WHERE a.status = :status",
+            countQuery = "SELECT count(a) FROM JobApplication a WHERE a.status = :status")
+    Page<ApplicationListRow> findRowsByStatus(@Param("status") ApplicationStatus status, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE a.status = :status")
+    Slice<ApplicationListRow> findRowSliceByStatus(@Param("status") ApplicationStatus status, Pageable pageable);
+
+    @Query(LIST_ROW + "WHERE c.id = :candidateId ORDER BY a.id")
+    List<ApplicationListRow> findRowsByCandidateId(@Param("candidateId") Long candidateId);
+
+    // Identifiants seuls des candidatures d'une page de candidats (CandidateServiceImpl) : une requête pour toute la page
+    @Query("SELECT a.candidate.id AS ownerId, a.id AS id FROM JobApplication a WHERE a.candidate.id IN :candidateIds ORDER BY a.id")
+    List<OwnedId> findIdsByCandidateIdIn(@Param("candidateIds") Collection<Long> candidateIds);
 
     // Exemple de requête custom comme dans le document, mais adaptée
     // Trouve les candidatures pour les offres actuellement publiées
@@ -34,4 +80,62 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
 
     // Optionnel mais utile : vérifier si un candidat a déjà postulé
     // boolean existsByCandidateIdAndJobOfferId(Long candidateId, Long jobOfferId);
-}
\ No newline at end of file
+
+    // Nombre de candidatures par offre (popularité pour l'autocomplétion)
+    @Query("SELECT a.jobOffer.id AS id, count(a) AS count FROM JobApplication a " +
+            "WHERE a.jobOffer.status = :status GROUP BY a.jobOffer.id")
+    List<IdCount> countPerOfferByOfferStatus(@Param("status") OfferStatus status);
+
+    // --- Pagination keyset (curseur) : tri (application_date, id) décroissant ---
+    // Index idx_job_applications_offer_date_id et idx_job_applications_status_date_id (schema.sql)
+
+    @Query(value = LIST_ROW_SQL + "WHERE a.offer_id = :offerId " +
+            "ORDER BY a.application_date DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<ApplicationListRow> findRowsByJobOfferIdFirst(@Param("offerId") Long offerId, @Param("limit") int limit); // Première page
+
+    @Query(value = LIST_ROW_SQL + "WHERE a.offer_id = :offerId " +
+            "AND (a.application_date, a.id) < (:applicationDate, :id) " +
+            "ORDER BY a.application_date DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<ApplicationListRow> findRowsByJobOfferIdAfter(@Param("offerId") Long offerId, @Param("applicationDate") LocalDateTime applicationDate,
+                                                       @Param("id") Long id, @Param("limit") int limit);
+
+    @Query(value = LIST_ROW_SQL + "WHERE a.status = :status " +
+            "ORDER BY a.application_date DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<ApplicationListRow> findRowsByStatusFirst(@Param("status") String status, @Param("limit") int limit); // Première page
+
+    @Query(value = LIST_ROW_SQL + "WHERE a.status = :status " +
+            "AND (a.application_date, a.id) < (:applicationDate, :id) " +
+            "ORDER BY a.application_date DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<ApplicationListRow> findRowsByStatusAfter(@Param("status") String status, @Param("applicationDate") LocalDateTime applicationDate,
+                                                   @Param("id") Long id, @Param("limit") int limit);
+
+    // --- Empreintes de version pour les ETags (ne chargent pas les entités) ---
+
+    @Query("SELECT coalesce(a.updatedAt, a.applicationDate) FROM JobApplication a WHERE a.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Query("SELECT count(a) AS count, max(coalesce(a.updatedAt, a.applicationDate)) AS lastModified " +
+            "FROM JobApplication a WHERE a.jobOffer.id = :offerId")
+    VersionStamp findVersionStampByJobOfferId(@Param("offerId") Long offerId);
+
+    @Query("SELECT count(a) AS count, max(coalesce(a.updatedAt, a.applicationDate)) AS lastModified " +
+            "FROM JobApplication a WHERE a.candidate.id = :candidateId")
+    VersionStamp findVersionStampByCandidateId(@Param("candidateId") Long candidateId);
+
+    // Lettres de motivation (TextSimilarityIndex) : candidatures sans lettre ignorées
+    @Query("SELECT a.id AS id, a.jobOffer.id AS offerId, a.coverLetter AS coverLetter FROM JobApplication a " +
+            "WHERE a.coverLetter IS NOT NULL")
+    List<ApplicationTextRow> findAllCoverLetters();
+
+    @Query("SELECT a.id AS id, a.jobOffer.id AS offerId, a.coverLetter AS coverLetter FROM JobApplication a WHERE a.id = :id")
+    Optional<ApplicationTextRow> findCoverLetterById(@Param("id") Long id);
+
+    // Destinataire des notifications de la candidature (outbox), sans charger les entités
+    @Query("SELECT c.email AS email, c.firstName AS firstName, o.title AS offerTitle " +
+            "FROM JobApplication a JOIN a.candidate c JOIN a.jobOffer o WHERE a.id = :id")
+    Optional<ApplicationContactRow> findContactById(@Param("id") Long id);
+
+    // Candidatures classées (pertinence) avec leur candidat, en une requête
+    @Query("SELECT a FROM JobApplication a JOIN FETCH a.candidate WHERE a.id IN :ids")
+    List<JobApplication> findWithCandidateByIdIn(@Param("ids") Collection<Long> ids);
+}
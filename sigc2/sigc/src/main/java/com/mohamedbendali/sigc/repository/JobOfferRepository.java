@@ -2,22 +2,135 @@ package com.mohamedbendali.sigc.repository;
 
 import com.mohamedbendali.sigc.entity.JobOffer;
 import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import com.mohamedbendali.sigc.repository.projection.OfferCardRow;
+import com.mohamedbendali.sigc.repository.projection.OfferFacetRow;
+import com.mohamedbendali.sigc.repository.projection.OfferSearchHit;
+import com.mohamedbendali.sigc.repository.projection.OfferTextRow;
+import com.mohamedbendali.sigc.repository.projection.VersionStamp;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobOfferRepository extends JpaRepository<JobOffer, Long> {
 
+    // Filtre des listes publiques : une offre dont la date d'expiration est passée n'est plus visible,
+    // même avant que OfferExpirationSweeper ne l'ait passée en CLOSED (paramètre :now requis)
+    String NOT_EXPIRED = " AND (o.expirationDate IS NULL OR o.expirationDate > :now)";
+    String NOT_EXPIRED_SQL = " AND (o.expiration_date IS NULL OR o.expiration_date > :now)";
+
     // Trouve les offres par statut (utile pour voir les publiées, brouillons, etc.)
     Page<JobOffer> findByStatus(OfferStatus status, Pageable pageable);
 
+    // Variantes des listes publiques, sans les offres expirées
+    @Query("SELECT o FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED)
+    Page<JobOffer> findNotExpiredByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT o FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED)
+    Slice<JobOffer> findNotExpiredSliceByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Variantes Slice : pas de COUNT(*), la page suivante est détectée par limit + 1
+    Slice<JobOffer> findSliceByStatus(OfferStatus status, Pageable pageable);
+
+    @Query("SELECT o FROM JobOffer o")
+    Slice<JobOffer> findAllAsSlice(Pageable pageable);
+
+    // Cartes d'offres publiques en une seule requête : pas d'entité hydratée, pas de description complète,
+    // compétences agrégées par sous-requête (pas de N+1). Tri fixe : le Pageable ne doit pas contenir de tri.
+    @Query(value = "SELECT o.id AS \"id\", o.title AS \"title\", left(o.description, 240) AS \"excerpt\", " +
+            "o.status AS \"status\", o.salary_range AS \"salaryRange\", o.publication_date AS \"publicationDate\", " +
+            "o.expiration_date AS \"expirationDate\", o.created_at AS \"createdAt\", " +
+            "(SELECT array_agg(s.name ORDER BY s.name) FROM offer_skills os " +
+            "JOIN skills s ON s.id = os.skill_id WHERE os.offer_id = o.id) AS \"skillNames\" " +
+            "FROM job_offers o WHERE o.status = :status" + NOT_EXPIRED_SQL + " " +
+            "ORDER BY o.created_at DESC, o.id DESC",
+            countQuery = "SELECT count(*) FROM job_offers o WHERE o.status = :status" + NOT_EXPIRED_SQL,
+            nativeQuery = true)
+    Page<OfferCardRow> findCardsByStatus(@Param("status") String status, @Param("now") LocalDateTime now, Pageable pageable);
+
     // Recherche d'offres par titre contenant une chaîne (ignore la casse)
     Page<JobOffer> findByTitleContainingIgnoreCaseAndStatus(String title, OfferStatus status, Pageable pageable);
 
-    // Recherche d'offres par titre OU description contenant une chaîne
-    Page<JobOffer> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndStatus(String title, String description, OfferStatus status, Pageable pageable);
-}
\ No newline at end of file
+    // Recherche plein texte (colonne générée search_vector + index GIN, voir schema.sql).
+    // La requête est interprétée en français ET en anglais (syntaxe "websearch" : guillemets, OR, -exclusion).
+    // Tri par pertinence : le Pageable passé ne doit PAS contenir de tri (requête native). Offres expirées exclues.
+    @Query(value = "SELECT o.id AS id, " +
+            "ts_rank_cd(o.search_vector, q.query) AS rank, " +
+            "ts_headline('french', coalesce(o.description, o.title), q.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10') AS snippet " +
+            "FROM job_offers o, " +
+            "(SELECT websearch_to_tsquery('french', :keyword) || websearch_to_tsquery('english', :keyword) AS query) q " +
+            "WHERE o.status = :status AND o.search_vector @@ q.query" + NOT_EXPIRED_SQL + " " +
+            "ORDER BY rank DESC, o.id DESC",
+            countQuery = "SELECT count(*) FROM job_offers o " +
+                    "WHERE o.status = :status AND o.search_vector @@ " +
+                    "(websearch_to_tsquery('french', :keyword) || websearch_to_tsquery('english', :keyword))" + NOT_EXPIRED_SQL,
+            nativeQuery = true)
+    Page<OfferSearchHit> searchFullText(@Param("keyword") String keyword, @Param("status") String status,
+                                        @Param("now") LocalDateTime now, Pageable pageable);
+
+    // --- Pagination keyset (curseur) : tri (created_at, id) décroissant, index idx_job_offers_status_created_id ---
+    // Le coût d'une page ne dépend pas de sa profondeur (pas d'OFFSET, pas de COUNT). Offres expirées exclues.
+
+    @Query("SELECT o FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED + " ORDER BY o.createdAt DESC, o.id DESC")
+    List<JobOffer> findNotExpiredByStatusFirstPage(@Param("status") OfferStatus status, @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+
+    @Query(value = "SELECT * FROM job_offers o WHERE o.status = :status" + NOT_EXPIRED_SQL + " " +
+            "AND (o.created_at, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.created_at DESC, o.id DESC LIMIT :limit", nativeQuery = true)
+    List<JobOffer> findNotExpiredByStatusAfter(@Param("status") String status, @Param("now") LocalDateTime now,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id, @Param("limit") int limit);
+
+    // Titres des offres visibles, les plus récentes d'abord (alimentation de l'autocomplétion)
+    @Query("SELECT o.id AS id, o.title AS name FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED + " ORDER BY o.id DESC")
+    List<IdName> findTitlesByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now);
+
+    // --- Alimentation de l'index de facettes (search.OfferFacetIndex), offres expirées exclues ---
+
+    @Query("SELECT o.id AS offerId, o.salaryRange AS salaryRange, s.id AS skillId, s.name AS skillName, " +
+            "s.category AS skillCategory FROM JobOffer o LEFT JOIN o.requiredSkills s WHERE o.status = :status" + NOT_EXPIRED)
+    List<OfferFacetRow> findFacetRowsByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id AS offerId, o.salaryRange AS salaryRange, s.id AS skillId, s.name AS skillName, " +
+            "s.category AS skillCategory FROM JobOffer o LEFT JOIN o.requiredSkills s " +
+            "WHERE o.id = :id AND o.status = :status" + NOT_EXPIRED)
+    List<OfferFacetRow> findFacetRowsByIdAndStatus(@Param("id") Long id, @Param("status") OfferStatus status,
+                                                   @Param("now") LocalDateTime now);
+
+    // --- Empreintes de version pour les ETags (ne chargent pas les entités) ---
+
+    @Query("SELECT coalesce(o.updatedAt, o.createdAt) FROM JobOffer o WHERE o.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    // Même filtre que les listes publiques : une offre qui expire fait baisser le nombre, donc change l'ETag
+    @Query("SELECT count(o) AS count, max(coalesce(o.updatedAt, o.createdAt)) AS lastModified " +
+            "FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED)
+    VersionStamp findVersionStampByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now);
+
+    // Renommage d'une compétence : requiredSkillNames change, donc l'ETag des offres qui la requièrent aussi
+    @Modifying
+    @Query("UPDATE JobOffer o SET o.updatedAt = :now WHERE o.id IN " +
+            "(SELECT j.id FROM JobOffer j JOIN j.requiredSkills s WHERE s.id = :skillId)")
+    int touchBySkillId(@Param("skillId") Long skillId, @Param("now") LocalDateTime now);
+
+    // Textes des offres publiées non expirées (TextSimilarityIndex)
+    @Query("SELECT o.id AS id, o.title AS title, o.description AS description FROM JobOffer o WHERE o.status = :status" + NOT_EXPIRED)
+    List<OfferTextRow> findTextsByStatus(@Param("status") OfferStatus status, @Param("now") LocalDateTime now);
+
+    @Query("SELECT o.id AS id, o.title AS title, o.description AS description FROM JobOffer o " +
+            "WHERE o.id = :id AND o.status = :status" + NOT_EXPIRED)
+    Optional<OfferTextRow> findTextByIdAndStatus(@Param("id") Long id, @Param("status") OfferStatus status,
+                                                 @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,68 @@
+package com.mohamedbendali.sigc.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Accès JDBC à la table offer_minhash (signatures MinHash des offres, voir schema.sql) et aux textes à signer.
+ * Pas d'entité JPA : les signatures ne sont lues qu'en bloc au démarrage et écrites par DuplicateOfferDetector.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OfferSignatureStore {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO offer_minhash (offer_id, signature, updated_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (offer_id) DO UPDATE SET signature = EXCLUDED.signature, updated_at = EXCLUDED.updated_at";
+
+    private static final String OFFER_TEXT = "coalesce(o.title, '') || ' ' || coalesce(o.description, '')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Signature(long offerId, byte[] bytes) {
+    }
+
+    public record OfferText(long offerId, String text) {
+    }
+
+    public void saveAll(List<Signature> signatures) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, signatures.stream()
+                .map(signature -> new Object[]{signature.offerId(), signature.bytes(), now})
+                .toList());
+    }
+
+    // Parcours de toutes les signatures ligne à ligne, sans les matérialiser en liste
+    public void forEach(BiConsumer<Long, byte[]> consumer) {
+        jdbcTemplate.query("SELECT offer_id, signature FROM offer_minhash",
+                rs -> {
+                    consumer.accept(rs.getLong("offer_id"), rs.getBytes("signature"));
+                });
+    }
+
+    /**
+     * Offres sans signature, ou modifiées depuis le calcul de leur signature (ex: arrêt entre le commit
+     * et le recalcul), par pagination sur l'id.
+     */
+    public List<OfferText> findUnsignedAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT o.id, " + OFFER_TEXT + " AS text FROM job_offers o " +
+                "LEFT JOIN offer_minhash m ON m.offer_id = o.id " +
+                "WHERE o.id > ? AND (m.offer_id IS NULL OR coalesce(o.updated_at, o.created_at) > m.updated_at) " +
+                "ORDER BY o.id LIMIT ?",
+                (rs, rowNum) -> new OfferText(rs.getLong("id"), rs.getString("text")),
+                afterId, limit);
+    }
+
+    public Optional<String> findText(long offerId) {
+        return jdbcTemplate.query("SELECT " + OFFER_TEXT + " AS text FROM job_offers o WHERE o.id = ?",
+                (rs, rowNum) -> rs.getString("text"), offerId).stream().findFirst();
+    }
+}
@@ -0,0 +1,77 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.dto.OfferStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accès JDBC à la table offer_stats (compteurs de vues et de candidatures par offre, voir schema.sql).
+ * Pas d'entité JPA : la table n'est écrite que par incréments additifs en lot (OfferStatsCounter).
+ */
+@Repository
+@RequiredArgsConstructor
+public class OfferStatsStore {
+
+    // Upsert additif : chaque instance n'envoie que ses propres incréments, les totaux s'additionnent en base.
+    // Pas de clé étrangère : une offre supprimée entre-temps est ignorée ici (0 ligne) au lieu d'être recréée.
+    // Casts explicites : dans un SELECT, les paramètres non typés (Timestamp) ne prennent pas le type de la colonne
+    private static final String UPSERT_SQL =
+            "INSERT INTO offer_stats (offer_id, view_count, apply_count, updated_at) " +
+            "SELECT CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP) " +
+            "WHERE EXISTS (SELECT 1 FROM job_offers o WHERE o.id = ?) " +
+            "ON CONFLICT (offer_id) DO UPDATE SET " +
+            "view_count = offer_stats.view_count + EXCLUDED.view_count, " +
+            "apply_count = offer_stats.apply_count + EXCLUDED.apply_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Incréments à ajouter pour une offre.
+     */
+    public record Delta(long offerId, long views, long applications) {
+    }
+
+    /**
+     * Un seul aller-retour pour toutes les offres. Les lignes doivent être triées par offerId :
+     * deux instances qui vident en même temps verrouillent les lignes dans le même ordre (pas d'interblocage).
+     *
+     * @return les ids des offres ignorées parce qu'elles n'existent plus
+     */
+    public List<Long> addAll(List<Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = jdbcTemplate.batchUpdate(UPSERT_SQL, deltas.stream()
+                .map(d -> new Object[]{d.offerId(), d.views(), d.applications(), now, d.offerId()})
+                .toList());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i).offerId());
+            }
+        }
+        return missing;
+    }
+
+    // Totaux persistés (sans les incréments encore en mémoire) ; compteurs à zéro si l'offre n'a jamais été vue
+    public OfferStatsDTO find(Long offerId) {
+        List<OfferStatsDTO> rows = jdbcTemplate.query(
+                "SELECT view_count, apply_count, updated_at FROM offer_stats WHERE offer_id = ?",
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    return new OfferStatsDTO(offerId, rs.getLong("view_count"), rs.getLong("apply_count"), null,
+                            updatedAt != null ? updatedAt.toLocalDateTime() : null);
+                },
+                offerId);
+        return rows.isEmpty() ? new OfferStatsDTO(offerId, 0, 0, null, null) : rows.get(0);
+    }
+
+    public void delete(Long offerId) {
+        jdbcTemplate.update("DELETE FROM offer_stats WHERE offer_id = ?", offerId);
+    }
+}
@@ -0,0 +1,138 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accès JDBC aux compteurs de candidatures par offre et par statut (offer_status_counts, voir schema.sql).
+ * En fonctionnement normal, la table n'est écrite que par upserts additifs ; reconcile() la recalcule
+ * depuis job_applications.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OfferStatusCountStore {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO offer_status_counts AS c (offer_id, status, count, updated_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (offer_id, status) DO UPDATE SET count = c.count + EXCLUDED.count, updated_at = EXCLUDED.updated_at";
+
+    // Candidatures supprimées avec le candidat (cascade JPA, sans événement par candidature)
+    private static final String SUBTRACT_CANDIDATE_SQL =
+            "UPDATE offer_status_counts c SET count = c.count - a.n, updated_at = ? " +
+            "FROM (SELECT offer_id, status, count(*) AS n FROM job_applications WHERE candidate_id = ? " +
+            "GROUP BY offer_id, status) a WHERE c.offer_id = a.offer_id AND c.status = a.status";
+
+    // La limite porte sur les offres (sous-requête), pas sur les lignes de la jointure. Une ligne par (offre, statut
+    // non nul) ; une offre sans candidature ressort une fois avec status = NULL
+    private static final String DASHBOARD_SQL =
+            "SELECT o.id, o.title, o.status AS offer_status, o.created_at, c.status, c.count " +
+            "FROM (SELECT id, title, status, created_at FROM job_offers o WHERE 1 = 1%s " +
+            "ORDER BY o.created_at DESC, o.id DESC LIMIT ?) o " +
+            "LEFT JOIN offer_status_counts c ON c.offer_id = o.id AND c.count > 0 " +
+            "ORDER BY o.created_at DESC, o.id DESC";
+
+    // Compteurs réels réécrits seulement s'ils diffèrent : le nombre de lignes retournées mesure la dérive
+    private static final String RECONCILE_SQL =
+            "WITH fixed AS (INSERT INTO offer_status_counts AS c (offer_id, status, count, updated_at) " +
+            "SELECT offer_id, status, count(*), ? FROM job_applications GROUP BY offer_id, status " +
+            "ON CONFLICT (offer_id, status) DO UPDATE SET count = EXCLUDED.count, updated_at = EXCLUDED.updated_at " +
+            "WHERE c.count <> EXCLUDED.count RETURNING 1) SELECT count(*) FROM fixed";
+    // Plus aucune candidature dans ce statut (ou offre supprimée) : la ligne disparaît, dérive si elle n'était pas à 0
+    private static final String REMOVE_STALE_SQL =
+            "WITH removed AS (DELETE FROM offer_status_counts c WHERE NOT EXISTS (SELECT 1 FROM job_applications a " +
+            "WHERE a.offer_id = c.offer_id AND a.status = c.status) RETURNING c.count) " +
+            "SELECT count(*) FROM removed WHERE count <> 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Delta(long offerId, ApplicationStatus status, long delta) {
+    }
+
+    // status et count null pour une offre sans candidature
+    public record DashboardRow(long offerId, String title, OfferStatus offerStatus, LocalDateTime createdAt,
+                               ApplicationStatus status, Long count) {
+    }
+
+    /**
+     * Un seul aller-retour pour toutes les lignes. Les lignes doivent être triées par (offerId, status) :
+     * deux écritures concurrentes verrouillent les lignes dans le même ordre (pas d'interblocage).
+     */
+    public void addAll(List<Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Delta delta = deltas.get(i);
+                ps.setLong(1, delta.offerId());
+                ps.setString(2, delta.status().name());
+                ps.setLong(3, delta.delta());
+                ps.setTimestamp(4, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    // À appeler avant la suppression du candidat, tant que ses candidatures existent encore
+    public void subtractApplicationsOfCandidate(long candidateId) {
+        jdbcTemplate.update(SUBTRACT_CANDIDATE_SQL, Timestamp.valueOf(LocalDateTime.now()), candidateId);
+    }
+
+    public void deleteByOffer(long offerId) {
+        jdbcTemplate.update("DELETE FROM offer_status_counts WHERE offer_id = ?", offerId);
+    }
+
+    /**
+     * Au plus offerLimit offres, les plus récentes d'abord, strictement après (afterCreatedAt, afterId) si fournis.
+     * offerStatus null : tous les statuts.
+     */
+    public List<DashboardRow> findDashboardRows(OfferStatus offerStatus, LocalDateTime afterCreatedAt, Long afterId,
+                                                int offerLimit) {
+        StringBuilder filter = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        if (offerStatus != null) {
+            filter.append(" AND o.status = ?");
+            args.add(offerStatus.name());
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            filter.append(" AND (o.created_at, o.id) < (?, ?)");
+            args.add(Timestamp.valueOf(afterCreatedAt));
+            args.add(afterId);
+        }
+        args.add(offerLimit);
+        return jdbcTemplate.query(String.format(DASHBOARD_SQL, filter), (rs, rowNum) -> {
+            String status = rs.getString("status");
+            return new DashboardRow(rs.getLong("id"), rs.getString("title"), OfferStatus.valueOf(rs.getString("offer_status")),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    status != null ? ApplicationStatus.valueOf(status) : null, status != null ? rs.getLong("count") : null);
+        }, args.toArray());
+    }
+
+    /**
+     * Recalcule la table depuis job_applications. Le verrou EXCLUSIVE (lectures permises, écritures en attente)
+     * est nécessaire : un incrément validé entre la lecture de job_applications et la réécriture serait écrasé.
+     * L'appelant doit être dans une transaction, qui libère le verrou au commit.
+     *
+     * @return le nombre de compteurs qui étaient faux
+     */
+    public int reconcile() {
+        jdbcTemplate.execute("LOCK TABLE offer_status_counts IN EXCLUSIVE MODE");
+        Integer fixed = jdbcTemplate.queryForObject(RECONCILE_SQL, Integer.class, Timestamp.valueOf(LocalDateTime.now()));
+        Integer removed = jdbcTemplate.queryForObject(REMOVE_STALE_SQL, Integer.class);
+        return (fixed != null ? fixed : 0) + (removed != null ? removed : 0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.outbox.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Accès JDBC à la table outbox (voir schema.sql). Les insertions passent par la connexion de la transaction
+ * courante : une ligne d'outbox n'existe que si l'écriture métier qui l'a produite est validée.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload, created_at, next_attempt_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Lignes dues, dans l'ordre d'insertion ; une ligne est exclue tant qu'une ligne plus ancienne du même agrégat
+    // attend encore (nouvel essai différé ou bail détenu par une autre instance) : ordre garanti par agrégat.
+    private static final String DUE_SQL =
+            "SELECT o.id, o.aggregate_type, o.aggregate_id, o.event_type, o.payload, o.attempts FROM outbox o " +
+            "WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox p WHERE p.status = 'PENDING' AND p.aggregate_type = o.aggregate_type " +
+            "AND p.aggregate_id = o.aggregate_id AND p.id < o.id AND p.next_attempt_at > :now) " +
+            "ORDER BY o.id LIMIT :limit";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public record NewMessage(String aggregateType, long aggregateId, String eventType, String payload) {
+    }
+
+    // Un seul aller-retour pour tous les messages d'une écriture (ex: mise à jour groupée de statuts)
+    public void addAll(List<NewMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages.stream()
+                .map(m -> new Object[]{m.aggregateType(), m.aggregateId(), m.eventType(), m.payload(), now, now})
+                .toList());
+    }
+
+    /**
+     * Réserve au plus {@code limit} messages dus pendant {@code leaseUntil} (next_attempt_at) et les retourne.
+     * L'appelant sérialise les réservations entre instances (verrou consultatif de transaction).
+     */
+    public List<OutboxMessage> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<OutboxMessage> due = namedJdbcTemplate.query(DUE_SQL,
+                new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("limit", limit),
+                (rs, rowNum) -> new OutboxMessage(rs.getLong("id"), rs.getString("aggregate_type"), rs.getLong("aggregate_id"),
+                        rs.getString("event_type"), rs.getString("payload"), rs.getInt("attempts")));
+        if (!due.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE outbox SET next_attempt_at = :leaseUntil WHERE id IN (:ids)",
+                    new MapSqlParameterSource("leaseUntil", Timestamp.valueOf(leaseUntil))
+                            .addValue("ids", due.stream().map(OutboxMessage::id).toList()));
+        }
+        return due;
+    }
+
+    public void markDone(Collection<Long> ids, LocalDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("UPDATE outbox SET status = 'DONE', processed_at = :processedAt, last_error = NULL " +
+                        "WHERE id IN (:ids)",
+                new MapSqlParameterSource("processedAt", Timestamp.valueOf(processedAt)).addValue("ids", ids));
+    }
+
+    // Échec : nouvel essai à nextAttemptAt, ou abandon (DEAD) si dead est vrai ; les messages DEAD ne bloquent plus l'agrégat
+    public void markFailed(long id, String error, LocalDateTime nextAttemptAt, boolean dead) {
+        jdbcTemplate.update("UPDATE outbox SET attempts = attempts + 1, last_error = ?, next_attempt_at = ?, status = ? WHERE id = ?",
+                error, Timestamp.valueOf(nextAttemptAt), dead ? "DEAD" : "PENDING", id);
+    }
+
+    // Libère un bail sans compter d'essai (message non traité car un message précédent du même agrégat a échoué)
+    public void release(Collection<Long> ids, LocalDateTime nextAttemptAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("UPDATE outbox SET next_attempt_at = :nextAttemptAt WHERE id IN (:ids)",
+                new MapSqlParameterSource("nextAttemptAt", Timestamp.valueOf(nextAttemptAt)).addValue("ids", ids));
+    }
+
+    public int deleteDoneBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM outbox WHERE status = 'DONE' AND processed_at < ?", Timestamp.valueOf(before));
+    }
+}
@@ -0,0 +1,49 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Totaux approximatifs lus dans l'estimation du planificateur PostgreSQL (EXPLAIN, sans exécuter la requête).
+ * Précision dépendante de la fraîcheur des statistiques (ANALYZE / autovacuum) : à réserver à l'affichage
+ * ("environ 12 000 résultats"), jamais à une logique métier.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Long estimate(String table) {
+        return explainRows("SELECT 1 FROM " + table);
+    }
+
+    /**
+     * Estimation pour un filtre d'égalité sur une colonne.
+     * {@code value} doit être une valeur de confiance (énumération, identifiant numérique) : elle est
+     * insérée en littéral pour que le planificateur applique ses statistiques à cette valeur précise.
+     */
+    public Long estimate(String table, String column, Object value) {
+        String literal = value instanceof Number ? value.toString() : "'" + value.toString().replace("'", "''") + "'";
+        return explainRows("SELECT 1 FROM " + table + " WHERE " + column + " = " + literal);
+    }
+
+    private Long explainRows(String query) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query, String.class);
+            JsonNode root = objectMapper.readTree(plan);
+            JsonNode rows = root.path(0).path("Plan").path("Plan Rows");
+            return rows.isMissingNode() ? null : rows.asLong();
+        } catch (Exception e) {
+            // Une estimation absente ne doit pas faire échouer la liste : total null
+            log.warn("Could not estimate row count for [{}]: {}", query, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accès JDBC aux textes et aux tables de jointure de compétences pour le marquage rétroactif (SkillTaggingService).
+ * Lecture par pagination sur l'id (keyset) et insertion en lot idempotente : une reprise après interruption
+ * ne crée pas de doublon, et aucune entité n'est chargée dans le contexte de persistance.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkillLinkStore {
+
+    // Les clés primaires (offer_id, skill_id) et (candidate_id, skill_id) rendent les insertions idempotentes
+    private static final String INSERT_OFFER_SKILL_SQL =
+            "INSERT INTO offer_skills (offer_id, skill_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String INSERT_CANDIDATE_SKILL_SQL =
+            "INSERT INTO candidate_skills (candidate_id, skill_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Texte d'une offre ou d'une lettre de motivation. ownerId est l'entité qui reçoit les compétences :
+     * l'offre elle-même, ou le candidat auteur de la candidature.
+     */
+    public record Document(long id, long ownerId, String text, OfferStatus status) {
+    }
+
+    public record Link(long ownerId, long skillId) {
+    }
+
+    public List<Document> findOffersAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, coalesce(title, '') || ' ' || coalesce(description, '') AS text, status FROM job_offers " +
+                "WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Document(rs.getLong("id"), rs.getLong("id"), rs.getString("text"),
+                        OfferStatus.valueOf(rs.getString("status"))),
+                afterId, limit);
+    }
+
+    public List<Document> findCoverLettersAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, candidate_id, cover_letter FROM job_applications " +
+                "WHERE id > ? AND cover_letter IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Document(rs.getLong("id"), rs.getLong("candidate_id"), rs.getString("cover_letter"), null),
+                afterId, limit);
+    }
+
+    // Liens réellement insérés (les liens déjà présents sont ignorés)
+    public List<Link> addOfferSkills(List<Link> links) {
+        return insert(INSERT_OFFER_SKILL_SQL, links);
+    }
+
+    public List<Link> addCandidateSkills(List<Link> links) {
+        return insert(INSERT_CANDIDATE_SKILL_SQL, links);
+    }
+
+    private List<Link> insert(String sql, List<Link> links) {
+        if (links.isEmpty()) {
+            return List.of();
+        }
+        int[] counts = jdbcTemplate.batchUpdate(sql, links.stream()
+                .map(link -> new Object[]{link.ownerId(), link.skillId()})
+                .toList());
+        List<Link> inserted = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) { // SUCCESS_NO_INFO (-2) si le pilote ne remonte pas le compte : compté comme inséré
+                inserted.add(links.get(i));
+            }
+        }
+        return inserted;
+    }
+}
@@ -1,9 +1,17 @@
 package com.mohamedbendali.sigc.repository;
 
 import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.repository.projection.IdCount;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +21,23 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     Optional<Skill> findByNameIgnoreCase(String name);
 
     List<Skill> findByCategoryIgnoreCase(String category);
+
+    // Résolution par lot (SkillResolver) : noms déjà normalisés en minuscules, index idx_skills_lower_name
+    @Query("SELECT s.id AS id, s.name AS name FROM Skill s WHERE lower(s.name) IN :names")
+    List<IdName> findIdNamesByLowerNameIn(@Param("names") Collection<String> names);
+
+    // Référentiel complet sans charger les entités (SkillTagger)
+    @Query("SELECT s.id AS id, s.name AS name FROM Skill s")
+    List<IdName> findAllIdNames();
+
+    // Popularité des compétences (autocomplétion) : offres publiées qui l'exigent, candidats qui la déclarent
+    @Query("SELECT s.id AS id, count(o) AS count FROM Skill s JOIN s.offers o WHERE o.status = :status GROUP BY s.id")
+    List<IdCount> countOffersPerSkill(@Param("status") OfferStatus status);
+
+    @Query("SELECT s.id AS id, count(c) AS count FROM Skill s JOIN s.candidates c GROUP BY s.id")
+    List<IdCount> countCandidatesPerSkill();
+
+    // Variante Slice de findAll(Pageable) : pas de COUNT(*)
+    @Query("SELECT s FROM Skill s")
+    Slice<Skill> findAllAsSlice(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accès JDBC aux agrégats de durée par étape (application_stage_stats, voir schema.sql) et à la position
+ * des traitements incrémentaux (stats_watermarks). Les agrégats ne sont écrits que par upserts additifs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StageStatsStore {
+
+    // Ligne "toutes offres" : lue telle quelle par l'API, sans sommer les lignes par offre
+    public static final long ALL_OFFERS = 0L;
+
+    // Upsert additif ; les histogrammes s'additionnent élément par élément (unnest à plusieurs tableaux)
+    private static final String UPSERT_SQL =
+            "INSERT INTO application_stage_stats AS s (offer_id, stage, samples, total_seconds, max_seconds, histogram, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (offer_id, stage) DO UPDATE SET " +
+            "samples = s.samples + EXCLUDED.samples, " +
+            "total_seconds = s.total_seconds + EXCLUDED.total_seconds, " +
+            "max_seconds = greatest(s.max_seconds, EXCLUDED.max_seconds), " +
+            "histogram = ARRAY(SELECT coalesce(h.a, 0) + coalesce(h.b, 0) " +
+            "FROM unnest(s.histogram, EXCLUDED.histogram) WITH ORDINALITY AS h(a, b, i) ORDER BY h.i), " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Delta(long offerId, ApplicationStatus stage, long samples, long totalSeconds, long maxSeconds,
+                        long[] histogram) {
+    }
+
+    public record StageRow(ApplicationStatus stage, long samples, long totalSeconds, long maxSeconds, long[] histogram) {
+    }
+
+    /**
+     * Un seul aller-retour pour toutes les lignes. Les lignes doivent être triées par (offerId, stage) :
+     * deux écritures concurrentes verrouillent les lignes dans le même ordre (pas d'interblocage).
+     */
+    public void addAll(List<Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Delta delta = deltas.get(i);
+                ps.setLong(1, delta.offerId());
+                ps.setString(2, delta.stage().name());
+                ps.setLong(3, delta.samples());
+                ps.setLong(4, delta.totalSeconds());
+                ps.setLong(5, delta.maxSeconds());
+                ps.setArray(6, ps.getConnection().createArrayOf("bigint",
+                        Arrays.stream(delta.histogram()).boxed().toArray()));
+                ps.setTimestamp(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    public List<StageRow> findByOffer(long offerId) {
+        return jdbcTemplate.query(
+                "SELECT stage, samples, total_seconds, max_seconds, histogram FROM application_stage_stats WHERE offer_id = ?",
+                (rs, rowNum) -> new StageRow(ApplicationStatus.valueOf(rs.getString("stage")), rs.getLong("samples"),
+                        rs.getLong("total_seconds"), rs.getLong("max_seconds"), toLongs(rs.getArray("histogram"))),
+                offerId);
+    }
+
+    // 0 si le traitement n'a jamais tourné
+    public long watermark(String name) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT last_id FROM stats_watermarks WHERE name = ?", Long.class, name);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    public void saveWatermark(String name, long lastId) {
+        jdbcTemplate.update("INSERT INTO stats_watermarks (name, last_id) VALUES (?, ?) " +
+                "ON CONFLICT (name) DO UPDATE SET last_id = EXCLUDED.last_id", name, lastId);
+    }
+
+    private static long[] toLongs(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] longs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longs[i] = values[i] != null ? ((Number) values[i]).longValue() : 0;
+        }
+        return longs;
+    }
+}
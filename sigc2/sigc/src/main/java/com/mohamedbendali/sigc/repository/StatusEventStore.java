@@ -0,0 +1,99 @@
+package com.mohamedbendali.sigc.repository;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Accès JDBC à l'historique des statuts (table partitionnée application_status_events, voir schema.sql) :
+ * ajout en lot dans la transaction du changement de statut, lecture incrémentale par id pour l'agrégation,
+ * et gestion des partitions mensuelles.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatusEventStore {
+
+    public static final String TABLE = "application_status_events";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+
+    // entered_at : dernier changement connu de la candidature (index idx_status_events_application), à défaut la date
+    // de candidature quand elle quitte RECEIVED (candidatures antérieures à l'historique) ; null sinon (durée inconnue)
+    private static final String INSERT_SQL =
+            "INSERT INTO application_status_events (application_id, offer_id, from_status, to_status, entered_at, occurred_at) " +
+            "SELECT ?, ?, ?, ?, coalesce(" +
+            "(SELECT max(e.occurred_at) FROM application_status_events e WHERE e.application_id = ?), " +
+            "(SELECT a.application_date FROM job_applications a WHERE a.id = ? AND ?)), ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewEvent(long applicationId, long offerId, ApplicationStatus fromStatus, ApplicationStatus toStatus,
+                           LocalDateTime occurredAt) {
+    }
+
+    public record StoredEvent(long id, long offerId, ApplicationStatus fromStatus, LocalDateTime enteredAt,
+                              LocalDateTime occurredAt) {
+    }
+
+    // Un seul aller-retour pour tous les changements d'une écriture (ex: mise à jour groupée de statuts)
+    public void addAll(List<NewEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events.stream()
+                .map(e -> new Object[]{e.applicationId(), e.offerId(), e.fromStatus() != null ? e.fromStatus().name() : null,
+                        e.toStatus().name(), e.applicationId(), e.applicationId(), e.fromStatus() == ApplicationStatus.RECEIVED,
+                        Timestamp.valueOf(e.occurredAt())})
+                .toList());
+    }
+
+    // Toutes partitions confondues, dans l'ordre des ids (clé primaire de chaque partition)
+    public List<StoredEvent> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, offer_id, from_status, entered_at, occurred_at FROM application_status_events " +
+                "WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new StoredEvent(rs.getLong("id"), rs.getLong("offer_id"),
+                        rs.getString("from_status") != null ? ApplicationStatus.valueOf(rs.getString("from_status")) : null,
+                        dateTime(rs, "entered_at"), dateTime(rs, "occurred_at")),
+                afterId, limit);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return TABLE + month.format(PARTITION_SUFFIX);
+    }
+
+    // @return false si la partition existait déjà (aucun verrou pris sur la table parente dans ce cas)
+    public boolean createMonthlyPartition(YearMonth month) {
+        String name = partitionName(month);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+            return false;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        return true;
+    }
+
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? ORDER BY c.relname",
+                String.class, TABLE);
+    }
+
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    private static LocalDateTime dateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Destinataire d'une notification sur une candidature : candidat et titre de l'offre (CandidateNotificationHandler).
+ */
+public interface ApplicationContactRow {
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getOfferTitle();
+}
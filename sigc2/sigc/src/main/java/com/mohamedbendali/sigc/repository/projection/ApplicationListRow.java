@@ -0,0 +1,35 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne des listes de candidatures (JobApplicationRepository.find*Rows*) : nom du candidat, titre de l'offre
+ * et identifiants des entretiens / pièces jointes agrégés dans la même requête. La lettre de motivation
+ * (@Lob) n'est pas lue : elle n'est renvoyée que par le détail d'une candidature.
+ */
+public interface ApplicationListRow {
+
+    Long getId();
+
+    ApplicationStatus getStatus();
+
+    LocalDateTime getApplicationDate();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getCandidateId();
+
+    String getCandidateFirstName();
+
+    String getCandidateLastName();
+
+    Long getJobOfferId();
+
+    String getJobOfferTitle();
+
+    String getInterviewIds(); // Séparés par JobApplicationRepository.ID_LIST_SEPARATOR, null si aucun
+
+    String getAttachmentIds(); // Idem
+}
@@ -0,0 +1,13 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Lettre de motivation d'une candidature et son offre (TextSimilarityIndex).
+ */
+public interface ApplicationTextRow {
+
+    Long getId();
+
+    Long getOfferId();
+
+    String getCoverLetter();
+}
@@ -0,0 +1,11 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Résultat d'un GROUP BY : identifiant et nombre d'éléments associés.
+ */
+public interface IdCount {
+
+    Long getId();
+
+    Long getCount();
+}
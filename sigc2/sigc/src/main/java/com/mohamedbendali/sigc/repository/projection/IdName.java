@@ -0,0 +1,11 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Identifiant et libellé, sans charger l'entité (ex: titres d'offres pour l'autocomplétion).
+ */
+public interface IdName {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,28 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de JobOfferRepository.findCardsByStatus : colonnes de la carte d'offre, description tronquée
+ * et noms des compétences agrégés en tableau (array_agg) dans la même requête.
+ */
+public interface OfferCardRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getExcerpt();
+
+    String getStatus();
+
+    String getSalaryRange();
+
+    LocalDateTime getPublicationDate();
+
+    LocalDateTime getExpirationDate();
+
+    LocalDateTime getCreatedAt();
+
+    String[] getSkillNames(); // Triés par nom, null si aucune
+}
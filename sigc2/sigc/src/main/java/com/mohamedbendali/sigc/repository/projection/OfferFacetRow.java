@@ -0,0 +1,18 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Ligne (offre, compétence requise) lue pour alimenter l'index de facettes (search.OfferFacetIndex).
+ * Une offre sans compétence produit une seule ligne avec skillId null.
+ */
+public interface OfferFacetRow {
+
+    Long getOfferId();
+
+    String getSalaryRange();
+
+    Long getSkillId();
+
+    String getSkillName();
+
+    String getSkillCategory();
+}
@@ -0,0 +1,14 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Résultat brut de la recherche plein texte (JobOfferRepository.searchFullText) :
+ * identifiant de l'offre, score de pertinence et extrait surligné de la description.
+ */
+public interface OfferSearchHit {
+
+    Long getId();
+
+    Double getRank(); // ts_rank_cd
+
+    String getSnippet(); // ts_headline, termes trouvés entourés de <mark>...</mark>
+}
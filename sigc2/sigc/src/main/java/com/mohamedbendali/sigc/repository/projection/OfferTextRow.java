@@ -0,0 +1,13 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Texte indexé d'une offre (TextSimilarityIndex) : titre et description, sans exigences ni compétences.
+ */
+public interface OfferTextRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -0,0 +1,11 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Identifiant d'une entité enfant et de son propriétaire (ex: candidature -> candidat), sans charger l'entité.
+ */
+public interface OwnedId {
+
+    Long getOwnerId();
+
+    Long getId();
+}
@@ -0,0 +1,11 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+/**
+ * Une ligne de table de jointure vers les compétences (candidate_skills), sans charger les entités.
+ */
+public interface SkillLink {
+
+    Long getOwnerId();
+
+    Long getSkillId();
+}
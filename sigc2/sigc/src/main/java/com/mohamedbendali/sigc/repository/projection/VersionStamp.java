@@ -0,0 +1,14 @@
+package com.mohamedbendali.sigc.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empreinte de version d'un ensemble de lignes (nombre + dernière modification),
+ * calculée par une simple requête d'agrégat pour produire un ETag sans charger les entités.
+ */
+public interface VersionStamp {
+
+    Long getCount();
+
+    LocalDateTime getLastModified(); // null si l'ensemble est vide
+}
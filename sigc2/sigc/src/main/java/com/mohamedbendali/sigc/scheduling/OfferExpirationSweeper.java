@@ -0,0 +1,73 @@
+package com.mohamedbendali.sigc.scheduling;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ferme périodiquement les offres publiées dont la date d'expiration est passée.
+ *
+ * Un seul UPDATE ensembliste (RETURNING id) par passage, sans charger les entités. Sûr en cluster :
+ * chaque passage prend un verrou consultatif PostgreSQL de transaction (pg_try_advisory_xact_lock),
+ * une seule instance balaie à la fois, les autres passent leur tour. Pour chaque offre fermée, un
+ * JobOfferChangedEvent est publié : caches, index de facettes et autocomplétion sont mis à jour après commit.
+ */
+@Component
+@Slf4j
+public class OfferExpirationSweeper {
+
+    // Clé du verrou consultatif, propre à cette tâche ("SIGC" + 1)
+    private static final long ADVISORY_LOCK_KEY = 0x5349474301L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter expiredOffersCounter;
+
+    public OfferExpirationSweeper(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.expiredOffersCounter = Counter.builder("sigc.offers.expired")
+                .description("Offres publiées fermées automatiquement à leur date d'expiration")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return le nombre d'offres fermées (0 si une autre instance tient le verrou).
+     */
+    @Scheduled(fixedDelayString = "${offers.expiration.sweep-interval-ms:60000}",
+            initialDelayString = "${offers.expiration.initial-delay-ms:30000}")
+    @Transactional
+    public int closeExpiredOffers() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Offer expiration sweep skipped: another instance holds the lock");
+            return 0;
+        }
+
+        // Heure de la JVM, comme pour les dates écrites par l'application (colonnes timestamp sans fuseau)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> closedIds = jdbcTemplate.queryForList(
+                "UPDATE job_offers SET status = ?, updated_at = ? " +
+                        "WHERE status = ? AND expiration_date IS NOT NULL AND expiration_date <= ? RETURNING id",
+                Long.class, OfferStatus.CLOSED.name(), now, OfferStatus.PUBLISHED.name(), now);
+
+        closedIds.forEach(id -> eventPublisher.publishEvent(new JobOfferChangedEvent(id,
+                JobOfferChangedEvent.ChangeType.STATUS_CHANGED, OfferStatus.PUBLISHED, OfferStatus.CLOSED)));
+        expiredOffersCounter.increment(closedIds.size());
+        if (!closedIds.isEmpty()) {
+            log.info("Offer expiration sweep closed {} expired offers", closedIds.size());
+        }
+        return closedIds.size();
+    }
+}
@@ -0,0 +1,90 @@
+package com.mohamedbendali.sigc.scheduling;
+
+import com.mohamedbendali.sigc.config.CacheConfig;
+import com.mohamedbendali.sigc.repository.OfferStatusCountStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recalcule offer_status_counts depuis job_applications, au démarrage (remplissage initial de la table)
+ * puis chaque nuit, et corrige toute dérive (écriture hors service, suppression en SQL direct, ...).
+ * Une dérive hors démarrage signale un chemin d'écriture qui ne publie pas d'événement : elle est loguée et comptée.
+ * Sûr en cluster : verrou consultatif de transaction, une seule instance à la fois. Les écritures de candidatures
+ * attendent la fin du recalcul (verrou de table, voir OfferStatusCountStore.reconcile).
+ */
+@Component
+@Slf4j
+public class OfferStatusCountReconciler {
+
+    // Clé du verrou consultatif, propre à cette tâche ("SIGC" + 5)
+    private static final long ADVISORY_LOCK_KEY = 0x5349474305L;
+
+    private final OfferStatusCountStore offerStatusCountStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final Counter correctedCounter;
+
+    public OfferStatusCountReconciler(OfferStatusCountStore offerStatusCountStore, JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                                      MeterRegistry meterRegistry) {
+        this.offerStatusCountStore = offerStatusCountStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.correctedCounter = Counter.builder("sigc.dashboard.counts.corrected")
+                .description("Compteurs du tableau de bord corrigés par la réconciliation")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Integer corrected = reconcileOnce();
+        if (corrected != null && corrected > 0) {
+            log.info("Offer status counts initialized or corrected at startup: {} rows", corrected);
+        }
+    }
+
+    @Scheduled(cron = "${dashboard.counts.reconcile-cron:0 45 2 * * *}")
+    public void reconcile() {
+        Integer corrected = reconcileOnce();
+        if (corrected != null && corrected > 0) {
+            correctedCounter.increment(corrected);
+            log.warn("Offer status counts drifted: {} rows corrected", corrected);
+        }
+    }
+
+    // null si une autre instance tient le verrou ou en cas d'échec
+    private Integer reconcileOnce() {
+        try {
+            Integer corrected = transactionTemplate.execute(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return null;
+                }
+                return offerStatusCountStore.reconcile();
+            });
+            if (corrected != null && corrected > 0) {
+                // Après commit : le cache ne doit pas être rechargé avec les anciennes valeurs
+                Cache dashboard = cacheManager.getCache(CacheConfig.OFFER_DASHBOARD);
+                if (dashboard != null) {
+                    dashboard.clear();
+                }
+            }
+            return corrected;
+        } catch (Exception e) {
+            log.error("Offer status count reconciliation failed", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.mohamedbendali.sigc.scheduling;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.repository.StageStatsStore;
+import com.mohamedbendali.sigc.repository.StatusEventStore;
+import com.mohamedbendali.sigc.stats.StageDwellHistogram;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintient les durées par étape (application_stage_stats) à partir des nouveaux événements de statut.
+ *
+ * Lecture incrémentale par id depuis la position enregistrée (stats_watermarks) : chaque événement n'est lu qu'une fois,
+ * l'historique complet n'est jamais relu. Un événement quittant une étape apporte un séjour (occurred_at - entered_at)
+ * à la ligne de son offre et à la ligne "toutes offres". Les ids sont attribués avant le commit : seuls les événements
+ * plus vieux que lag-seconds sont agrégés, pour qu'une transaction encore en cours ne laisse pas un id plus petit
+ * derrière la position. Agrégats et position sont écrits dans la même transaction, sous verrou consultatif.
+ */
+@Component
+@Slf4j
+public class StageDwellAggregator {
+
+    // Clé du verrou consultatif, propre à cette tâche ("SIGC" + 3)
+    private static final long ADVISORY_LOCK_KEY = 0x5349474303L;
+    private static final String WATERMARK = "stage-dwell";
+
+    private final StatusEventStore statusEventStore;
+    private final StageStatsStore stageStatsStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter eventsCounter;
+
+    @Value("${stats.stage-dwell.batch-size:5000}")
+    private int batchSize;
+    @Value("${stats.stage-dwell.lag-seconds:60}")
+    private long lagSeconds;
+
+    private record StageKey(long offerId, ApplicationStatus stage) {
+    }
+
+    private static final class Accumulator {
+        long samples;
+        long totalSeconds;
+        long maxSeconds;
+        final long[] histogram = new long[StageDwellHistogram.BUCKETS];
+
+        void add(long seconds) {
+            samples++;
+            totalSeconds += seconds;
+            maxSeconds = Math.max(maxSeconds, seconds);
+            histogram[StageDwellHistogram.bucket(seconds)]++;
+        }
+    }
+
+    public StageDwellAggregator(StatusEventStore statusEventStore, StageStatsStore stageStatsStore, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.statusEventStore = statusEventStore;
+        this.stageStatsStore = stageStatsStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventsCounter = Counter.builder("sigc.stats.status-events.aggregated")
+                .description("Événements de statut intégrés aux durées par étape")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${stats.stage-dwell.interval-ms:60000}",
+            initialDelayString = "${stats.stage-dwell.initial-delay-ms:45000}")
+    public void aggregate() {
+        try {
+            Integer scanned;
+            do {
+                scanned = transactionTemplate.execute(status -> aggregateBatch());
+            } while (scanned != null && scanned == batchSize);
+        } catch (Exception e) {
+            log.error("Stage dwell aggregation failed", e);
+        }
+    }
+
+    /**
+     * @return le nombre d'événements intégrés (0 si aucun n'est mûr ou si une autre instance tient le verrou).
+     */
+    int aggregateBatch() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        long lastId = stageStatsStore.watermark(WATERMARK);
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(lagSeconds);
+        Map<StageKey, Accumulator> accumulators = new TreeMap<>(
+                Comparator.comparingLong(StageKey::offerId).thenComparing(StageKey::stage)); // Ordre de verrouillage stable
+        int scanned = 0;
+        for (StatusEventStore.StoredEvent event : statusEventStore.findAfter(lastId, batchSize)) {
+            if (!event.occurredAt().isBefore(cutoff)) {
+                break; // Trop récent : repris au prochain passage
+            }
+            scanned++;
+            lastId = event.id();
+            if (event.fromStatus() != null && event.enteredAt() != null) {
+                long seconds = Math.max(0, Duration.between(event.enteredAt(), event.occurredAt()).getSeconds());
+                accumulators.computeIfAbsent(new StageKey(event.offerId(), event.fromStatus()), key -> new Accumulator()).add(seconds);
+                accumulators.computeIfAbsent(new StageKey(StageStatsStore.ALL_OFFERS, event.fromStatus()), key -> new Accumulator()).add(seconds);
+            }
+        }
+        if (scanned == 0) {
+            return 0;
+        }
+
+        List<StageStatsStore.Delta> deltas = new ArrayList<>(accumulators.size());
+        accumulators.forEach((key, acc) -> deltas.add(new StageStatsStore.Delta(key.offerId(), key.stage(), acc.samples,
+                acc.totalSeconds, acc.maxSeconds, acc.histogram)));
+        stageStatsStore.addAll(deltas);
+        stageStatsStore.saveWatermark(WATERMARK, lastId);
+        eventsCounter.increment(scanned);
+        log.debug("Stage dwell aggregation: {} events, {} stage rows, position {}", scanned, deltas.size(), lastId);
+        return scanned;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mohamedbendali.sigc.scheduling;
+
+import com.mohamedbendali.sigc.repository.StatusEventStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Crée à l'avance les partitions mensuelles de application_status_events (mois courant et months-ahead suivants),
+ * au démarrage puis chaque nuit, et supprime celles qui dépassent la rétention (retention-months, 0 = conservation
+ * illimitée). Supprimer une partition est instantané, contrairement à un DELETE ; les durées déjà agrégées restent.
+ * Sûr en cluster : verrou consultatif de transaction, une seule instance à la fois.
+ */
+@Component
+@Slf4j
+public class StatusEventPartitionMaintainer {
+
+    // Clé du verrou consultatif, propre à cette tâche ("SIGC" + 4)
+    private static final long ADVISORY_LOCK_KEY = 0x5349474304L;
+    private static final String PREFIX = StatusEventStore.TABLE + "_p";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final StatusEventStore statusEventStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stats.status-events.months-ahead:2}")
+    private int monthsAhead;
+    @Value("${stats.status-events.retention-months:24}")
+    private int retentionMonths;
+
+    public StatusEventPartitionMaintainer(StatusEventStore statusEventStore, JdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager) {
+        this.statusEventStore = statusEventStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${stats.status-events.partition-cron:0 15 2 * * *}")
+    public void maintain() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return;
+                }
+                YearMonth current = YearMonth.now();
+                for (int i = 0; i <= monthsAhead; i++) {
+                    if (statusEventStore.createMonthlyPartition(current.plusMonths(i))) {
+                        log.info("Created status event partition {}", StatusEventStore.partitionName(current.plusMonths(i)));
+                    }
+                }
+                if (retentionMonths > 0) {
+                    dropExpired(current.minusMonths(retentionMonths));
+                }
+            });
+        } catch (Exception e) {
+            log.error("Status event partition maintenance failed", e);
+        }
+    }
+
+    // Partitions entièrement antérieures à oldestKept ; la partition DEFAULT et les noms inattendus sont ignorés
+    private void dropExpired(YearMonth oldestKept) {
+        for (String name : statusEventStore.findPartitionNames()) {
+            if (!name.startsWith(PREFIX)) {
+                continue;
+            }
+            try {
+                YearMonth month = YearMonth.parse(name.substring(PREFIX.length()), MONTH);
+                if (month.isBefore(oldestKept)) {
+                    statusEventStore.dropPartition(month);
+                    log.info("Dropped status event partition {} (retention {} months)", name, retentionMonths);
+                }
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring partition {} with unexpected name", name);
+            }
+        }
+    }
+}
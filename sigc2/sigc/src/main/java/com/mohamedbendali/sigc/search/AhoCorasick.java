@@ -0,0 +1,174 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Automate d'Aho–Corasick immuable : trouve toutes les occurrences d'un dictionnaire de motifs en un seul
+ * parcours linéaire du texte, quel que soit le nombre de motifs.
+ *
+ * Motifs et textes passent par TextNormalizer.fold (casse, accents, ponctuation) ; seules les occurrences
+ * alignées sur des mots entiers sont retenues ("java" ne correspond pas dans "javascript").
+ * Les transitions sont stockées en tableaux triés (recherche dichotomique), sans objet par nœud.
+ */
+public final class AhoCorasick<T> {
+
+    private static final AhoCorasick<?> EMPTY = new Builder<>().build();
+
+    private final char[][] edgeLabels;   // Par état : caractères sortants triés
+    private final int[][] edgeTargets;   // Par état : états cibles correspondants
+    private final int[] failure;
+    private final int[][] outputs;       // Par état : motifs reconnus (y compris via les liens de suffixe)
+    private final int[] patternLengths;
+    private final List<T> values;
+
+    private AhoCorasick(char[][] edgeLabels, int[][] edgeTargets, int[] failure, int[][] outputs,
+                        int[] patternLengths, List<T> values) {
+        this.edgeLabels = edgeLabels;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> AhoCorasick<T> empty() {
+        return (AhoCorasick<T>) EMPTY;
+    }
+
+    public int patternCount() {
+        return values.size();
+    }
+
+    /**
+     * Valeurs des motifs présents dans le texte, avec leur nombre d'occurrences (ordre de première apparition).
+     */
+    public Map<T, Integer> findAll(String text) {
+        String folded = TextNormalizer.fold(text);
+        Map<T, Integer> found = new LinkedHashMap<>();
+        int state = 0;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(next, 0);
+            for (int pattern : outputs[state]) {
+                int start = i - patternLengths[pattern] + 1;
+                boolean wordStart = start == 0 || folded.charAt(start - 1) == ' ';
+                boolean wordEnd = i == folded.length() - 1 || folded.charAt(i + 1) == ' ';
+                if (wordStart && wordEnd) {
+                    found.merge(values.get(pattern), 1, Integer::sum);
+                }
+            }
+        }
+        return found;
+    }
+
+    private int transition(int state, char c) {
+        int position = Arrays.binarySearch(edgeLabels[state], c);
+        return position >= 0 ? edgeTargets[state][position] : -1;
+    }
+
+    /**
+     * Construction en deux temps : ajout des motifs dans un trie, puis calcul des liens d'échec en largeur.
+     */
+    public static final class Builder<T> {
+
+        private final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        private final List<Set<Integer>> terminal = new ArrayList<>();
+        private final List<Integer> patternLengths = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+        private final Map<String, Integer> patternIds = new HashMap<>();
+
+        public Builder() {
+            newState();
+        }
+
+        /**
+         * Ajoute un motif (ignoré s'il est vide après pliage ; un motif déjà présent garde sa première valeur).
+         */
+        public Builder<T> add(String pattern, T value) {
+            String folded = TextNormalizer.fold(pattern);
+            if (folded.isEmpty() || patternIds.containsKey(folded)) {
+                return this;
+            }
+            int state = 0;
+            for (int i = 0; i < folded.length(); i++) {
+                char c = folded.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            int id = values.size();
+            values.add(value);
+            patternLengths.add(folded.length());
+            patternIds.put(folded, id);
+            terminal.get(state).add(id);
+            return this;
+        }
+
+        public AhoCorasick<T> build() {
+            int size = trie.size();
+            int[] failure = new int[size];
+            List<Set<Integer>> outputs = new ArrayList<>();
+            for (Set<Integer> patterns : terminal) {
+                outputs.add(new LinkedHashSet<>(patterns));
+            }
+
+            // Parcours en largeur : le lien d'échec d'un nœud est calculé après celui de son parent
+            Queue<Integer> queue = new ArrayDeque<>(trie.get(0).values());
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                    int child = edge.getValue();
+                    int fallback = failure[state];
+                    while (fallback != 0 && !trie.get(fallback).containsKey(edge.getKey())) {
+                        fallback = failure[fallback];
+                    }
+                    Integer target = trie.get(fallback).get(edge.getKey());
+                    failure[child] = target != null && target != child ? target : 0;
+                    outputs.get(child).addAll(outputs.get(failure[child])); // Motifs suffixes reconnus au même point
+                    queue.add(child);
+                }
+            }
+
+            char[][] edgeLabels = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            int[][] outputArrays = new int[size][];
+            for (int state = 0; state < size; state++) {
+                TreeMap<Character, Integer> edges = trie.get(state);
+                edgeLabels[state] = new char[edges.size()];
+                edgeTargets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    edgeLabels[state][i] = edge.getKey();
+                    edgeTargets[state][i++] = edge.getValue();
+                }
+                outputArrays[state] = outputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new AhoCorasick<>(edgeLabels, edgeTargets, failure, outputArrays,
+                    patternLengths.stream().mapToInt(Integer::intValue).toArray(), List.copyOf(values));
+        }
+
+        private int newState() {
+            trie.add(new TreeMap<>());
+            terminal.add(new LinkedHashSet<>());
+            return trie.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.repository.OfferSignatureStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Détection des quasi-doublons d'offres (clones légèrement modifiés, annonces republiées par une agence).
+ *
+ * Chaque offre (tous statuts) reçoit une signature MinHash de son titre et de sa description, stockée dans
+ * offer_minhash ; un LshIndex en mémoire retrouve les offres proches sans comparer toutes les paires.
+ * Au démarrage, l'index est reconstruit à partir des signatures stockées : seules les offres sans signature
+ * à jour sont relues et hachées. Les doublons sont signalés (journal, endpoints), jamais fusionnés automatiquement.
+ *
+ * Comme TextSimilarityIndex, toutes les écritures passent par un unique thread dédié, après commit.
+ */
+@Component
+@Slf4j
+public class DuplicateOfferDetector {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final OfferSignatureStore signatureStore;
+    private final double threshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService indexingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-offer-detector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LshIndex index = new LshIndex(); // Remplacé en bloc au chargement (sous verrou d'écriture)
+
+    public DuplicateOfferDetector(OfferSignatureStore signatureStore,
+                                  @Value("${offers.duplicates.threshold:0.8}") double threshold) {
+        this.signatureStore = signatureStore;
+        this.threshold = threshold;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexingExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        indexingExecutor.execute(this::load);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        if (event.getType() != JobOfferChangedEvent.ChangeType.STATUS_CHANGED) { // Texte inchangé
+            indexingExecutor.execute(() -> reindex(event));
+        }
+    }
+
+    // Import en masse (tous statuts) : le rechargement signe en lots les offres sans signature
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        indexingExecutor.execute(this::load);
+    }
+
+    /**
+     * Offres dont la similarité estimée (Jaccard sur les shingles) avec l'offre atteint le seuil, la plus proche d'abord.
+     */
+    public List<TextMatch> duplicatesOf(long offerId) {
+        lock.readLock().lock();
+        try {
+            return index.near(offerId, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groupes d'offres quasi identiques, du plus grand au plus petit ; chaque groupe est trié par id
+     * (le plus ancien d'abord) et le score est la similarité avec ce premier élément.
+     */
+    public List<List<TextMatch>> clusters() {
+        lock.readLock().lock();
+        try {
+            return index.clusters(threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load() {
+        try {
+            long start = System.currentTimeMillis();
+            LshIndex loaded = new LshIndex();
+            List<Long> invalid = new ArrayList<>();
+            signatureStore.forEach((offerId, bytes) -> {
+                int[] signature = MinHasher.fromBytes(bytes);
+                if (signature != null) {
+                    loaded.put(offerId, signature);
+                } else {
+                    invalid.add(offerId); // Format d'une version précédente
+                }
+            });
+            int stored = loaded.size();
+            lock.writeLock().lock();
+            try {
+                index = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            // Rattrapage : offres jamais signées ou modifiées depuis leur signature
+            int computed = 0;
+            long lastId = 0;
+            List<OfferSignatureStore.OfferText> batch;
+            while (!(batch = signatureStore.findUnsignedAfter(lastId, BATCH_SIZE)).isEmpty()) {
+                computed += sign(batch);
+                lastId = batch.get(batch.size() - 1).offerId();
+            }
+            for (Long offerId : invalid) {
+                computed += signatureStore.findText(offerId)
+                        .map(text -> sign(List.of(new OfferSignatureStore.OfferText(offerId, text))))
+                        .orElse(0);
+            }
+            log.info("Duplicate offer index loaded with {} stored and {} computed signatures in {} ms",
+                    stored, computed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Duplicate offer index load failed", e);
+        }
+    }
+
+    private void reindex(JobOfferChangedEvent event) {
+        try {
+            // Texte validé : absent si l'offre a été supprimée (la signature part avec elle, ON DELETE CASCADE)
+            String text = event.getType() == JobOfferChangedEvent.ChangeType.DELETED ? null
+                    : signatureStore.findText(event.getOfferId()).orElse(null);
+            if (text == null) {
+                lock.writeLock().lock();
+                try {
+                    index.remove(event.getOfferId());
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+            sign(List.of(new OfferSignatureStore.OfferText(event.getOfferId(), text)));
+            List<TextMatch> duplicates = duplicatesOf(event.getOfferId());
+            if (!duplicates.isEmpty()) {
+                log.info("Offer {} looks like a near-duplicate of offers {}", event.getOfferId(),
+                        duplicates.stream().map(TextMatch::id).toList());
+            }
+        } catch (Exception e) {
+            log.warn("Could not update duplicate signature of offer {}: {}", event.getOfferId(), e.getMessage());
+        }
+    }
+
+    // Calcule, stocke puis indexe les signatures d'un lot ; retourne le nombre de signatures calculées
+    private int sign(List<OfferSignatureStore.OfferText> offers) {
+        List<OfferSignatureStore.Signature> rows = new ArrayList<>(offers.size());
+        List<int[]> signatures = new ArrayList<>(offers.size());
+        for (OfferSignatureStore.OfferText offer : offers) {
+            int[] signature = MinHasher.signature(offer.text());
+            signatures.add(signature);
+            if (signature != null) {
+                rows.add(new OfferSignatureStore.Signature(offer.offerId(), MinHasher.toBytes(signature)));
+            }
+        }
+        signatureStore.saveAll(rows);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < offers.size(); i++) {
+                if (signatures.get(i) != null) {
+                    index.put(offers.get(i).offerId(), signatures.get(i));
+                } else {
+                    index.remove(offers.get(i).offerId()); // Plus aucun mot : rien à comparer
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.enums.SalaryBand;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'une recherche dans OfferFacetIndex : offres correspondantes (copie privée du bitmap,
+ * utilisable hors verrou) et comptages par valeur de facette.
+ */
+public record FacetSearchResult(RoaringBitmap matches,
+                                Map<Long, Integer> skillCounts,
+                                Map<Long, String> skillNames,
+                                Map<String, Integer> categoryCounts,
+                                Map<SalaryBand, Integer> salaryBandCounts) {
+
+    public long total() {
+        return matches.getLongCardinality();
+    }
+
+    /**
+     * Identifiants d'une page de résultats, les plus récents d'abord (ids décroissants).
+     */
+    public List<Long> pageIds(int page, int size) {
+        List<Long> ids = new ArrayList<>(size);
+        IntIterator iterator = matches.getReverseIntIterator();
+        long toSkip = (long) page * size;
+        while (iterator.hasNext() && ids.size() < size) {
+            int id = iterator.next();
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                ids.add((long) id);
+            }
+        }
+        return ids;
+    }
+}
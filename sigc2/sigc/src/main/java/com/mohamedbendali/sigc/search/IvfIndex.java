@@ -0,0 +1,254 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Index approximatif des plus proches voisins (IVF, "inverted file") pour des vecteurs TF-IDF normalisés.
+ *
+ * Les documents sont répartis en listes autour de centroïdes appris par k-means sphérique ; une requête
+ * ne compare que les documents des {@code nprobe} listes dont le centroïde est le plus proche.
+ * Les centroïdes sont élagués à leurs {@code CENTROID_TERMS} termes les plus lourds (vecteurs creux) :
+ * la mémoire reste proportionnelle au nombre de listes et non à la dimension du hachage.
+ * En dessous de {@code MIN_TRAINING_SIZE} documents, une seule liste : la recherche est exacte.
+ * Non thread-safe : l'appelant protège les accès.
+ */
+public final class IvfIndex {
+
+    public static final int MIN_TRAINING_SIZE = 1000;
+    private static final int CENTROID_TERMS = 512;
+    private static final int TRAINING_ITERATIONS = 5;
+
+    private static final Comparator<TextMatch> BY_SCORE = Comparator.comparingDouble(TextMatch::score)
+            .thenComparing(Comparator.comparingLong(TextMatch::id).reversed());
+
+    private SparseVector[] centroids = new SparseVector[0];
+    private CentroidPostings postings = new CentroidPostings(centroids);
+    private List<Map<Long, SparseVector>> lists = new ArrayList<>(List.of(new HashMap<>()));
+    private final Map<Long, Integer> listOfDocument = new HashMap<>();
+
+    /**
+     * Réapprend les centroïdes (nlist ≈ √N) et redistribue tous les documents.
+     */
+    public void train(Map<Long, SparseVector> documents, long seed) {
+        listOfDocument.clear();
+        if (documents.size() < MIN_TRAINING_SIZE) {
+            centroids = new SparseVector[0];
+            postings = new CentroidPostings(centroids);
+            lists = new ArrayList<>(List.of(new HashMap<>()));
+            documents.forEach(this::add);
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(documents.keySet());
+        int listCount = (int) Math.ceil(Math.sqrt(ids.size()));
+        Random random = new Random(seed);
+        SparseVector[] current = new SparseVector[listCount];
+        for (int c = 0; c < listCount; c++) {
+            current[c] = documents.get(ids.get(random.nextInt(ids.size()))); // Initialisation par échantillonnage
+        }
+
+        float[] accumulator = new float[TextVectorizer.DIMENSIONS]; // Réutilisé pour chaque centroïde
+        for (int iteration = 0; iteration < TRAINING_ITERATIONS; iteration++) {
+            List<List<SparseVector>> members = new ArrayList<>(listCount);
+            for (int c = 0; c < listCount; c++) {
+                members.add(new ArrayList<>());
+            }
+            CentroidPostings currentPostings = new CentroidPostings(current);
+            for (Long id : ids) {
+                SparseVector vector = documents.get(id);
+                members.get(currentPostings.nearest(vector)).add(vector);
+            }
+            for (int c = 0; c < listCount; c++) {
+                SparseVector centroid = centroid(members.get(c), accumulator);
+                if (centroid != null) {
+                    current[c] = centroid; // Liste vide : on garde l'ancien centroïde
+                }
+            }
+        }
+
+        centroids = current;
+        postings = new CentroidPostings(current);
+        lists = new ArrayList<>(listCount);
+        for (int c = 0; c < listCount; c++) {
+            lists.add(new HashMap<>());
+        }
+        documents.forEach(this::add);
+    }
+
+    public void add(long id, SparseVector vector) {
+        remove(id);
+        int list = centroids.length == 0 ? 0 : postings.nearest(vector);
+        lists.get(list).put(id, vector);
+        listOfDocument.put(id, list);
+    }
+
+    public void remove(long id) {
+        Integer list = listOfDocument.remove(id);
+        if (list != null) {
+            lists.get(list).remove(id);
+        }
+    }
+
+    public int size() {
+        return listOfDocument.size();
+    }
+
+    /**
+     * Les {@code k} documents les plus proches de la requête parmi les {@code nprobe} listes les plus proches.
+     * @param excludedId document à ignorer (ex: l'offre de référence pour "offres similaires"), ou -1.
+     */
+    public List<TextMatch> search(SparseVector query, int k, int nprobe, long excludedId) {
+        PriorityQueue<TextMatch> heap = newHeap(k);
+        for (int list : probedLists(query, nprobe)) {
+            for (Map.Entry<Long, SparseVector> entry : lists.get(list).entrySet()) {
+                if (entry.getKey() != excludedId) {
+                    offer(heap, new TextMatch(entry.getKey(), query.dot(entry.getValue())), k);
+                }
+            }
+        }
+        return sorted(heap);
+    }
+
+    static PriorityQueue<TextMatch> newHeap(int k) {
+        return new PriorityQueue<>(k + 1, BY_SCORE);
+    }
+
+    static List<TextMatch> sorted(PriorityQueue<TextMatch> heap) {
+        List<TextMatch> result = new ArrayList<>(heap);
+        result.sort(BY_SCORE.reversed());
+        return result;
+    }
+
+    // Tas min borné à k (newHeap), en ignorant les documents sans terme commun
+    static void offer(PriorityQueue<TextMatch> heap, TextMatch match, int k) {
+        if (match.score() <= 0f) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(match);
+        } else if (BY_SCORE.compare(match, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(match);
+        }
+    }
+
+    private int[] probedLists(SparseVector query, int nprobe) {
+        if (centroids.length == 0) {
+            return new int[]{0};
+        }
+        int probes = Math.min(Math.max(nprobe, 1), centroids.length);
+        float[] scores = postings.scores(query);
+        PriorityQueue<TextMatch> closest = new PriorityQueue<>(probes + 1, BY_SCORE); // id = numéro de liste
+        for (int c = 0; c < centroids.length; c++) {
+            TextMatch candidate = new TextMatch(c, scores[c]);
+            if (closest.size() < probes) {
+                closest.add(candidate);
+            } else if (BY_SCORE.compare(candidate, closest.peek()) > 0) {
+                closest.poll();
+                closest.add(candidate);
+            }
+        }
+        return closest.stream().mapToInt(match -> (int) match.id()).toArray();
+    }
+
+    /**
+     * Index inversé terme -> (centroïde, poids) : le score d'un document contre tous les centroïdes ne parcourt
+     * que les termes du document, au lieu d'un produit scalaire complet par centroïde.
+     */
+    private static final class CentroidPostings {
+        private final int centroidCount;
+        private final Map<Integer, int[]> centroidsByTerm = new HashMap<>();
+        private final Map<Integer, float[]> weightsByTerm = new HashMap<>();
+
+        private CentroidPostings(SparseVector[] centroids) {
+            centroidCount = centroids.length;
+            Map<Integer, List<Integer>> ids = new HashMap<>();
+            Map<Integer, List<Float>> weights = new HashMap<>();
+            for (int c = 0; c < centroids.length; c++) {
+                for (int i = 0; i < centroids[c].indices.length; i++) {
+                    ids.computeIfAbsent(centroids[c].indices[i], term -> new ArrayList<>()).add(c);
+                    weights.computeIfAbsent(centroids[c].indices[i], term -> new ArrayList<>()).add(centroids[c].values[i]);
+                }
+            }
+            ids.forEach((term, list) -> centroidsByTerm.put(term, list.stream().mapToInt(Integer::intValue).toArray()));
+            weights.forEach((term, list) -> {
+                float[] array = new float[list.size()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = list.get(i);
+                }
+                weightsByTerm.put(term, array);
+            });
+        }
+
+        private float[] scores(SparseVector vector) {
+            float[] scores = new float[centroidCount];
+            for (int i = 0; i < vector.indices.length; i++) {
+                int[] ids = centroidsByTerm.get(vector.indices[i]);
+                if (ids != null) {
+                    float[] weights = weightsByTerm.get(vector.indices[i]);
+                    for (int j = 0; j < ids.length; j++) {
+                        scores[ids[j]] += vector.values[i] * weights[j];
+                    }
+                }
+            }
+            return scores;
+        }
+
+        private int nearest(SparseVector vector) {
+            float[] scores = scores(vector);
+            int best = 0;
+            for (int c = 1; c < scores.length; c++) {
+                if (scores[c] > scores[best]) {
+                    best = c;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Somme des documents de la liste, élaguée aux termes les plus lourds puis normalisée ; null si la liste est vide
+    private static SparseVector centroid(List<SparseVector> members, float[] accumulator) {
+        List<Integer> touched = new ArrayList<>();
+        for (SparseVector vector : members) {
+            for (int i = 0; i < vector.indices.length; i++) {
+                int index = vector.indices[i];
+                if (accumulator[index] == 0f) {
+                    touched.add(index);
+                }
+                accumulator[index] += vector.values[i];
+            }
+        }
+        if (touched.isEmpty()) {
+            return null;
+        }
+
+        PriorityQueue<Integer> heaviest = new PriorityQueue<>(Comparator.comparingDouble(index -> accumulator[index]));
+        for (int index : touched) {
+            heaviest.add(index);
+            if (heaviest.size() > CENTROID_TERMS) {
+                heaviest.poll();
+            }
+        }
+        int[] indices = heaviest.stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] values = new float[indices.length];
+        double norm = 0;
+        for (int i = 0; i < indices.length; i++) {
+            values[i] = accumulator[indices[i]];
+            norm += values[i] * values[i];
+        }
+        float inverseNorm = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= inverseNorm;
+        }
+        for (int index : touched) {
+            accumulator[index] = 0f; // Remis à zéro pour le centroïde suivant
+        }
+        return new SparseVector(indices, values);
+    }
+}
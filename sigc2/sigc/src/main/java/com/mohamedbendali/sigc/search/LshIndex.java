@@ -0,0 +1,161 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index LSH ("locality-sensitive hashing") de signatures MinHash pour trouver les quasi-doublons sans comparer
+ * toutes les paires : la signature est découpée en BANDS bandes de ROWS valeurs, et deux documents deviennent
+ * candidats s'ils ont au moins une bande identique. Probabilité d'être candidats pour une similarité s :
+ * 1 - (1 - s^ROWS)^BANDS, soit ~0,61 à s = 0,7, ~0,95 à s = 0,8 et ~0,9999 à s = 0,9.
+ * Les candidats sont ensuite vérifiés par la similarité estimée sur la signature complète.
+ * Non thread-safe : l'appelant protège les accès.
+ */
+public final class LshIndex {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = MinHasher.NUM_HASHES / BANDS;
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final List<Map<Long, Set<Long>>> buckets = new ArrayList<>(BANDS); // Par bande : clé de bande -> documents
+
+    public LshIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public void put(long id, int[] signature) {
+        remove(id);
+        signatures.put(id, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.get(band).computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, Set<Long>> bandBuckets = buckets.get(band);
+            long key = bandKey(signature, band);
+            Set<Long> bucket = bandBuckets.get(key);
+            if (bucket != null) {
+                bucket.remove(id);
+                if (bucket.isEmpty()) {
+                    bandBuckets.remove(key);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Documents indexés dont la similarité estimée avec {@code signature} atteint {@code threshold}.
+     * @param excludedId document à ignorer (le document lui-même), ou -1.
+     */
+    public List<TextMatch> near(int[] signature, double threshold, long excludedId) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(band).get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<TextMatch> matches = new ArrayList<>();
+        for (Long candidate : candidates) {
+            if (candidate != excludedId) {
+                double similarity = MinHasher.similarity(signature, signatures.get(candidate));
+                if (similarity >= threshold) {
+                    matches.add(new TextMatch(candidate, (float) similarity));
+                }
+            }
+        }
+        matches.sort((a, b) -> Float.compare(b.score(), a.score()));
+        return matches;
+    }
+
+    public List<TextMatch> near(long id, double threshold) {
+        int[] signature = signatures.get(id);
+        return signature == null ? List.of() : near(signature, threshold, id);
+    }
+
+    /**
+     * Groupes de quasi-doublons (composantes connexes des paires vérifiées), chacun trié par id croissant ;
+     * le score est la similarité estimée avec le premier document du groupe. Seules les paires qui partagent
+     * une bande sont comparées.
+     */
+    public List<List<TextMatch>> clusters(double threshold) {
+        Map<Long, Long> parent = new HashMap<>();
+        for (Map<Long, Set<Long>> bandBuckets : buckets) {
+            for (Set<Long> bucket : bandBuckets.values()) {
+                if (bucket.size() < 2) {
+                    continue;
+                }
+                List<Long> members = new ArrayList<>(bucket);
+                for (int i = 0; i < members.size(); i++) {
+                    for (int j = i + 1; j < members.size(); j++) {
+                        long a = members.get(i);
+                        long b = members.get(j);
+                        if (find(parent, a) != find(parent, b)
+                                && MinHasher.similarity(signatures.get(a), signatures.get(b)) >= threshold) {
+                            parent.put(find(parent, a), find(parent, b));
+                        }
+                    }
+                }
+            }
+        }
+        Map<Long, List<Long>> groups = new HashMap<>();
+        for (Long id : parent.keySet()) {
+            groups.computeIfAbsent(find(parent, id), root -> new ArrayList<>()).add(id);
+        }
+        List<List<TextMatch>> clusters = new ArrayList<>();
+        for (List<Long> group : groups.values()) {
+            if (group.size() > 1) {
+                group.sort(Long::compare);
+                int[] first = signatures.get(group.get(0));
+                clusters.add(group.stream()
+                        .map(id -> new TextMatch(id, (float) MinHasher.similarity(first, signatures.get(id))))
+                        .toList());
+            }
+        }
+        clusters.sort((a, b) -> a.size() != b.size() ? Integer.compare(b.size(), a.size())
+                : Long.compare(a.get(0).id(), b.get(0).id()));
+        return clusters;
+    }
+
+    // Union-find avec compression de chemin ; un document absent est sa propre racine
+    private static long find(Map<Long, Long> parent, long id) {
+        long root = id;
+        Long next;
+        while ((next = parent.get(root)) != null && next != root) {
+            root = next;
+        }
+        parent.putIfAbsent(id, root);
+        long current = id;
+        while (current != root) {
+            long following = parent.get(current);
+            parent.put(current, root);
+            current = following;
+        }
+        parent.putIfAbsent(root, root);
+        return root;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 0x100000001B3L + signature[i];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mohamedbendali.sigc.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Signatures MinHash des textes d'offres : deux signatures coïncident sur une fraction de positions
+ * qui estime la similarité de Jaccard entre les ensembles de "shingles" (suites de SHINGLE_SIZE mots) des deux textes.
+ *
+ * Pliage casse/accents (TextNormalizer) avant découpage, sans mots vides ni racinisation : une offre clonée
+ * avec quelques mots changés garde la plupart de ses shingles. Les graines sont fixes : une signature
+ * stockée en base reste comparable après un redémarrage.
+ */
+public final class MinHasher {
+
+    public static final int NUM_HASHES = 128;
+    public static final int SIGNATURE_BYTES = NUM_HASHES * Integer.BYTES; // 512 octets en base
+    private static final int SHINGLE_SIZE = 3;
+    private static final long SEED = 0x5EED_0FFE_4D15L;
+
+    // Hachage multiplicatif (a * x + b) >>> 32 par position : une multiplication par shingle et par position
+    private static final long[] MULTIPLIERS;
+    private static final long[] OFFSETS;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        MULTIPLIERS = random.longs(NUM_HASHES).map(multiplier -> multiplier | 1L).toArray(); // Impairs
+        OFFSETS = random.longs(NUM_HASHES).toArray();
+    }
+
+    private MinHasher() {
+    }
+
+    /**
+     * @return la signature, ou null si le texte ne contient aucun mot (rien à comparer).
+     */
+    public static int[] signature(String text) {
+        String folded = TextNormalizer.fold(text);
+        if (folded.isEmpty()) {
+            return null;
+        }
+        String[] words = folded.split(" ");
+        long[] wordHashes = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            wordHashes[i] = mix(words[i].hashCode() + 0x9E3779B97F4A7C15L);
+        }
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, words.length - SHINGLE_SIZE + 1); // Texte court : un seul shingle
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < Math.min(start + SHINGLE_SIZE, words.length); i++) {
+                shingle = mix(shingle * 31 + wordHashes[i]);
+            }
+            for (int h = 0; h < NUM_HASHES; h++) {
+                int value = (int) ((MULTIPLIERS[h] * shingle + OFFSETS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Fraction des positions égales : estimation de la similarité de Jaccard
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    // null si la signature stockée n'a pas le format courant (à recalculer)
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SIGNATURE_BYTES) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // Finaliseur 64 bits de MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,234 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.enums.SalaryBand;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.projection.OfferFacetRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des offres publiées pour la recherche à facettes.
+ * Chaque valeur de facette (compétence, catégorie de compétence, tranche de salaire) possède la liste
+ * des offres qui la portent sous forme de RoaringBitmap : filtres et comptages se font par intersection
+ * de bitmaps, sans GROUP BY sur offer_skills / job_offers.
+ *
+ * Reconstruit entièrement au démarrage, puis tenu à jour offre par offre à partir des JobOfferChangedEvent.
+ * Sémantique des filtres : OU entre les valeurs d'une même facette, ET entre facettes ; le comptage
+ * d'une facette ignore son propre filtre (facettes "disjonctives") pour que les autres valeurs restent proposées.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfferFacetIndex {
+
+    private final JobOfferRepository offerRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap published = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> bySkill = new HashMap<>();
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<SalaryBand, RoaringBitmap> bySalaryBand = new EnumMap<>(SalaryBand.class);
+    private final Map<Long, String> skillNames = new HashMap<>();
+    private final Map<Integer, IndexedOffer> indexedOffers = new HashMap<>(); // Valeurs indexées, pour pouvoir retirer une offre
+
+    /**
+     * Reconstruction complète depuis la base. Lecture et publication sont faites sous le moniteur de l'index,
+     * comme chaque mise à jour incrémentale : aucun événement ne peut être écrasé par un instantané plus ancien.
+     * Le verrou d'écriture n'est pris que pour remplacer le contenu (les recherches n'attendent pas la base).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<OfferFacetRow> rows = offerRepository.findFacetRowsByStatus(OfferStatus.PUBLISHED, LocalDateTime.now());
+        lock.writeLock().lock();
+        try {
+            published.clear();
+            bySkill.clear();
+            byCategory.clear();
+            bySalaryBand.clear();
+            skillNames.clear();
+            indexedOffers.clear();
+            groupByOffer(rows).forEach(this::add);
+            log.info("Offer facet index rebuilt with {} published offers and {} skills", published.getCardinality(), bySkill.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOfferChanged(JobOfferChangedEvent event) {
+        if (!event.affectsPublishedOffers()) {
+            return; // Un brouillon modifié n'est pas dans l'index
+        }
+        // Relire l'état validé de l'offre (vide si elle n'est plus publiée, a expiré ou a été supprimée).
+        // synchronized : lecture et application ne s'entrelacent pas avec celles d'un autre commit ou d'un rebuild,
+        // le dernier à passer lit donc l'état le plus récent
+        List<OfferFacetRow> rows = offerRepository.findFacetRowsByIdAndStatus(event.getOfferId(), OfferStatus.PUBLISHED, LocalDateTime.now());
+        lock.writeLock().lock();
+        try {
+            remove(toIndexId(event.getOfferId()));
+            groupByOffer(rows).forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Offer facet index updated for offer {}", event.getOfferId());
+    }
+
+    // Import en masse d'offres : une reconstruction au lieu d'une relecture par offre
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            rebuild();
+        }
+    }
+
+    // Renommage ou changement de catégorie d'une compétence : les libellés et postings sont recalculés
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.getType() != SkillChangedEvent.ChangeType.CREATED) { // Une compétence neuve n'est liée à aucune offre
+            rebuild();
+        }
+    }
+
+    /**
+     * Filtre les offres publiées et calcule les comptages de chaque facette.
+     * Un ensemble vide (ou null) signifie "pas de filtre" sur cette facette.
+     */
+    public FacetSearchResult search(Set<Long> skillIds, Set<String> categories, Set<SalaryBand> salaryBands) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap skillFilter = union(bySkill, skillIds);
+            RoaringBitmap categoryFilter = union(byCategory, categories);
+            RoaringBitmap salaryFilter = union(bySalaryBand, salaryBands);
+
+            RoaringBitmap matches = intersect(published, skillFilter, categoryFilter, salaryFilter);
+
+            Map<Long, Integer> skillCounts = count(bySkill, intersect(published, categoryFilter, salaryFilter));
+            Map<String, Integer> categoryCounts = count(byCategory, intersect(published, skillFilter, salaryFilter));
+            Map<SalaryBand, Integer> salaryBandCounts = count(bySalaryBand, intersect(published, skillFilter, categoryFilter));
+
+            Map<Long, String> names = new HashMap<>();
+            skillCounts.keySet().forEach(id -> names.put(id, skillNames.get(id)));
+            return new FacetSearchResult(matches, skillCounts, names, categoryCounts, salaryBandCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Mise à jour (appelées sous verrou d'écriture) ---
+
+    private void add(IndexedOffer offer) {
+        int id = offer.offerId();
+        published.add(id);
+        offer.skillIds().forEach(skillId -> bySkill.computeIfAbsent(skillId, k -> new RoaringBitmap()).add(id));
+        offer.categories().forEach(category -> byCategory.computeIfAbsent(category, k -> new RoaringBitmap()).add(id));
+        bySalaryBand.computeIfAbsent(offer.salaryBand(), k -> new RoaringBitmap()).add(id);
+        indexedOffers.put(id, offer);
+    }
+
+    private void remove(int id) {
+        IndexedOffer previous = indexedOffers.remove(id);
+        if (previous == null) {
+            return;
+        }
+        published.remove(id);
+        previous.skillIds().forEach(skillId -> removeFrom(bySkill, skillId, id));
+        previous.categories().forEach(category -> removeFrom(byCategory, category, id));
+        removeFrom(bySalaryBand, previous.salaryBand(), id);
+    }
+
+    private <K> void removeFrom(Map<K, RoaringBitmap> postings, K key, int id) {
+        RoaringBitmap bitmap = postings.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                postings.remove(key);
+                if (key instanceof Long skillId) {
+                    skillNames.remove(skillId);
+                }
+            }
+        }
+    }
+
+    private Collection<IndexedOffer> groupByOffer(List<OfferFacetRow> rows) {
+        Map<Long, IndexedOffer> offers = new HashMap<>();
+        for (OfferFacetRow row : rows) {
+            IndexedOffer offer = offers.computeIfAbsent(row.getOfferId(), id -> new IndexedOffer(
+                    toIndexId(id), SalaryBand.fromSalaryRange(row.getSalaryRange()), new HashSet<>(), new HashSet<>()));
+            if (row.getSkillId() != null) {
+                offer.skillIds().add(row.getSkillId());
+                skillNames.put(row.getSkillId(), row.getSkillName());
+                if (row.getSkillCategory() != null && !row.getSkillCategory().isBlank()) {
+                    offer.categories().add(row.getSkillCategory().trim());
+                }
+            }
+        }
+        return offers.values();
+    }
+
+    // --- Opérations sur les bitmaps (appelées sous verrou de lecture) ---
+
+    // null = pas de filtre sur cette facette
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> postings, Set<K> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (K key : selected) {
+            RoaringBitmap bitmap = postings.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base.clone();
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Integer> count(Map<K, RoaringBitmap> postings, RoaringBitmap base) {
+        Map<K, Integer> counts = new HashMap<>();
+        postings.forEach((key, bitmap) -> {
+            int cardinality = RoaringBitmap.andCardinality(base, bitmap);
+            if (cardinality > 0) {
+                counts.put(key, cardinality);
+            }
+        });
+        return counts;
+    }
+
+    // Les bitmaps sont indexés par int : les identifiants d'offre (séquence IDENTITY) restent bien en deçà
+    private static int toIndexId(Long offerId) {
+        return Math.toIntExact(offerId);
+    }
+
+    private record IndexedOffer(int offerId, SalaryBand salaryBand, Set<Long> skillIds, Set<String> categories) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Trie compressé (radix) immuable pour l'autocomplétion.
+ * Chaque nœud porte, précalculées à la construction, ses {@code topK} meilleures valeurs (par score) :
+ * une suggestion coûte la descente du préfixe (O(longueur du préfixe)), sans parcours de sous-arbre.
+ * Une instance n'est jamais modifiée après {@link Builder#build()} : on en construit une nouvelle
+ * et on remplace la référence (copy-on-write), les lectures concurrentes ne prennent aucun verrou.
+ */
+public final class PrefixTrie<T> {
+
+    private final Node<T> root;
+    private final int size;
+
+    private PrefixTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <T> PrefixTrie<T> empty() {
+        return new PrefixTrie<>(new Node<>(new String[0], newNodeArray(0), List.of()), 0);
+    }
+
+    public static <T> Builder<T> builder(int topK) {
+        return new Builder<>(topK);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Meilleures valeurs dont une clé commence par {@code foldedPrefix} (déjà passé par TextNormalizer).
+     */
+    public List<T> suggest(String foldedPrefix, int limit) {
+        Node<T> node = root;
+        int position = 0;
+        while (position < foldedPrefix.length()) {
+            Node<T> next = null;
+            int index = node.childIndex(foldedPrefix.charAt(position));
+            if (index >= 0) {
+                String label = node.labels[index];
+                int common = commonPrefixLength(label, foldedPrefix, position);
+                if (common == label.length() || position + common == foldedPrefix.length()) {
+                    next = node.children[index];
+                    position += common;
+                }
+            }
+            if (next == null) {
+                return List.of();
+            }
+            node = next;
+        }
+        return node.top.size() <= limit ? node.top : node.top.subList(0, limit);
+    }
+
+    private static int commonPrefixLength(String label, String text, int offset) {
+        int length = Math.min(label.length(), text.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == text.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    // Nœud figé : arêtes triées par premier caractère, recherche dichotomique
+    private static final class Node<T> {
+        private final String[] labels;
+        private final Node<T>[] children;
+        private final char[] firstChars;
+        private final List<T> top;
+
+        private Node(String[] labels, Node<T>[] children, List<T> top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+            this.firstChars = new char[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                firstChars[i] = labels[i].charAt(0);
+            }
+        }
+
+        private int childIndex(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index >= 0 ? index : -1;
+        }
+    }
+
+    /**
+     * Accumule les clés (une valeur peut être indexée sous plusieurs clés) puis fige le trie.
+     * Non thread-safe : à utiliser depuis un seul thread de reconstruction.
+     */
+    public static final class Builder<T> {
+
+        private final int topK;
+        private final MutableNode<T> root = new MutableNode<>();
+        private final Set<T> values = new LinkedHashSet<>();
+        private long sequence; // Départage les scores égaux par ordre d'insertion
+
+        private Builder(int topK) {
+            this.topK = topK;
+        }
+
+        public Builder<T> add(String foldedKey, T value, double score) {
+            if (foldedKey == null || foldedKey.isEmpty()) {
+                return this;
+            }
+            MutableNode<T> node = root;
+            for (int i = 0; i < foldedKey.length(); i++) {
+                node = node.children.computeIfAbsent(foldedKey.charAt(i), c -> new MutableNode<>());
+            }
+            node.entries.add(new Entry<>(value, score, sequence++));
+            values.add(value);
+            return this;
+        }
+
+        public PrefixTrie<T> build() {
+            return new PrefixTrie<>(freeze(root), values.size());
+        }
+
+        // Calcule les meilleures entrées du sous-arbre puis compresse les chaînes de nœuds à un seul enfant
+        private Node<T> freeze(MutableNode<T> node) {
+            List<String> labels = new ArrayList<>(node.children.size());
+            List<Node<T>> frozenChildren = new ArrayList<>(node.children.size());
+            List<Entry<T>> candidates = new ArrayList<>(node.entries);
+
+            for (Map.Entry<Character, MutableNode<T>> child : node.children.entrySet()) {
+                StringBuilder label = new StringBuilder().append(child.getKey());
+                MutableNode<T> current = child.getValue();
+                while (current.entries.isEmpty() && current.children.size() == 1) {
+                    Map.Entry<Character, MutableNode<T>> only = current.children.firstEntry();
+                    label.append(only.getKey());
+                    current = only.getValue();
+                }
+                Node<T> frozen = freeze(current);
+                labels.add(label.toString());
+                frozenChildren.add(frozen);
+                candidates.addAll(current.best);
+            }
+
+            node.best = selectBest(candidates);
+            List<T> top = node.best.stream().map(Entry::value).toList();
+            return new Node<>(labels.toArray(new String[0]), frozenChildren.toArray(newNodeArray(0)), top);
+        }
+
+        // Tri par score décroissant, une seule occurrence par valeur, au plus topK
+        private List<Entry<T>> selectBest(List<Entry<T>> candidates) {
+            candidates.sort(Comparator.comparingDouble((Entry<T> e) -> -e.score()).thenComparingLong(Entry::sequence));
+            List<Entry<T>> best = new ArrayList<>(Math.min(topK, candidates.size()));
+            Set<T> seen = new LinkedHashSet<>();
+            for (Entry<T> candidate : candidates) {
+                if (best.size() == topK) {
+                    break;
+                }
+                if (seen.add(candidate.value())) {
+                    best.add(candidate);
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class MutableNode<T> {
+        private final TreeMap<Character, MutableNode<T>> children = new TreeMap<>(); // Trié : dichotomie sur le nœud figé
+        private final List<Entry<T>> entries = new ArrayList<>(1);
+        private List<Entry<T>> best = List.of();
+    }
+
+    private record Entry<T>(T value, double score, long sequence) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.mohamedbendali.sigc.search;
+
+/**
+ * Résultat de SkillMatchIndex : un candidat (ou une offre) et son score d'adéquation aux compétences requises.
+ *
+ * @param id             identifiant du candidat ou de l'offre classé
+ * @param score          combinaison pondérée de coverage et jaccard, entre 0 et 1
+ * @param coverage       part des compétences requises couvertes
+ * @param jaccard        similarité des deux ensembles (pénalise les profils très éloignés du poste)
+ * @param matchedSkills  nombre de compétences requises couvertes
+ * @param requiredSkills nombre de compétences requises par l'offre
+ */
+public record SkillMatch(long id, double score, double coverage, double jaccard, int matchedSkills, int requiredSkills) {
+}
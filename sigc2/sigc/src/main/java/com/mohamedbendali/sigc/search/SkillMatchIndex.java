@@ -0,0 +1,329 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.CandidateSkillsChangedEvent;
+import com.mohamedbendali.sigc.event.CandidatesImportedEvent;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
+import com.mohamedbendali.sigc.repository.CandidateRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.projection.OfferFacetRow;
+import com.mohamedbendali.sigc.repository.projection.SkillLink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moteur d'adéquation candidats / offres par compétences, entièrement en mémoire.
+ *
+ * Les compétences de chaque candidat et de chaque offre publiée sont des RoaringBitmap d'ids de compétences :
+ * le score d'un couple ne coûte qu'une intersection de bitmaps (andCardinality), sans jointure SQL.
+ * Score = poids_couverture * |requises ∩ possédées| / |requises| + poids_jaccard * |requises ∩ possédées| / |requises ∪ possédées|
+ * (toutes les compétences requises d'une offre sont considérées comme obligatoires).
+ *
+ * Les K meilleurs sont gardés dans un tas min borné ; le parcours des candidats est découpé en fork/join
+ * sur un instantané en tableaux, recalculé seulement après un changement. Reconstruit au démarrage, puis tenu
+ * à jour candidat par candidat et offre par offre à partir des événements après commit.
+ */
+@Component
+@Slf4j
+public class SkillMatchIndex {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096; // Taille de tranche en dessous de laquelle on ne découpe plus
+
+    private static final Comparator<SkillMatch> BY_SCORE = Comparator.comparingDouble(SkillMatch::score)
+            .thenComparing(Comparator.comparingLong(SkillMatch::id).reversed()); // À score égal, le plus ancien d'abord
+
+    private final CandidateRepository candidateRepository;
+    private final JobOfferRepository offerRepository;
+    private final ForkJoinPool pool;
+    private final double coverageWeight;
+    private final double jaccardWeight;
+
+    // Bitmaps immuables une fois publiés : remplacés, jamais modifiés en place. Écritures sous le moniteur de l'index.
+    private volatile Map<Long, RoaringBitmap> candidateSkills = new ConcurrentHashMap<>();
+    private volatile Map<Long, RoaringBitmap> offerSkills = new ConcurrentHashMap<>();
+    private volatile Snapshot candidateSnapshot = Snapshot.EMPTY;
+    private volatile Snapshot offerSnapshot = Snapshot.EMPTY;
+
+    public SkillMatchIndex(CandidateRepository candidateRepository, JobOfferRepository offerRepository,
+                           @Value("${matching.parallelism:0}") int parallelism, // 0 = nombre de cœurs
+                           @Value("${matching.weight.coverage:0.7}") double coverageWeight,
+                           @Value("${matching.weight.jaccard:0.3}") double jaccardWeight) {
+        this.candidateRepository = candidateRepository;
+        this.offerRepository = offerRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.coverageWeight = coverageWeight;
+        this.jaccardWeight = jaccardWeight;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // synchronized : deux reconstructions ne peuvent pas publier un état plus ancien en dernier
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<Long, RoaringBitmap> candidates = new ConcurrentHashMap<>();
+        for (SkillLink link : candidateRepository.findAllSkillLinks()) {
+            candidates.computeIfAbsent(link.getOwnerId(), id -> new RoaringBitmap()).add(toIndexId(link.getSkillId()));
+        }
+        Map<Long, RoaringBitmap> offers = new ConcurrentHashMap<>();
+        for (OfferFacetRow row : offerRepository.findFacetRowsByStatus(OfferStatus.PUBLISHED, LocalDateTime.now())) {
+            if (row.getSkillId() != null) {
+                offers.computeIfAbsent(row.getOfferId(), id -> new RoaringBitmap()).add(toIndexId(row.getSkillId()));
+            }
+        }
+        candidates.values().forEach(RoaringBitmap::runOptimize);
+        offers.values().forEach(RoaringBitmap::runOptimize);
+
+        candidateSkills = candidates; // Publication atomique : une requête voit l'ancien ou le nouvel index, jamais un mélange
+        offerSkills = offers;
+        candidateSnapshot = null;
+        offerSnapshot = null;
+        log.info("Skill match index rebuilt with {} candidates and {} published offers", candidates.size(), offers.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCandidateSkillsChanged(CandidateSkillsChangedEvent event) {
+        RoaringBitmap skills = RoaringBitmap.bitmapOf(candidateRepository.findSkillIdsByCandidateId(event.getCandidateId())
+                .stream().mapToInt(SkillMatchIndex::toIndexId).toArray());
+        replace(candidateSkills, event.getCandidateId(), skills);
+        candidateSnapshot = null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOfferChanged(JobOfferChangedEvent event) {
+        if (!event.affectsPublishedOffers()) {
+            return; // Un brouillon n'est pas proposé aux candidats
+        }
+        // État validé de l'offre : vide si elle n'est plus publiée, a expiré ou a été supprimée
+        RoaringBitmap skills = new RoaringBitmap();
+        for (OfferFacetRow row : offerRepository.findFacetRowsByIdAndStatus(event.getOfferId(), OfferStatus.PUBLISHED, LocalDateTime.now())) {
+            if (row.getSkillId() != null) {
+                skills.add(toIndexId(row.getSkillId()));
+            }
+        }
+        replace(offerSkills, event.getOfferId(), skills);
+        offerSnapshot = null;
+    }
+
+    // Import en masse : une reconstruction complète coûte moins qu'une relecture par ligne importée
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCandidatesImported(CandidatesImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            rebuild();
+        }
+    }
+
+    // Compétence supprimée : les lignes de jointure ont disparu en base
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.getType() == SkillChangedEvent.ChangeType.DELETED) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Meilleurs candidats pour une offre publiée (liste vide si l'offre n'est pas indexée ou n'exige aucune compétence).
+     */
+    public List<SkillMatch> topCandidates(Long offerId, int k) {
+        RoaringBitmap required = offerSkills.get(offerId);
+        if (required == null || required.isEmpty()) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        Snapshot candidates = candidates();
+        List<SkillMatch> matches = topK(candidates, required, k);
+        log.debug("Ranked {} candidates for offer {} in {} µs", candidates.size(), offerId,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        return matches;
+    }
+
+    /**
+     * Offres publiées les mieux adaptées aux compétences d'un candidat (liste vide s'il n'en déclare aucune).
+     */
+    public List<SkillMatch> topOffers(Long candidateId, int k) {
+        RoaringBitmap owned = candidateSkills.get(candidateId);
+        if (owned == null || owned.isEmpty()) {
+            return List.of();
+        }
+        Snapshot offers = offers();
+        // Les compétences requises sont celles de chaque offre : même score que dans l'autre sens
+        PriorityQueue<SkillMatch> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+        for (int i = 0; i < offers.size(); i++) {
+            offer(heap, score(offers.ids[i], offers.skills[i], owned), k);
+        }
+        return sorted(heap);
+    }
+
+    private List<SkillMatch> topK(Snapshot snapshot, RoaringBitmap required, int k) {
+        if (snapshot.size() <= SEQUENTIAL_THRESHOLD) {
+            return sorted(new ScanTask(snapshot, required, k, 0, snapshot.size()).compute());
+        }
+        return sorted(pool.invoke(new ScanTask(snapshot, required, k, 0, snapshot.size())));
+    }
+
+    /**
+     * Parcours d'une tranche [from, to) de l'instantané ; au-delà du seuil, la tranche est coupée en deux
+     * et les deux tas bornés sont fusionnés.
+     */
+    private final class ScanTask extends RecursiveTask<PriorityQueue<SkillMatch>> {
+
+        private final Snapshot snapshot;
+        private final RoaringBitmap required;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        ScanTask(Snapshot snapshot, RoaringBitmap required, int k, int from, int to) {
+            this.snapshot = snapshot;
+            this.required = required;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<SkillMatch> compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                PriorityQueue<SkillMatch> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+                for (int i = from; i < to; i++) {
+                    SkillMatchIndex.offer(heap, score(snapshot.ids[i], required, snapshot.skills[i]), k);
+                }
+                return heap;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(snapshot, required, k, from, middle);
+            left.fork();
+            PriorityQueue<SkillMatch> heap = new ScanTask(snapshot, required, k, middle, to).compute();
+            for (SkillMatch match : left.join()) {
+                SkillMatchIndex.offer(heap, match, k);
+            }
+            return heap;
+        }
+    }
+
+    // null si aucune compétence requise n'est couverte
+    private SkillMatch score(long id, RoaringBitmap required, RoaringBitmap owned) {
+        int matched = RoaringBitmap.andCardinality(required, owned);
+        if (matched == 0) {
+            return null;
+        }
+        int requiredCount = required.getCardinality();
+        double coverage = (double) matched / requiredCount;
+        double jaccard = (double) matched / (requiredCount + owned.getCardinality() - matched);
+        return new SkillMatch(id, coverageWeight * coverage + jaccardWeight * jaccard, coverage, jaccard, matched, requiredCount);
+    }
+
+    // Tas min borné à k : la racine est le moins bon des K retenus
+    private static void offer(PriorityQueue<SkillMatch> heap, SkillMatch match, int k) {
+        if (match == null) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(match);
+        } else if (BY_SCORE.compare(match, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(match);
+        }
+    }
+
+    private static List<SkillMatch> sorted(Collection<SkillMatch> heap) {
+        List<SkillMatch> result = new ArrayList<>(heap);
+        result.sort(BY_SCORE.reversed());
+        return result;
+    }
+
+    // Instantanés en tableaux (parcours rapide et découpable) recalculés à la première lecture après un changement
+    private Snapshot candidates() {
+        Snapshot snapshot = candidateSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (candidateSnapshot == null) {
+                    candidateSnapshot = Snapshot.of(candidateSkills);
+                }
+                snapshot = candidateSnapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot offers() {
+        Snapshot snapshot = offerSnapshot;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (offerSnapshot == null) {
+                    offerSnapshot = Snapshot.of(offerSkills);
+                }
+                snapshot = offerSnapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private static void replace(Map<Long, RoaringBitmap> index, Long id, RoaringBitmap skills) {
+        if (skills.isEmpty()) {
+            index.remove(id); // Aucune compétence : jamais classé
+        } else {
+            skills.runOptimize();
+            index.put(id, skills);
+        }
+    }
+
+    private static int toIndexId(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new long[0], new RoaringBitmap[0]);
+
+        private final long[] ids;
+        private final RoaringBitmap[] skills;
+
+        private Snapshot(long[] ids, RoaringBitmap[] skills) {
+            this.ids = ids;
+            this.skills = skills;
+        }
+
+        private static Snapshot of(Map<Long, RoaringBitmap> index) {
+            List<Map.Entry<Long, RoaringBitmap>> entries = new ArrayList<>(index.entrySet());
+            long[] ids = new long[entries.size()];
+            RoaringBitmap[] skills = new RoaringBitmap[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                ids[i] = entries.get(i).getKey();
+                skills[i] = entries.get(i).getValue();
+            }
+            return new Snapshot(ids, skills);
+        }
+
+        private int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Marquage automatique des compétences dans un texte libre (description d'offre, lettre de motivation).
+ *
+ * Un automate d'Aho–Corasick contient le nom de chaque compétence du référentiel et ses synonymes
+ * (fichier skills.tagging.synonyms, ex: "js" -> JavaScript) : un texte est analysé en un seul parcours,
+ * quel que soit le nombre de compétences. L'automate est immuable et remplacé en bloc (copie sur écriture)
+ * après chaque modification du référentiel : les lectures concurrentes ne prennent aucun verrou.
+ */
+@Component
+@Slf4j
+public class SkillTagger {
+
+    private static final int MIN_PATTERN_LENGTH = 2; // "C" ou "R" reconnus partout ("c'est") : ignorés
+    // Noms ou synonymes qui, une fois pliés, sont des mots courants : ".NET" -> "net" ("salaire net"),
+    // "Go" ("16 Go de RAM"), "SAS" ("SAS au capital de"). La compétence reste reconnue par ses autres synonymes
+    private static final Set<String> COMMON_WORDS = Set.of("net", "go", "sas", "vue", "node", "ai", "ia");
+
+    /**
+     * Automate et libellés publiés ensemble : un appel voit toujours un état cohérent.
+     */
+    private record State(AhoCorasick<Long> automaton, Map<Long, String> names) {
+        private static final State EMPTY = new State(AhoCorasick.empty(), Map.of());
+    }
+
+    private final SkillRepository skillRepository;
+    private final Resource synonymsResource;
+
+    private volatile State state = State.EMPTY;
+
+    public SkillTagger(SkillRepository skillRepository,
+                       @Value("${skills.tagging.synonyms:classpath:skills/synonyms.txt}") Resource synonymsResource) {
+        this.skillRepository = skillRepository;
+        this.synonymsResource = synonymsResource;
+    }
+
+    // synchronized : deux reconstructions ne peuvent pas publier un état plus ancien en dernier
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<IdName> skills = skillRepository.findAllIdNames();
+        Map<String, Long> idsByFoldedName = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        AhoCorasick.Builder<Long> builder = new AhoCorasick.Builder<>();
+        for (IdName skill : skills) {
+            addPattern(builder, skill.getName(), skill.getId());
+            idsByFoldedName.put(TextNormalizer.fold(skill.getName()), skill.getId());
+            names.put(skill.getId(), skill.getName());
+        }
+        int synonymCount = 0;
+        for (Map.Entry<String, List<String>> entry : loadSynonyms().entrySet()) {
+            Long skillId = idsByFoldedName.get(TextNormalizer.fold(entry.getKey()));
+            if (skillId != null) { // Compétence absente du référentiel : synonymes ignorés
+                for (String synonym : entry.getValue()) {
+                    synonymCount += addPattern(builder, synonym, skillId) ? 1 : 0;
+                }
+            }
+        }
+        state = new State(builder.build(), Map.copyOf(names));
+        log.info("Skill tagger rebuilt with {} skills and {} synonyms", skills.size(), synonymCount);
+    }
+
+    // Création, renommage ou suppression : l'automate est reconstruit à partir de l'état validé
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Compétences reconnues dans le texte : id -> nombre d'occurrences, dans l'ordre de première apparition.
+     */
+    public Map<Long, Integer> tag(String text) {
+        if (text == null || text.isBlank()) {
+            return Map.of();
+        }
+        return state.automaton().findAll(text);
+    }
+
+    // Libellé d'une compétence connue de l'automate courant (null si inconnue)
+    public String nameOf(Long skillId) {
+        return state.names().get(skillId);
+    }
+
+    private static boolean addPattern(AhoCorasick.Builder<Long> builder, String pattern, Long skillId) {
+        String folded = TextNormalizer.fold(pattern);
+        if (folded.length() < MIN_PATTERN_LENGTH || COMMON_WORDS.contains(folded)) {
+            return false;
+        }
+        builder.add(pattern, skillId);
+        return true;
+    }
+
+    // Lignes "Nom de la compétence: synonyme, synonyme" ; lignes vides et commentaires (#) ignorés
+    private Map<String, List<String>> loadSynonyms() {
+        Map<String, List<String>> synonyms = new LinkedHashMap<>();
+        if (!synonymsResource.exists()) {
+            log.warn("Skill synonyms file {} not found, tagging on skill names only", synonymsResource);
+            return synonyms;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(synonymsResource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(':');
+                if (line.isBlank() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                List<String> values = Arrays.stream(line.substring(separator + 1).split(","))
+                        .map(String::trim)
+                        .filter(value -> !value.isEmpty())
+                        .toList();
+                synonyms.put(line.substring(0, separator).trim(), values);
+            }
+        } catch (IOException e) {
+            log.error("Could not read skill synonyms from {}", synonymsResource, e);
+        }
+        return synonyms;
+    }
+}
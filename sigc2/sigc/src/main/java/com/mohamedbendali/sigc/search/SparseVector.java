@@ -0,0 +1,45 @@
+package com.mohamedbendali.sigc.search;
+
+/**
+ * Vecteur creux compact : indices triés et poids en float (4 octets par terme), sans objet par terme.
+ * Les vecteurs TF-IDF sont normalisés (norme L2 = 1) : le produit scalaire est directement le cosinus.
+ */
+public final class SparseVector {
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    final int[] indices;
+    final float[] values;
+
+    SparseVector(int[] indices, float[] values) {
+        this.indices = indices;
+        this.values = values;
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    public boolean isEmpty() {
+        return indices.length == 0;
+    }
+
+    // Fusion de deux listes triées : O(n + m)
+    public float dot(SparseVector other) {
+        int[] a = indices;
+        int[] b = other.indices;
+        int i = 0;
+        int j = 0;
+        float sum = 0f;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                sum += values[i++] * other.values[j++];
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Découpage en termes des textes libres (descriptions d'offres, lettres de motivation) pour la similarité TF-IDF.
+ * Pliage casse/accents (TextNormalizer), mots vides français et anglais retirés, puis racinisation légère
+ * par suffixes communs aux deux langues : "développeurs", "développement" et "developing" -> "developp" / "develop".
+ * Volontairement simple : la même fonction est appliquée aux documents et aux requêtes.
+ */
+public final class TextAnalyzer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_STEM_LENGTH = 4;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            // Français
+            "au", "aux", "avec", "ce", "ces", "cet", "cette", "dans", "de", "des", "du", "elle", "en", "et", "eux", "il",
+            "ils", "je", "la", "le", "les", "leur", "leurs", "lui", "ma", "mais", "me", "mes", "moi", "mon", "ne", "nos",
+            "notre", "nous", "on", "ou", "par", "pas", "pour", "qu", "que", "qui", "sa", "se", "ses", "son", "sur", "ta",
+            "te", "tes", "toi", "ton", "tu", "un", "une", "vos", "votre", "vous", "est", "sont", "etre", "avoir", "ete",
+            "plus", "tres", "tout", "tous", "toute", "toutes", "comme", "sans", "chez", "entre", "afin", "ainsi",
+            // Anglais
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it", "its", "of",
+            "or", "our", "that", "the", "their", "this", "to", "was", "we", "will", "with", "you", "your", "i", "my",
+            "am", "been", "can", "do", "not", "all", "any", "also", "into", "who", "which"
+    );
+
+    // Du plus long au plus court : le premier qui laisse une racine assez longue est retiré
+    private static final String[] SUFFIXES = {
+            "issement", "ational", "ations", "ements", "ation", "ement", "ments", "ities", "ingly",
+            "ment", "euse", "ness", "ique", "isme", "iste", "able", "ance", "ence", "ings",
+            "eur", "ite", "ive", "ity", "ing", "ers", "ies",
+            "er", "ed", "ly", "al"
+    };
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokens(String text) {
+        String folded = TextNormalizer.fold(text);
+        List<String> tokens = new ArrayList<>();
+        if (folded.isEmpty()) {
+            return tokens;
+        }
+        for (String token : folded.split(" ")) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(stem(token));
+            }
+        }
+        return tokens;
+    }
+
+    static String stem(String token) {
+        // "c++", "c#", "java17", "s3" : gardés tels quels
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) {
+                return token;
+            }
+        }
+        String stem = token;
+        if (stem.length() > MIN_STEM_LENGTH && (stem.endsWith("s") || stem.endsWith("x")) && !stem.endsWith("ss")) {
+            stem = stem.substring(0, stem.length() - 1); // Pluriel
+        }
+        for (String suffix : SUFFIXES) {
+            if (stem.endsWith(suffix) && stem.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                stem = stem.substring(0, stem.length() - suffix.length());
+                break;
+            }
+        }
+        if (stem.length() > MIN_STEM_LENGTH && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1); // "donnee" / "donnees" -> "donne"
+        }
+        return stem;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mohamedbendali.sigc.search;
+
+/**
+ * Résultat de TextSimilarityIndex : identifiant (offre ou candidature) et similarité cosinus TF-IDF (0 à 1).
+ */
+public record TextMatch(long id, float score) {
+}
@@ -0,0 +1,36 @@
+package com.mohamedbendali.sigc.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Pliage de la casse et des accents pour la saisie française : "Développeur Éq." -> "developpeur eq".
+ * Les clés indexées et les préfixes saisis passent par la même fonction.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}+#]+"); // Garder "c++", "c#"
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String ligaturesExpanded = text.replace("œ", "oe").replace("Œ", "oe").replace("æ", "ae").replace("Æ", "ae");
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(ligaturesExpanded, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Préfixe saisi : même pliage, mais l'espace final éventuel ("java ") est significatif et conservé.
+     */
+    public static String foldPrefix(String prefix) {
+        String folded = fold(prefix);
+        return prefix != null && !folded.isEmpty() && Character.isWhitespace(prefix.charAt(prefix.length() - 1))
+                ? folded + " " : folded;
+    }
+}
@@ -0,0 +1,260 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.JobApplicationCreatedEvent;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.projection.ApplicationTextRow;
+import com.mohamedbendali.sigc.repository.projection.OfferTextRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Similarité textuelle locale (TF-IDF, sans service externe) entre descriptions d'offres et lettres de motivation.
+ *
+ * Les offres publiées sont rangées dans un IvfIndex ("offres similaires" sans parcourir tout le catalogue) ;
+ * les lettres de motivation sont regroupées par offre et comparées exactement au texte de l'offre
+ * ("classer les candidatures d'une offre"). Le CV (fichier) n'est pas indexé : seul le texte saisi est disponible.
+ *
+ * Toutes les écritures (indexation incrémentale après commit, reconstruction complète) passent par un unique
+ * thread dédié : elles s'appliquent dans l'ordre sans bloquer les threads HTTP. La reconstruction périodique
+ * recalcule les IDF et réapprend les centroïdes, qui dérivent au fil des ajouts incrémentaux.
+ */
+@Component
+@Slf4j
+public class TextSimilarityIndex {
+
+    private static final long TRAINING_SEED = 42L; // Centroïdes reproductibles d'une reconstruction à l'autre
+
+    private final JobOfferRepository offerRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final int nprobe;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService indexingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "text-similarity-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // État courant, remplacé en bloc par une reconstruction (sous verrou d'écriture)
+    private TextVectorizer vectorizer = new TextVectorizer();
+    private IvfIndex offerIndex = new IvfIndex();
+    private Map<Long, SparseVector> offerVectors = new HashMap<>();
+    private Map<Long, SparseVector> applicationVectors = new HashMap<>();
+    private Map<Long, Set<Long>> applicationsByOffer = new HashMap<>();
+
+    public TextSimilarityIndex(JobOfferRepository offerRepository, JobApplicationRepository applicationRepository,
+                               @Value("${search.text.nprobe:8}") int nprobe) {
+        this.offerRepository = offerRepository;
+        this.applicationRepository = applicationRepository;
+        this.nprobe = nprobe;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexingExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        indexingExecutor.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${search.text.rebuild-interval-ms:3600000}",
+            initialDelayString = "${search.text.rebuild-interval-ms:3600000}")
+    public void scheduleRebuild() {
+        indexingExecutor.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        if (event.affectsPublishedOffers() || event.getType() == JobOfferChangedEvent.ChangeType.DELETED) {
+            indexingExecutor.execute(() -> reindexOffer(event));
+        }
+    }
+
+    // Import en masse : reconstruction complète (vocabulaire et IDF recalculés) plutôt qu'un ajout par offre
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            indexingExecutor.execute(this::rebuild);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApplicationCreated(JobApplicationCreatedEvent event) {
+        indexingExecutor.execute(() -> indexApplication(event.getApplicationId()));
+    }
+
+    /**
+     * Offres publiées dont le texte ressemble le plus à {@code text} (ex: titre + description d'une offre).
+     */
+    public List<TextMatch> similarOffers(String text, int k, long excludedOfferId) {
+        lock.readLock().lock();
+        try {
+            SparseVector query = vectorizer.vectorize(text);
+            return query.isEmpty() ? List.of() : offerIndex.search(query, k, nprobe, excludedOfferId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Candidatures de l'offre classées par similarité de leur lettre de motivation avec {@code offerText}.
+     * Comparaison exacte : une offre ne reçoit que quelques centaines de candidatures.
+     */
+    public List<TextMatch> rankApplications(Long offerId, String offerText, int k) {
+        lock.readLock().lock();
+        try {
+            SparseVector query = vectorizer.vectorize(offerText);
+            Set<Long> applicationIds = applicationsByOffer.get(offerId);
+            if (query.isEmpty() || applicationIds == null) {
+                return List.of();
+            }
+            PriorityQueue<TextMatch> heap = IvfIndex.newHeap(k);
+            for (Long applicationId : applicationIds) {
+                IvfIndex.offer(heap, new TextMatch(applicationId, query.dot(applicationVectors.get(applicationId))), k);
+            }
+            return IvfIndex.sorted(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Construit un état complet hors verrou, puis le publie d'un bloc
+    private void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            List<OfferTextRow> offers = offerRepository.findTextsByStatus(OfferStatus.PUBLISHED, LocalDateTime.now());
+            List<ApplicationTextRow> applications = applicationRepository.findAllCoverLetters();
+
+            // Premier passage : fréquences documentaires sur tout le corpus, second passage : vecteurs pondérés
+            TextVectorizer newVectorizer = new TextVectorizer();
+            offers.forEach(row -> newVectorizer.addDocument(newVectorizer.vectorize(offerText(row))));
+            applications.forEach(row -> newVectorizer.addDocument(newVectorizer.vectorize(row.getCoverLetter())));
+
+            Map<Long, SparseVector> newOfferVectors = new HashMap<>();
+            for (OfferTextRow row : offers) {
+                putIfNotEmpty(newOfferVectors, row.getId(), newVectorizer.vectorize(offerText(row)));
+            }
+            Map<Long, SparseVector> newApplicationVectors = new HashMap<>();
+            Map<Long, Set<Long>> newApplicationsByOffer = new HashMap<>();
+            for (ApplicationTextRow row : applications) {
+                if (putIfNotEmpty(newApplicationVectors, row.getId(), newVectorizer.vectorize(row.getCoverLetter()))) {
+                    newApplicationsByOffer.computeIfAbsent(row.getOfferId(), id -> new HashSet<>()).add(row.getId());
+                }
+            }
+            IvfIndex newOfferIndex = new IvfIndex();
+            newOfferIndex.train(newOfferVectors, TRAINING_SEED);
+
+            lock.writeLock().lock();
+            try {
+                vectorizer = newVectorizer;
+                offerIndex = newOfferIndex;
+                offerVectors = newOfferVectors;
+                applicationVectors = newApplicationVectors;
+                applicationsByOffer = newApplicationsByOffer;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Text similarity index rebuilt with {} offers and {} cover letters in {} ms",
+                    newOfferVectors.size(), newApplicationVectors.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Text similarity index rebuild failed, keeping the previous state", e);
+        }
+    }
+
+    private void reindexOffer(JobOfferChangedEvent event) {
+        try {
+            // État validé : absent si l'offre n'est plus publiée, a expiré ou a été supprimée
+            OfferTextRow row = offerRepository.findTextByIdAndStatus(event.getOfferId(), OfferStatus.PUBLISHED, LocalDateTime.now())
+                    .orElse(null);
+            lock.writeLock().lock();
+            try {
+                SparseVector previous = offerVectors.remove(event.getOfferId());
+                if (previous != null) {
+                    vectorizer.removeDocument(previous);
+                    offerIndex.remove(event.getOfferId());
+                }
+                if (row != null) {
+                    SparseVector vector = vectorizer.vectorize(offerText(row));
+                    if (!vector.isEmpty()) {
+                        vectorizer.addDocument(vector);
+                        offerVectors.put(row.getId(), vector);
+                        offerIndex.add(row.getId(), vector); // Liste du centroïde le plus proche, sans réentraînement
+                    }
+                }
+                if (event.getType() == JobOfferChangedEvent.ChangeType.DELETED) {
+                    Set<Long> applicationIds = applicationsByOffer.remove(event.getOfferId());
+                    if (applicationIds != null) {
+                        applicationIds.forEach(id -> vectorizer.removeDocument(applicationVectors.remove(id)));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            log.warn("Could not reindex offer {} text: {}", event.getOfferId(), e.getMessage());
+        }
+    }
+
+    private void indexApplication(Long applicationId) {
+        try {
+            ApplicationTextRow row = applicationRepository.findCoverLetterById(applicationId).orElse(null);
+            if (row == null || row.getCoverLetter() == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                SparseVector vector = vectorizer.vectorize(row.getCoverLetter());
+                if (!vector.isEmpty() && !applicationVectors.containsKey(row.getId())) {
+                    vectorizer.addDocument(vector);
+                    applicationVectors.put(row.getId(), vector);
+                    applicationsByOffer.computeIfAbsent(row.getOfferId(), id -> new HashSet<>()).add(row.getId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            log.warn("Could not index cover letter of application {}: {}", applicationId, e.getMessage());
+        }
+    }
+
+    public static String offerText(String title, String description) {
+        return (title != null ? title : "") + " " + (description != null ? description : "");
+    }
+
+    private static String offerText(OfferTextRow row) {
+        return offerText(row.getTitle(), row.getDescription());
+    }
+
+    private static boolean putIfNotEmpty(Map<Long, SparseVector> vectors, Long id, SparseVector vector) {
+        if (vector.isEmpty()) {
+            return false;
+        }
+        vectors.put(id, vector);
+        return true;
+    }
+}
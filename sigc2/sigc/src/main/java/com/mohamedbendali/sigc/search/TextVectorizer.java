@@ -0,0 +1,84 @@
+package com.mohamedbendali.sigc.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vectorisation TF-IDF par hachage des termes (feature hashing) : pas de dictionnaire à maintenir,
+ * les fréquences documentaires tiennent dans un tableau d'entiers de taille fixe.
+ * TF sous-linéaire (1 + log tf), IDF lissé log((N + 1) / (df + 1)) + 1, normalisation L2.
+ * Non thread-safe : l'appelant (TextSimilarityIndex) sérialise les écritures.
+ */
+public final class TextVectorizer {
+
+    public static final int DIMENSIONS = 1 << 18; // Collisions négligeables pour un vocabulaire de quelques dizaines de milliers de racines
+
+    private final int[] documentFrequency = new int[DIMENSIONS];
+    private int documentCount;
+
+    /**
+     * Vecteur pondéré d'un texte avec les statistiques actuelles (vide si le texte n'a aucun terme utile).
+     */
+    public SparseVector vectorize(String text) {
+        List<String> tokens = TextAnalyzer.tokens(text);
+        if (tokens.isEmpty()) {
+            return SparseVector.EMPTY;
+        }
+        Map<Integer, Integer> termCounts = new HashMap<>();
+        for (String token : tokens) {
+            termCounts.merge(bucket(token), 1, Integer::sum);
+        }
+
+        int[] indices = termCounts.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] values = new float[indices.length];
+        double norm = 0;
+        for (int i = 0; i < indices.length; i++) {
+            double tf = 1 + Math.log(termCounts.get(indices[i]));
+            double idf = Math.log((documentCount + 1.0) / (documentFrequency[indices[i]] + 1.0)) + 1;
+            values[i] = (float) (tf * idf);
+            norm += values[i] * values[i];
+        }
+        float inverseNorm = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < values.length; i++) {
+            values[i] *= inverseNorm;
+        }
+        return new SparseVector(indices, values);
+    }
+
+    // Les indices d'un vecteur sont ses termes distincts : ils suffisent à mettre à jour les fréquences
+    public void addDocument(SparseVector vector) {
+        for (int index : vector.indices) {
+            documentFrequency[index]++;
+        }
+        documentCount++;
+    }
+
+    public void removeDocument(SparseVector vector) {
+        for (int index : vector.indices) {
+            documentFrequency[index] = Math.max(0, documentFrequency[index] - 1);
+        }
+        documentCount = Math.max(0, documentCount - 1);
+    }
+
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    public void clear() {
+        Arrays.fill(documentFrequency, 0);
+        documentCount = 0;
+    }
+
+    // Mélange du hashCode (finaliseur murmur3) : String.hashCode répartit mal les mots courts sur les bits faibles
+    private static int bucket(String term) {
+        int h = term.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (DIMENSIONS - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.dto.SkillDTO;
+import com.mohamedbendali.sigc.dto.SuggestionDTO;
+import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.repository.projection.IdCount;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Autocomplétion des titres d'offres publiées et des noms de compétences, servie entièrement en mémoire.
+ * Chaque titre/nom est indexé sous chacun de ses suffixes de mots ("Développeur Java Senior" répond à
+ * "dev", "java", "sen") après pliage casse/accents, et classé par popularité (candidatures pour une offre,
+ * offres publiées + candidats pour une compétence).
+ *
+ * Les tries sont immuables : une modification d'offre ou de compétence déclenche, après commit, une
+ * reconstruction sur un thread dédié puis un simple échange de référence (copy-on-write). Les rafales
+ * d'événements sont regroupées en une seule reconstruction.
+ */
+@Component
+@Slf4j
+public class TypeaheadService {
+
+    private final JobOfferRepository offerRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final SkillRepository skillRepository;
+    private final int maxSuggestions;
+
+    private volatile PrefixTrie<SuggestionDTO> offerTitles = PrefixTrie.empty();
+    private volatile PrefixTrie<SkillDTO> skillNames = PrefixTrie.empty();
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "typeahead-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean offersRebuildPending = new AtomicBoolean();
+    private final AtomicBoolean skillsRebuildPending = new AtomicBoolean();
+
+    public TypeaheadService(JobOfferRepository offerRepository,
+                            JobApplicationRepository applicationRepository,
+                            SkillRepository skillRepository,
+                            @Value("${search.typeahead.max-suggestions:10}") int maxSuggestions) {
+        this.offerRepository = offerRepository;
+        this.applicationRepository = applicationRepository;
+        this.skillRepository = skillRepository;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    public List<SuggestionDTO> suggestOffers(String prefix, int limit) {
+        String folded = TextNormalizer.foldPrefix(prefix);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return offerTitles.suggest(folded, Math.min(limit, maxSuggestions)).stream()
+                .map(suggestion -> new SuggestionDTO(suggestion.getId(), suggestion.getLabel())) // Copies : les instances indexées restent intactes
+                .collect(Collectors.toList());
+    }
+
+    public List<SkillDTO> suggestSkills(String prefix, int limit) {
+        String folded = TextNormalizer.foldPrefix(prefix);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return skillNames.suggest(folded, Math.min(limit, maxSuggestions)).stream()
+                .map(skill -> new SkillDTO(skill.getId(), skill.getName(), skill.getCategory()))
+                .collect(Collectors.toList());
+    }
+
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    // Construction initiale synchrone : les suggestions sont disponibles dès que l'application accepte du trafic
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        rebuildOfferTitles();
+        rebuildSkillNames();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            scheduleRebuild(offersRebuildPending, this::rebuildOfferTitles);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOffersImported(OffersImportedEvent event) {
+        if (event.affectsPublishedOffers()) {
+            scheduleRebuild(offersRebuildPending, this::rebuildOfferTitles);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        scheduleRebuild(skillsRebuildPending, this::rebuildSkillNames);
+    }
+
+    private void scheduleRebuild(AtomicBoolean pending, Runnable rebuild) {
+        // Une reconstruction déjà en file couvrira aussi ce changement
+        if (pending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                pending.set(false); // Avant la lecture : un changement ultérieur replanifiera une reconstruction
+                try {
+                    rebuild.run();
+                } catch (Exception e) {
+                    log.error("Typeahead index rebuild failed, keeping the previous snapshot", e);
+                }
+            });
+        }
+    }
+
+    // synchronized : deux reconstructions (démarrage + événement) ne peuvent pas publier un instantané plus ancien en dernier
+    private synchronized void rebuildOfferTitles() {
+        long start = System.nanoTime();
+        Map<Long, Long> applicationCounts = toMap(applicationRepository.countPerOfferByOfferStatus(OfferStatus.PUBLISHED));
+        PrefixTrie.Builder<SuggestionDTO> builder = PrefixTrie.builder(maxSuggestions);
+        for (IdName offer : offerRepository.findTitlesByStatus(OfferStatus.PUBLISHED, LocalDateTime.now())) { // Plus récentes d'abord : départage les égalités
+            SuggestionDTO suggestion = new SuggestionDTO(offer.getId(), offer.getName());
+            addWordSuffixes(builder, offer.getName(), suggestion, applicationCounts.getOrDefault(offer.getId(), 0L));
+        }
+        offerTitles = builder.build();
+        log.info("Offer title typeahead rebuilt: {} offers in {} ms", offerTitles.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void rebuildSkillNames() {
+        long start = System.nanoTime();
+        Map<Long, Long> popularity = toMap(skillRepository.countOffersPerSkill(OfferStatus.PUBLISHED));
+        toMap(skillRepository.countCandidatesPerSkill()).forEach((id, count) -> popularity.merge(id, count, Long::sum));
+        PrefixTrie.Builder<SkillDTO> builder = PrefixTrie.builder(maxSuggestions);
+        for (Skill skill : skillRepository.findAll()) {
+            SkillDTO dto = new SkillDTO(skill.getId(), skill.getName(), skill.getCategory());
+            addWordSuffixes(builder, skill.getName(), dto, popularity.getOrDefault(skill.getId(), 0L));
+        }
+        skillNames = builder.build();
+        log.info("Skill typeahead rebuilt: {} skills in {} ms", skillNames.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static <T> void addWordSuffixes(PrefixTrie.Builder<T> builder, String text, T value, double score) {
+        String folded = TextNormalizer.fold(text);
+        if (folded.isEmpty()) {
+            return;
+        }
+        builder.add(folded, value, score);
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            builder.add(folded.substring(i + 1), value, score);
+        }
+    }
+
+    private static Map<Long, Long> toMap(List<IdCount> counts) {
+        Map<Long, Long> map = new HashMap<>();
+        counts.forEach(row -> map.put(row.getId(), row.getCount()));
+        return map;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
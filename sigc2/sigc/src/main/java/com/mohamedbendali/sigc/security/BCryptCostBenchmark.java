@@ -0,0 +1,64 @@
+package com.mohamedbendali.sigc.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-benchmark exécuté au démarrage (désactivé par défaut) pour calibrer
+ * {@code security.password.bcrypt-strength} sur la machine cible.
+ * Mesure le temps moyen d'un {@code matches()} pour les coûts voisins du coût configuré
+ * et indique le coût le plus élevé qui reste sous {@code security.password.bcrypt-target-ms}.
+ *
+ * Activer avec : security.password.benchmark-on-startup=true
+ */
+@Component
+@ConditionalOnProperty(name = "security.password.benchmark-on-startup", havingValue = "true")
+@Slf4j
+public class BCryptCostBenchmark implements ApplicationRunner {
+
+    private static final String SAMPLE_PASSWORD = "Benchmark-P4ssword!";
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int configuredStrength;
+
+    @Value("${security.password.bcrypt-target-ms:250}")
+    private long targetMs;
+
+    @Value("${security.password.benchmark-iterations:5}")
+    private int iterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int minStrength = Math.max(4, configuredStrength - 2);
+        int maxStrength = Math.min(31, configuredStrength + 2);
+        int recommended = minStrength;
+
+        log.info("Running BCrypt cost benchmark (strengths {}..{}, {} iterations each, target {} ms)",
+                minStrength, maxStrength, iterations, targetMs);
+
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String hash = encoder.encode(SAMPLE_PASSWORD); // Chauffe + hash de référence
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                encoder.matches(SAMPLE_PASSWORD, hash);
+            }
+            double avgMs = (System.nanoTime() - start) / 1_000_000.0 / iterations;
+            // Débit max théorique d'un cœur dédié au hachage
+            log.info("BCrypt strength {}: {} ms per verification (~{} logins/s per hashing thread){}",
+                    strength, String.format("%.1f", avgMs), String.format("%.1f", 1000.0 / avgMs),
+                    strength == configuredStrength ? " <- configured" : "");
+
+            if (avgMs <= targetMs) {
+                recommended = strength;
+            }
+        }
+        log.info("Recommended security.password.bcrypt-strength for a {} ms target: {}", targetMs, recommended);
+    }
+}
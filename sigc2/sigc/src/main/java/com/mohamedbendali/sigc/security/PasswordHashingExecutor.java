@@ -0,0 +1,106 @@
+package com.mohamedbendali.sigc.security;
+
+import com.mohamedbendali.sigc.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de threads dédié et borné pour les opérations de hachage BCrypt (login).
+ * Isole le coût CPU de BCrypt des threads Tomcat : lors d'un pic de connexions,
+ * seules {@code threads} vérifications tournent en parallèle, au plus {@code queueCapacity}
+ * attendent, et les suivantes sont refusées immédiatement (429) au lieu de saturer tous les cœurs.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+
+    public PasswordHashingExecutor(
+            @Value("${security.login.hashing.threads:0}") int threads, // 0 = moitié des cœurs disponibles
+            @Value("${security.login.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.login.hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.login.hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // File bornée + AbortPolicy = contrôle d'admission (pas de CallerRunsPolicy qui réutiliserait le thread Tomcat)
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing executor started with {} threads and a queue of {} slots", poolSize, queueCapacity);
+    }
+
+    /**
+     * Exécute la tâche sur le pool de hachage et attend son résultat.
+     * @throws TooManyRequestsException si la file est pleine ou si le délai d'attente est dépassé.
+     * @throws Exception l'exception levée par la tâche elle-même (ex: BadCredentialsException).
+     */
+    public <T> T execute(Callable<T> task) throws Exception {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full ({} pending), rejecting login attempt", executor.getQueue().size());
+            throw new TooManyRequestsException("Trop de tentatives de connexion simultanées, veuillez réessayer.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing did not complete within {} ms, rejecting login attempt", timeoutMs);
+            throw new TooManyRequestsException("Le service de connexion est surchargé, veuillez réessayer.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            // Propager l'exception d'origine (BadCredentialsException, DisabledException, ...)
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    // Exposés pour le monitoring / les logs
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.mohamedbendali.sigc.service;
 
 import com.mohamedbendali.sigc.dto.CandidateDTO;
+import com.mohamedbendali.sigc.dto.CandidateSearchCriteria;
+import com.mohamedbendali.sigc.dto.CandidateSummaryDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.enums.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -10,6 +15,9 @@ public interface CandidateService {
     CandidateDTO getCandidateById(Long id);
     CandidateDTO getCandidateByEmail(String email);
     Page<CandidateDTO> getAllCandidates(Pageable pageable);
+    SliceResponse<CandidateDTO> getAllCandidatesSlice(Pageable pageable, CountMode countMode); // Sans COUNT(*) exact
+    CursorPage<CandidateDTO> getCandidatesKeyset(String cursor, int size); // Pagination keyset, cursor null = première page
+    CursorPage<CandidateSummaryDTO> searchCandidates(CandidateSearchCriteria criteria, String cursor, int size); // Recherche recruteur, keyset
     void deleteCandidate(Long id);
 
     // Ajoutez cette ligne :
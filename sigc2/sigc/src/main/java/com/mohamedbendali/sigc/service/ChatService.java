@@ -15,6 +15,9 @@ public interface ChatService {
     // Obtenir l'historique d'un entretien
     List<ChatMessageDTO> getChatHistory(Long interviewId);
 
+    // ETag de l'historique, basé sur l'id du dernier message
+    String getChatHistoryETag(Long interviewId);
+
     // Initier la conversation (premier message du bot)
     ChatMessageDTO initiateChat(Long interviewId);
     Interview evaluateInterviewWithGemini(Long interviewId);
@@ -0,0 +1,11 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.OfferApplicationCountsDTO;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+
+// Tableau de bord recruteur, lu dans les compteurs maintenus (offer_status_counts), jamais par COUNT sur les candidatures
+public interface DashboardService {
+    // offerStatus null : toutes les offres ; pagination keyset, offres les plus récentes d'abord
+    CursorPage<OfferApplicationCountsDTO> getApplicationCountsByOffer(OfferStatus offerStatus, String cursor, int size);
+}
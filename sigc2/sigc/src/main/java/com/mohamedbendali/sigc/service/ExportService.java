@@ -0,0 +1,12 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Exports en flux (mémoire constante quel que soit le nombre de lignes) ; le flux n'est pas fermé
+public interface ExportService {
+    void exportApplicationsByOffer(Long offerId, ExportFormat format, OutputStream out) throws IOException;
+    void exportCandidates(ExportFormat format, OutputStream out) throws IOException;
+}
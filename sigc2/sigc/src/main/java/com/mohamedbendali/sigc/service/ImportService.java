@@ -0,0 +1,13 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.dto.ImportReportDTO;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Imports en masse (CSV ou NDJSON, mêmes formats que les exports) ; le flux n'est pas fermé
+public interface ImportService {
+    ImportReportDTO importOffers(InputStream in, ExportFormat format) throws IOException;
+    ImportReportDTO importCandidates(InputStream in, ExportFormat format) throws IOException;
+}
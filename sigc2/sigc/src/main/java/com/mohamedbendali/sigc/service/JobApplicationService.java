@@ -1,7 +1,12 @@
 package com.mohamedbendali.sigc.service;
 
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateRequest;
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateResultDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
 import com.mohamedbendali.sigc.dto.JobApplicationDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,6 +18,22 @@ public interface JobApplicationService {
     List<JobApplicationDTO> getApplicationsByCandidateId(Long candidateId);
     Page<JobApplicationDTO> getApplicationsByOfferId(Long offerId, Pageable pageable);
     JobApplicationDTO updateApplicationStatus(Long id, ApplicationStatus status);
+    BulkStatusUpdateResultDTO updateApplicationStatuses(BulkStatusUpdateRequest request); // Tri recruteur, une transaction
     void withdrawApplication(Long id); // Action du candidat
+
+    Page<JobApplicationDTO> getApplicationsByStatus(ApplicationStatus status, Pageable pageable);
+
+    // Listes sans COUNT(*) exact (mode NONE ou ESTIMATED)
+    SliceResponse<JobApplicationDTO> getApplicationsByOfferIdSlice(Long offerId, Pageable pageable, CountMode countMode);
+    SliceResponse<JobApplicationDTO> getApplicationsByStatusSlice(ApplicationStatus status, Pageable pageable, CountMode countMode);
+
+    // Pagination keyset : cursor null pour la première page
+    CursorPage<JobApplicationDTO> getApplicationsByOfferIdKeyset(Long offerId, String cursor, int size);
+    CursorPage<JobApplicationDTO> getApplicationsByStatusKeyset(ApplicationStatus status, String cursor, int size);
+
+    // ETags (GET conditionnels) calculés depuis updatedAt, sans charger les entités
+    String getApplicationETag(Long id); // null si la candidature n'existe pas
+    String getApplicationsByOfferETag(Long offerId);
+    String getApplicationsByCandidateETag(Long candidateId);
     // Autres méthodes (ex: filtrer par statut, etc.)
 }
\ No newline at end of file
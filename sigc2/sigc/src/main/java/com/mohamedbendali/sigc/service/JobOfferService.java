@@ -1,11 +1,20 @@
 package com.mohamedbendali.sigc.service;
 
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.FacetedOfferSearchDTO;
+import com.mohamedbendali.sigc.dto.JobOfferCardDTO;
 import com.mohamedbendali.sigc.dto.JobOfferDTO;
+import com.mohamedbendali.sigc.dto.OfferStatsDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.dto.SuggestionDTO;
 import com.mohamedbendali.sigc.entity.JobOffer;
+import com.mohamedbendali.sigc.enums.CountMode;
 import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.enums.SalaryBand;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Set;
 
 public interface JobOfferService {
     JobOfferDTO createOffer(JobOfferDTO dto);
@@ -16,4 +25,29 @@ public interface JobOfferService {
     void deleteOffer(Long id);
     JobOfferDTO updateOfferStatus(Long id, OfferStatus newStatus);
     Page<JobOfferDTO> searchOffers(String keyword, OfferStatus status, Pageable pageable);
+
+    // Autocomplétion des titres d'offres publiées (en mémoire, sans accès base)
+    List<SuggestionDTO> suggestOffers(String prefix, int limit);
+
+    // Recherche à facettes (compétence, catégorie, tranche de salaire) servie par l'index en mémoire
+    FacetedOfferSearchDTO searchOffersFaceted(Set<Long> skillIds, Set<String> categories, Set<SalaryBand> salaryBands,
+                                              int page, int size);
+
+    // Listes sans COUNT(*) exact (mode NONE ou ESTIMATED)
+    SliceResponse<JobOfferDTO> getOffersByStatusSlice(OfferStatus status, Pageable pageable, CountMode countMode);
+    SliceResponse<JobOfferDTO> getPublishedOffersSlice(Pageable pageable, CountMode countMode); // Liste publique, offres expirées exclues
+    SliceResponse<JobOfferDTO> getAllOffersSlice(Pageable pageable, CountMode countMode);
+
+    // Cartes compactes de la liste publique (une requête, sans charger les entités ni la description complète)
+    Page<JobOfferCardDTO> getPublishedOfferCards(Pageable pageable);
+
+    // Pagination keyset de la liste publique (offres expirées exclues) : cursor null pour la première page
+    CursorPage<JobOfferDTO> getPublishedOffersKeyset(String cursor, int size);
+
+    // Compteurs de vues et de candidatures (tableau de bord recruteur)
+    OfferStatsDTO getOfferStats(Long id);
+
+    // ETags (GET conditionnels) calculés depuis updatedAt, sans charger les entités
+    String getOfferETag(Long id); // null si l'offre n'existe pas
+    String getPublishedOffersETag();
 }
\ No newline at end of file
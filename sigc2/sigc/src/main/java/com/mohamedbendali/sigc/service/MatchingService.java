@@ -0,0 +1,30 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.dto.DuplicateClusterDTO;
+import com.mohamedbendali.sigc.dto.SkillMatchDTO;
+import com.mohamedbendali.sigc.dto.TextMatchDTO;
+
+import java.util.List;
+
+public interface MatchingService {
+
+    // Meilleurs candidats pour une offre publiée (recruteur)
+    List<SkillMatchDTO> findBestCandidates(Long offerId, int limit);
+
+    // Offres publiées les mieux adaptées aux compétences d'un candidat
+    List<SkillMatchDTO> findMatchingOffers(Long candidateId, int limit);
+
+    List<SkillMatchDTO> findMatchingOffersByEmail(String email, int limit); // Candidat connecté
+
+    // Candidatures d'une offre classées par pertinence de la lettre de motivation (TF-IDF)
+    List<TextMatchDTO> rankApplicationsByRelevance(Long offerId, int limit);
+
+    // Offres publiées au texte le plus proche de celui de l'offre
+    List<TextMatchDTO> findSimilarOffers(Long offerId, int limit);
+
+    // Quasi-doublons de l'offre (tous statuts), score = similarité estimée
+    List<TextMatchDTO> findDuplicateOffers(Long offerId);
+
+    // Groupes de quasi-doublons sur tout le catalogue, les plus grands d'abord (administration)
+    List<DuplicateClusterDTO> findDuplicateClusters(int limit);
+}
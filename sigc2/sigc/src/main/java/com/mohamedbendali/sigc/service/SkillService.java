@@ -1,6 +1,8 @@
 package com.mohamedbendali.sigc.service;
 
 import com.mohamedbendali.sigc.dto.SkillDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.enums.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,6 +21,8 @@ public interface SkillService {
 
     Page<SkillDTO> findAll(Pageable pageable);
 
+    SliceResponse<SkillDTO> findAllSlice(Pageable pageable, CountMode countMode); // Sans COUNT(*) exact
+
     List<SkillDTO> searchSkills(String name);
 
     void deleteSkill(Long id);
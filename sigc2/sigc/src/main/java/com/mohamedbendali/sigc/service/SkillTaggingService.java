@@ -0,0 +1,21 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.dto.SkillBackfillReportDTO;
+import com.mohamedbendali.sigc.dto.SkillSuggestionDTO;
+
+import java.util.List;
+
+public interface SkillTaggingService {
+
+    // Compétences du référentiel reconnues dans un texte libre (noms et synonymes)
+    List<SkillSuggestionDTO> tagText(String text);
+
+    // Compétences reconnues dans le titre et la description de l'offre mais pas encore requises
+    List<SkillSuggestionDTO> suggestSkillsForOffer(Long offerId);
+
+    // Ajoute à l'offre les compétences suggérées et retourne celles qui ont été ajoutées
+    List<SkillSuggestionDTO> autoTagOffer(Long offerId);
+
+    // Marquage rétroactif de toutes les offres et lettres de motivation ; attach = false pour une simulation
+    SkillBackfillReportDTO backfill(boolean attach);
+}
@@ -0,0 +1,10 @@
+package com.mohamedbendali.sigc.service;
+
+import com.mohamedbendali.sigc.dto.StageDurationDTO;
+
+import java.util.List;
+
+// Durées par étape, lues uniquement dans les agrégats (jamais dans l'historique brut)
+public interface StageAnalyticsService {
+    List<StageDurationDTO> getStageDurations(Long offerId); // offerId null : toutes offres confondues
+}
@@ -2,11 +2,14 @@ package com.mohamedbendali.sigc.service;
 
 import com.mohamedbendali.sigc.dto.UserDTO; // Vous aurez besoin d'un DTO pour User aussi
 import com.mohamedbendali.sigc.entity.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService; // Important !
 
 import java.util.Optional;
 
-public interface UserService extends UserDetailsService { // Étend UserDetailsService
+// UserDetailsPasswordService : permet au DaoAuthenticationProvider de re-hacher un mot de passe
+// au login quand le coût BCrypt configuré augmente (security.password.bcrypt-strength)
+public interface UserService extends UserDetailsService, UserDetailsPasswordService { // Étend UserDetailsService
 
     // Méthode de UserDetailsService (déjà définie mais peut être redéclarée)
     // UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException;
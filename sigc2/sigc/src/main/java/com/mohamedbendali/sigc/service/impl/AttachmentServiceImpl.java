@@ -81,6 +81,8 @@ public class AttachmentServiceImpl implements AttachmentService {
 
         Attachment attachment = createAttachmentEntity(file, storedPath);
         attachment.setJobApplication(application); // Lier à l'application
+        // Les ETags des candidatures ne lisent que updatedAt : la liste des pièces jointes fait partie du DTO
+        application.setUpdatedAt(LocalDateTime.now());
 
         Attachment savedAttachment = attachmentRepository.save(attachment);
         log.info("File stored successfully for application ID {}. Attachment ID: {}, Path: {}", applicationId, savedAttachment.getId(), storedPath);
@@ -180,6 +182,9 @@ public class AttachmentServiceImpl implements AttachmentService {
 
             // 2. Supprimer l'enregistrement en base de données
             attachmentRepository.delete(attachment);
+            if (attachment.getJobApplication() != null) {
+                attachment.getJobApplication().setUpdatedAt(LocalDateTime.now()); // Change l'ETag de la candidature
+            }
             log.info("Attachment metadata deleted for ID: {}", attachmentId);
 
         } catch (Exception e) {
@@ -1,22 +1,47 @@
 package com.mohamedbendali.sigc.service.impl;
 
 import com.mohamedbendali.sigc.dto.CandidateDTO;
+import com.mohamedbendali.sigc.dto.CandidateSearchCriteria;
+import com.mohamedbendali.sigc.dto.CandidateSummaryDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.SliceResponse;
 import com.mohamedbendali.sigc.entity.Candidate;
-import com.mohamedbendali.sigc.entity.JobApplication;
 import com.mohamedbendali.sigc.entity.Skill;
 import com.mohamedbendali.sigc.entity.User; // Supposons que le User est créé séparément ou lié
+import com.mohamedbendali.sigc.enums.CountMode;
+import com.mohamedbendali.sigc.enums.SkillMatchMode;
+import com.mohamedbendali.sigc.event.CandidateSkillsChangedEvent;
+import com.mohamedbendali.sigc.exception.InvalidSearchCriteriaException;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
 import com.mohamedbendali.sigc.repository.CandidateRepository;
+import com.mohamedbendali.sigc.repository.CandidateSearchRepository;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.OfferStatusCountStore;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import com.mohamedbendali.sigc.repository.SkillRepository;
 import com.mohamedbendali.sigc.repository.UserRepository; // Pour lier User et Candidate
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import com.mohamedbendali.sigc.repository.projection.OwnedId;
 import com.mohamedbendali.sigc.service.CandidateService;
+import com.mohamedbendali.sigc.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +50,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CandidateServiceImpl implements CandidateService {
 
+    private static final int MIN_SEARCH_LENGTH = 3; // Un trigramme
+
     private final CandidateRepository candidateRepository;
+    private final CandidateSearchRepository candidateSearchRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final SkillRepository skillRepository;
     private final UserRepository userRepository; // Optionnel, si on lie ici
+    private final RowCountEstimator rowCountEstimator;
+    private final SkillResolver skillResolver;
+    private final OfferStatusCountStore offerStatusCountStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CandidateDTO createCandidate(CandidateDTO dto) {
@@ -47,9 +81,11 @@ public class CandidateServiceImpl implements CandidateService {
             candidate.setUser(user);
             // Potentiellement mettre à jour le user.setCandidateProfile(candidate) si la relation est bidirectionnelle gérée ici
         }
+        candidate.setSkills(skillResolver.resolve(dto.getSkillNames())); // Une requête pour tous les noms
         candidate.setCreatedAt(LocalDateTime.now()); // Assurer que la date est mise
         Candidate savedCandidate = candidateRepository.save(candidate);
         log.info("Candidate created successfully with ID: {}", savedCandidate.getId());
+        eventPublisher.publishEvent(new CandidateSkillsChangedEvent(savedCandidate.getId()));
         return convertToDto(savedCandidate);
     }
 
@@ -66,7 +102,10 @@ public class CandidateServiceImpl implements CandidateService {
         // Ne pas permettre la modification de l'email ici ? Ou vérifier l'unicité si modifié.
         // Gérer la mise à jour des compétences et du CV (resumePath)
         // candidate.setResumePath(dto.getResumePath()); // Probablement géré par un endpoint de fichier séparé
-        // Mettre à jour les compétences (logique plus complexe nécessaire)
+        if (dto.getSkillNames() != null) { // null = compétences inchangées
+            candidate.setSkills(skillResolver.resolve(dto.getSkillNames()));
+            eventPublisher.publishEvent(new CandidateSkillsChangedEvent(id)); // Index d'adéquation mis à jour après commit
+        }
 
         candidate.setUpdatedAt(LocalDateTime.now()); // Mise à jour manuelle si @PreUpdate n'est pas utilisé
         Candidate updatedCandidate = candidateRepository.save(candidate);
@@ -106,7 +145,79 @@ public class CandidateServiceImpl implements CandidateService {
     @Transactional(readOnly = true)
     public Page<CandidateDTO> getAllCandidates(Pageable pageable) {
         log.debug("Fetching all candidates, page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
-        return candidateRepository.findAll(pageable).map(this::convertToDto);
+        Page<Candidate> page = candidateRepository.findAll(pageable);
+        Map<Long, List<Long>> applicationIds = applicationIdsByCandidate(page.getContent());
+        return page.map(candidate -> convertToDto(candidate, applicationIds));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<CandidateDTO> getAllCandidatesSlice(Pageable pageable, CountMode countMode) {
+        Slice<Candidate> candidates = candidateRepository.findAllAsSlice(pageable);
+        Map<Long, List<Long>> applicationIds = applicationIdsByCandidate(candidates.getContent());
+        Slice<CandidateDTO> slice = candidates.map(candidate -> convertToDto(candidate, applicationIds));
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("candidates") : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CandidateDTO> getCandidatesKeyset(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<Candidate> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = candidateRepository.findAllByOrderByLastNameAscIdAsc(PageRequest.of(0, pageSize + 1));
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = candidateRepository.findAllAfter(position.key(), position.id(), pageSize + 1);
+        }
+        Map<Long, List<Long>> applicationIds = applicationIdsByCandidate(rows);
+        return CursorPage.of(rows, pageSize, candidate -> convertToDto(candidate, applicationIds),
+                candidate -> KeysetCursor.of(candidate.getLastName(), candidate.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CandidateSummaryDTO> searchCandidates(CandidateSearchCriteria criteria, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        String substring = criteria.getQuery() == null || criteria.getQuery().isBlank() ? null : criteria.getQuery().trim();
+        if (substring != null && substring.length() < MIN_SEARCH_LENGTH) { // En dessous, l'index trigramme ne filtre rien
+            throw new InvalidSearchCriteriaException(
+                    String.format("La recherche doit contenir au moins %d caractères", MIN_SEARCH_LENGTH));
+        }
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && criteria.getCreatedFrom().isAfter(criteria.getCreatedTo())) {
+            throw new InvalidSearchCriteriaException("La date de début doit précéder la date de fin");
+        }
+
+        Set<Long> skillIds = null;
+        SkillMatchMode skillMode = criteria.getSkillMode() != null ? criteria.getSkillMode() : SkillMatchMode.ALL;
+        if (criteria.getSkills() != null && !criteria.getSkills().isEmpty()) {
+            Set<String> names = criteria.getSkills().stream()
+                    .filter(name -> name != null && !name.isBlank())
+                    .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            skillIds = skillRepository.findIdNamesByLowerNameIn(names).stream().map(IdName::getId).collect(Collectors.toSet());
+            // Compétence inconnue : aucun candidat ne peut la posséder
+            boolean impossible = skillMode == SkillMatchMode.ALL ? skillIds.size() < names.size() : skillIds.isEmpty();
+            if (impossible) {
+                return new CursorPage<>(List.of(), null, false, 0);
+            }
+        }
+
+        CandidateSearchRepository.Filter filter = new CandidateSearchRepository.Filter(substring, skillIds, skillMode,
+                criteria.getApplicationStatuses(),
+                criteria.getCreatedFrom() != null ? criteria.getCreatedFrom().atStartOfDay() : null,
+                criteria.getCreatedTo() != null ? criteria.getCreatedTo().plusDays(1).atStartOfDay() : null);
+        List<CandidateSummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = candidateSearchRepository.search(filter, null, null, pageSize + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = candidateSearchRepository.search(filter, position.keyAsDateTime(), position.id(), pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, Function.identity(),
+                candidate -> KeysetCursor.of(candidate.getCreatedAt(), candidate.getId()));
     }
 
     @Override
@@ -116,13 +227,21 @@ public class CandidateServiceImpl implements CandidateService {
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate", "id", id));
         // Ajouter logique de nettoyage si nécessaire (ex: anonymiser candidatures?)
         // Attention aux contraintes de clé étrangère et aux cascades.
+        // Les candidatures partent en cascade sans événement : compteurs du tableau de bord décrémentés avant
+        offerStatusCountStore.subtractApplicationsOfCandidate(id);
         candidateRepository.delete(candidate);
+        eventPublisher.publishEvent(new CandidateSkillsChangedEvent(id));
         log.info("Candidate deleted successfully with ID: {}", id);
     }
 
     // --- Méthodes de Mapping (privées ou dans une classe Mapper) ---
 
     private CandidateDTO convertToDto(Candidate candidate) {
+        return convertToDto(candidate, applicationIdsByCandidate(List.of(candidate)));
+    }
+
+    // Compétences : @BatchSize sur Candidate.skills ; candidatures : identifiants seuls, lus par applicationIdsByCandidate
+    private CandidateDTO convertToDto(Candidate candidate, Map<Long, List<Long>> applicationIds) {
         if (candidate == null) return null;
         CandidateDTO dto = new CandidateDTO();
         dto.setId(candidate.getId());
@@ -137,13 +256,20 @@ public class CandidateServiceImpl implements CandidateService {
         if (candidate.getSkills() != null) {
             dto.setSkillNames(candidate.getSkills().stream().map(Skill::getName).collect(Collectors.toSet()));
         }
-        // Mapper les IDs des applications (simple liste d'IDs)
-        if (candidate.getApplications() != null) {
-            dto.setApplicationIds(candidate.getApplications().stream().map(JobApplication::getId).collect(Collectors.toList()));
-        }
+        dto.setApplicationIds(applicationIds.getOrDefault(candidate.getId(), new ArrayList<>()));
         return dto;
     }
 
+    // Une seule requête pour les identifiants de candidatures de tous les candidats, sans charger les entités
+    private Map<Long, List<Long>> applicationIdsByCandidate(List<Candidate> candidates) {
+        List<Long> candidateIds = candidates.stream().map(Candidate::getId).filter(Objects::nonNull).toList();
+        if (candidateIds.isEmpty()) {
+            return Map.of();
+        }
+        return applicationRepository.findIdsByCandidateIdIn(candidateIds).stream()
+                .collect(Collectors.groupingBy(OwnedId::getOwnerId, Collectors.mapping(OwnedId::getId, Collectors.toList())));
+    }
+
     private Candidate convertToEntity(CandidateDTO dto) {
         if (dto == null) return null;
         Candidate candidate = new Candidate();
@@ -7,16 +7,19 @@ import com.mohamedbendali.sigc.entity.JobApplication;
 import com.mohamedbendali.sigc.entity.Candidate; // Import ajouté
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
 import com.mohamedbendali.sigc.enums.InterviewStatus;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
 import com.mohamedbendali.sigc.exception.OperationNotAllowedException;
 import com.mohamedbendali.sigc.repository.ChatMessageRepository;
 import com.mohamedbendali.sigc.repository.InterviewRepository;
 import com.mohamedbendali.sigc.repository.JobApplicationRepository;
 import com.mohamedbendali.sigc.service.ChatService;
+import com.mohamedbendali.sigc.util.ETags;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -49,6 +52,7 @@ public class ChatServiceImpl implements ChatService {
     private final InterviewRepository interviewRepository;
     private final WebClient.Builder webClientBuilder;
     private final JobApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ChatMessageDTO processCandidateMessage(Long interviewId, String messageContent) {
@@ -234,6 +238,13 @@ public class ChatServiceImpl implements ChatService {
         return messages.stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getChatHistoryETag(Long interviewId) {
+        Long lastMessageId = chatMessageRepository.findLastMessageIdByInterviewId(interviewId);
+        return ETags.of("chat", interviewId, lastMessageId != null ? lastMessageId : 0);
+    }
+
     @Override
     @Transactional
     public Interview evaluateInterviewWithGemini(Long interviewId) {
@@ -275,9 +286,14 @@ public class ChatServiceImpl implements ChatService {
 
         JobApplication application = interview.getApplication();
         if (application != null) {
+            ApplicationStatus previousStatus = application.getStatus();
             application.setStatus(ApplicationStatus.INTERVIEW_COMPLETED);
             application.setUpdatedAt(LocalDateTime.now());
             applicationRepository.save(application);
+            if (previousStatus != ApplicationStatus.INTERVIEW_COMPLETED) { // Historique des statuts, outbox
+                eventPublisher.publishEvent(new ApplicationStatusChangedEvent(List.of(new ApplicationStatusChangedEvent.Change(
+                        application.getId(), application.getJobOffer().getId(), previousStatus, ApplicationStatus.INTERVIEW_COMPLETED))));
+            }
             log.info("JobApplication ID {} status updated to INTERVIEW_COMPLETED.", application.getId());
         } else {
             log.warn("Interview ID {} has no associated JobApplication to update status.", interviewId);
@@ -0,0 +1,63 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.config.CacheConfig;
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.OfferApplicationCountsDTO;
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.repository.OfferStatusCountStore;
+import com.mohamedbendali.sigc.service.DashboardService;
+import com.mohamedbendali.sigc.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardServiceImpl implements DashboardService {
+
+    private final OfferStatusCountStore offerStatusCountStore;
+
+    // Offre de la page avec sa position (created_at n'est pas exposé dans le DTO)
+    private record OfferCounts(OfferApplicationCountsDTO dto, LocalDateTime createdAt) {
+    }
+
+    @Override
+    // Première page uniquement (une entrée par filtre et taille) : c'est celle de chaque chargement du tableau de bord
+    @Cacheable(cacheNames = CacheConfig.OFFER_DASHBOARD,
+            key = "(#offerStatus != null ? #offerStatus.name() : 'ALL') + ':' + T(com.mohamedbendali.sigc.dto.CursorPage).clampSize(#size)",
+            condition = "#cursor == null or #cursor.isBlank()")
+    public CursorPage<OfferApplicationCountsDTO> getApplicationCountsByOffer(OfferStatus offerStatus, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterCreatedAt = position.keyAsDateTime();
+            afterId = position.id();
+        }
+
+        // Une seule requête ; les lignes d'une même offre sont regroupées ici, dans l'ordre de la requête
+        Map<Long, OfferCounts> byOffer = new LinkedHashMap<>();
+        for (OfferStatusCountStore.DashboardRow row
+                : offerStatusCountStore.findDashboardRows(offerStatus, afterCreatedAt, afterId, pageSize + 1)) {
+            OfferCounts offer = byOffer.computeIfAbsent(row.offerId(), id -> new OfferCounts(new OfferApplicationCountsDTO(
+                    id, row.title(), row.offerStatus(), new EnumMap<>(ApplicationStatus.class), 0), row.createdAt()));
+            if (row.status() != null) {
+                offer.dto().getCounts().put(row.status(), row.count());
+                offer.dto().setTotal(offer.dto().getTotal() + row.count());
+            }
+        }
+        return CursorPage.of(new ArrayList<>(byOffer.values()), pageSize, OfferCounts::dto,
+                offer -> KeysetCursor.of(offer.createdAt(), offer.dto().getOfferId()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import com.mohamedbendali.sigc.repository.ExportStore;
+import com.mohamedbendali.sigc.service.ExportService;
+import com.mohamedbendali.sigc.util.ExportWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true) // Curseur PostgreSQL : requiert une transaction (autocommit désactivé)
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private final ExportStore exportStore;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportApplicationsByOffer(Long offerId, ExportFormat format, OutputStream out) throws IOException {
+        long rows = export(format, out, ExportStore.APPLICATION_COLUMNS,
+                sink -> exportStore.streamApplicationsByOffer(offerId, sink));
+        log.info("Exported {} applications of offer {} as {}", rows, offerId, format);
+    }
+
+    @Override
+    public void exportCandidates(ExportFormat format, OutputStream out) throws IOException {
+        long rows = export(format, out, ExportStore.CANDIDATE_COLUMNS, exportStore::streamCandidates);
+        log.info("Exported {} candidates as {}", rows, format);
+    }
+
+    // Chaque ligne lue par le curseur est écrite aussitôt ; retourne le nombre de lignes
+    private long export(ExportFormat format, OutputStream out, List<String> columns, Consumer<Consumer<Object[]>> query)
+            throws IOException {
+        long[] rows = {0};
+        try (ExportWriter writer = ExportWriter.of(format, out, columns, objectMapper)) {
+            query.accept(row -> {
+                try {
+                    writer.write(row);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client déconnecté : le curseur est abandonné
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+}
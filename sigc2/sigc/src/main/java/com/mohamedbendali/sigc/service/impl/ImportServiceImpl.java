@@ -0,0 +1,330 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.dto.ImportReportDTO;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.CandidatesImportedEvent;
+import com.mohamedbendali.sigc.event.OffersImportedEvent;
+import com.mohamedbendali.sigc.repository.ImportStore;
+import com.mohamedbendali.sigc.service.ImportService;
+import com.mohamedbendali.sigc.util.ImportReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Import en masse d'offres et de candidats, pour l'arrivée d'un nouveau client.
+ *
+ * Le fichier est lu en flux par lots de import.chunk-size enregistrements. Pour chaque lot : analyse et validation
+ * en parallèle (erreurs rapportées par numéro de ligne), résolution de toutes les compétences du lot en une requête
+ * (SkillResolver), puis copie des lignes valides dans des tables temporaires par COPY (ImportStore).
+ * En fin de fichier, la fusion est ensembliste. Tout l'import est une seule transaction : les lignes valides sont
+ * chargées ensemble ou pas du tout. Un seul événement (OffersImportedEvent / CandidatesImportedEvent) remplace
+ * les événements par ligne : les index en mémoire sont reconstruits une fois, après le commit.
+ */
+@Service
+@Transactional
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9.\\-\\s()]+$"); // Même règle que Candidate.phone
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[,|]");
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    private final ImportStore importStore;
+    private final SkillResolver skillResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ImportServiceImpl(ImportStore importStore, SkillResolver skillResolver, ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             @Value("${import.chunk-size:5000}") int chunkSize,
+                             @Value("${import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.importStore = importStore;
+        this.skillResolver = skillResolver;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+    }
+
+    private record OfferInput(String title, String description, OfferStatus status, String salaryRange,
+                              LocalDateTime publicationDate, LocalDateTime expirationDate, List<String> skills) {
+    }
+
+    private record CandidateInput(String emailKey, String email, String firstName, String lastName, String phone,
+                                  List<String> skills) {
+    }
+
+    // Résultat de la validation d'un enregistrement : row ou error
+    private record Parsed<T>(long line, T row, String error) {
+    }
+
+    @Override
+    public ImportReportDTO importOffers(InputStream in, ExportFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReportDTO report = new ImportReportDTO();
+        importStore.createOfferStaging();
+        List<Long> offerIds = new ArrayList<>();
+        List<Long> publishedOfferIds = new ArrayList<>();
+
+        read(in, format, report, ImportServiceImpl::toOffer, chunk -> {
+            Map<String, Long> skillIds = resolveSkills(chunk, OfferInput::skills);
+            List<Parsed<OfferInput>> valid = withKnownSkills(chunk, OfferInput::skills, skillIds, report);
+            if (valid.isEmpty()) {
+                return;
+            }
+            List<Long> ids = importStore.nextOfferIds(valid.size());
+            List<ImportStore.OfferRow> rows = new ArrayList<>(valid.size());
+            List<ImportStore.OfferSkill> links = new ArrayList<>();
+            for (int i = 0; i < valid.size(); i++) {
+                OfferInput offer = valid.get(i).row();
+                long id = ids.get(i);
+                rows.add(new ImportStore.OfferRow(id, offer.title(), offer.description(), offer.status(), offer.salaryRange(),
+                        offer.publicationDate(), offer.expirationDate()));
+                offer.skills().forEach(name -> links.add(new ImportStore.OfferSkill(id, skillIds.get(SkillResolver.normalizeName(name)))));
+                offerIds.add(id);
+                if (offer.status() == OfferStatus.PUBLISHED) {
+                    publishedOfferIds.add(id);
+                }
+            }
+            importStore.stageOffers(rows, links);
+        });
+
+        if (!offerIds.isEmpty()) {
+            report.setInserted(importStore.mergeOffers(LocalDateTime.now()));
+            eventPublisher.publishEvent(new OffersImportedEvent(offerIds, publishedOfferIds));
+        }
+        return finish(report, start, "offers");
+    }
+
+    @Override
+    public ImportReportDTO importCandidates(InputStream in, ExportFormat format) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReportDTO report = new ImportReportDTO();
+        importStore.createCandidateStaging();
+        Map<String, Long> firstLineByEmail = new HashMap<>(); // Doublons dans le fichier : la première ligne l'emporte
+        boolean[] staged = {false};
+
+        read(in, format, report, ImportServiceImpl::toCandidate, chunk -> {
+            List<Parsed<CandidateInput>> unique = new ArrayList<>(chunk.size());
+            for (Parsed<CandidateInput> parsed : chunk) {
+                Long firstLine = firstLineByEmail.putIfAbsent(parsed.row().emailKey(), parsed.line());
+                if (firstLine != null) {
+                    reject(report, parsed.line(), "Email " + parsed.row().email() + " déjà présent ligne " + firstLine);
+                } else {
+                    unique.add(parsed);
+                }
+            }
+            Map<String, Long> skillIds = resolveSkills(unique, CandidateInput::skills);
+            List<Parsed<CandidateInput>> valid = withKnownSkills(unique, CandidateInput::skills, skillIds, report);
+            if (valid.isEmpty()) {
+                return;
+            }
+            List<ImportStore.CandidateRow> rows = new ArrayList<>(valid.size());
+            List<ImportStore.CandidateSkill> links = new ArrayList<>();
+            for (Parsed<CandidateInput> parsed : valid) {
+                CandidateInput candidate = parsed.row();
+                rows.add(new ImportStore.CandidateRow(candidate.emailKey(), candidate.email(), candidate.firstName(),
+                        candidate.lastName(), candidate.phone()));
+                candidate.skills().forEach(name ->
+                        links.add(new ImportStore.CandidateSkill(candidate.emailKey(), skillIds.get(SkillResolver.normalizeName(name)))));
+            }
+            importStore.stageCandidates(rows, links);
+            staged[0] = true;
+        });
+
+        if (staged[0]) {
+            ImportStore.CandidateMerge merge = importStore.mergeCandidates(LocalDateTime.now());
+            report.setInserted(merge.inserted());
+            report.setUpdated(merge.updated());
+            eventPublisher.publishEvent(new CandidatesImportedEvent(merge.candidateIds()));
+        }
+        return finish(report, start, "candidates");
+    }
+
+    /**
+     * Lit le fichier par lots ; la validation d'un lot est parallèle (ordre des lignes conservé),
+     * les lignes invalides sont rapportées et seules les lignes valides sont passées à {@code load}.
+     */
+    private <T> void read(InputStream in, ExportFormat format, ImportReportDTO report,
+                          Function<Map<String, String>, T> validate, Consumer<List<Parsed<T>>> load) throws IOException {
+        try (ImportReader reader = ImportReader.of(format, in, objectMapper)) {
+            List<ImportReader.Record> chunk = new ArrayList<>(chunkSize);
+            ImportReader.Record record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    load.accept(validate(chunk, validate, report));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                load.accept(validate(chunk, validate, report));
+            }
+        }
+    }
+
+    private <T> List<Parsed<T>> validate(List<ImportReader.Record> chunk, Function<Map<String, String>, T> validate,
+                                         ImportReportDTO report) {
+        report.setLinesRead(report.getLinesRead() + chunk.size());
+        List<Parsed<T>> parsed = chunk.parallelStream().map(record -> {
+            try {
+                return new Parsed<T>(record.line(), validate.apply(record.fields()), null);
+            } catch (IllegalArgumentException e) {
+                return new Parsed<T>(record.line(), null, e.getMessage());
+            }
+        }).toList();
+        List<Parsed<T>> valid = new ArrayList<>(parsed.size());
+        for (Parsed<T> row : parsed) {
+            if (row.error() != null) {
+                reject(report, row.line(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    // Une ligne qui cite une compétence inconnue (création automatique désactivée) est rejetée
+    private <T> List<Parsed<T>> withKnownSkills(List<Parsed<T>> rows, Function<T, List<String>> skills,
+                                                Map<String, Long> skillIds, ImportReportDTO report) {
+        List<Parsed<T>> valid = new ArrayList<>(rows.size());
+        for (Parsed<T> row : rows) {
+            List<String> unknown = skills.apply(row.row()).stream()
+                    .filter(name -> !skillIds.containsKey(SkillResolver.normalizeName(name)))
+                    .toList();
+            if (unknown.isEmpty()) {
+                valid.add(row);
+            } else {
+                reject(report, row.line(), "Compétence(s) inconnue(s) : " + String.join(", ", unknown));
+            }
+        }
+        return valid;
+    }
+
+    // Une requête pour toutes les compétences du lot (aucune pour les noms déjà dans le cache de SkillResolver)
+    private <T> Map<String, Long> resolveSkills(List<Parsed<T>> rows, Function<T, List<String>> skills) {
+        Set<String> names = new LinkedHashSet<>();
+        rows.forEach(row -> names.addAll(skills.apply(row.row())));
+        return names.isEmpty() ? Map.of() : skillResolver.resolveIds(names);
+    }
+
+    private void reject(ImportReportDTO report, long line, String message) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportReportDTO.LineError(line, message));
+        }
+    }
+
+    private ImportReportDTO finish(ImportReportDTO report, long start, String entity) {
+        report.getErrors().sort(Comparator.comparingLong(ImportReportDTO.LineError::getLine));
+        report.setElapsedMs(System.currentTimeMillis() - start);
+        log.info("Import of {} done: {} lines read, {} inserted, {} updated, {} rejected in {} ms", entity,
+                report.getLinesRead(), report.getInserted(), report.getUpdated(), report.getRejected(), report.getElapsedMs());
+        return report;
+    }
+
+    // --- Validation et normalisation (exécutées en parallèle : sans état partagé) ---
+
+    private static OfferInput toOffer(Map<String, String> fields) {
+        String title = text(fields, "title", 200, true);
+        String description = text(fields, "description", Integer.MAX_VALUE, false);
+        String statusText = text(fields, "status", 20, false);
+        OfferStatus status;
+        try {
+            status = statusText == null ? OfferStatus.DRAFT : OfferStatus.valueOf(statusText.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Statut inconnu : " + statusText + " (attendu : " + Arrays.toString(OfferStatus.values()) + ")");
+        }
+        LocalDateTime publicationDate = dateTime(fields, "publicationDate", LocalTime.MIDNIGHT);
+        if (status == OfferStatus.PUBLISHED && publicationDate == null) {
+            publicationDate = LocalDateTime.now(); // Comme à la publication d'une offre existante
+        }
+        return new OfferInput(title, description, status, text(fields, "salaryRange", 255, false), publicationDate,
+                dateTime(fields, "expirationDate", END_OF_DAY), skills(fields));
+    }
+
+    private static CandidateInput toCandidate(Map<String, String> fields) {
+        String email = text(fields, "email", 100, true);
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("Email invalide : " + email);
+        }
+        String phone = text(fields, "phone", 20, false);
+        if (phone != null && !PHONE_PATTERN.matcher(phone).matches()) {
+            throw new IllegalArgumentException("Format de téléphone invalide : " + phone);
+        }
+        return new CandidateInput(email.toLowerCase(Locale.ROOT), email, text(fields, "firstName", 100, true),
+                text(fields, "lastName", 100, true), phone, skills(fields));
+    }
+
+    private static String text(Map<String, String> fields, String column, int maxLength, boolean required) {
+        String value = fields.get(ImportReader.columnKey(column));
+        value = value != null ? value.trim() : null;
+        if (value == null || value.isEmpty()) {
+            if (required) {
+                throw new IllegalArgumentException("Colonne " + column + " obligatoire");
+            }
+            return null;
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(String.format("Colonne %s : %d caractères au maximum", column, maxLength));
+        }
+        return value;
+    }
+
+    // Date seule (2025-06-30) ou date et heure ISO (2025-06-30T18:00) ; une date seule prend l'heure timeOfDay
+    private static LocalDateTime dateTime(Map<String, String> fields, String column, LocalTime timeOfDay) {
+        String value = text(fields, column, 40, false);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atTime(timeOfDay) : LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Colonne " + column + " : date invalide " + value + " (attendu : AAAA-MM-JJ)");
+        }
+    }
+
+    // Noms séparés par "," ou "|", sans doublon (casse ignorée), orthographe saisie conservée pour la création automatique
+    private static List<String> skills(Map<String, String> fields) {
+        String value = fields.get("skills");
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        Map<String, String> names = new HashMap<>();
+        List<String> skills = new ArrayList<>();
+        for (String name : SKILL_SEPARATOR.split(value)) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty() && names.putIfAbsent(SkillResolver.normalizeName(trimmed), trimmed) == null) {
+                skills.add(trimmed);
+            }
+        }
+        return skills;
+    }
+}
@@ -7,6 +7,8 @@ import com.mohamedbendali.sigc.entity.Interview;
 import com.mohamedbendali.sigc.entity.JobApplication;
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
 import com.mohamedbendali.sigc.enums.InterviewStatus;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.event.InterviewCompletedEvent;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
 import com.mohamedbendali.sigc.exception.OperationNotAllowedException;
 import com.mohamedbendali.sigc.repository.InterviewRepository;
@@ -15,6 +17,7 @@ import com.mohamedbendali.sigc.service.InterviewService;
 import com.mohamedbendali.sigc.service.ChatService; // Peut être injecté pour initier le chat
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,7 @@ public class InterviewServiceImpl implements InterviewService {
 
     private final InterviewRepository interviewRepository;
     private final JobApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
     // private final ChatService chatService; // Optionnel: pour initier le chat lors du start
 
     @Override
@@ -54,8 +58,10 @@ public class InterviewServiceImpl implements InterviewService {
         Interview savedInterview = interviewRepository.save(interview);
 
         // Mettre à jour le statut de la candidature
+        ApplicationStatus previousStatus = application.getStatus();
         application.setStatus(ApplicationStatus.INTERVIEW_SCHEDULED);
         applicationRepository.save(application);
+        publishStatusChange(application, previousStatus);
 
         log.info("Interview scheduled successfully with ID: {} for application ID: {}", savedInterview.getId(), applicationId);
         return convertToDto(savedInterview);
@@ -103,8 +109,12 @@ public class InterviewServiceImpl implements InterviewService {
         // Mettre à jour le statut de la candidature ? Ex: INTERVIEW_COMPLETED
         JobApplication application = interview.getApplication();
         if (application != null) {
+            ApplicationStatus previousStatus = application.getStatus();
             application.setStatus(ApplicationStatus.INTERVIEW_COMPLETED); // Ou autre statut post-entretien
             applicationRepository.save(application);
+            publishStatusChange(application, previousStatus);
+            // Notifications et autres effets de bord : outbox, après commit (OutboxRecorder)
+            eventPublisher.publishEvent(new InterviewCompletedEvent(updatedInterview.getId(), application.getId(), score));
         }
 
         log.info("Interview completed successfully for ID: {}", updatedInterview.getId());
@@ -132,6 +142,7 @@ public class InterviewServiceImpl implements InterviewService {
         if (application != null && application.getStatus() == ApplicationStatus.INTERVIEW_SCHEDULED) {
             application.setStatus(ApplicationStatus.UNDER_REVIEW); // Revenir en arrière ? Logique à définir
             applicationRepository.save(application);
+            publishStatusChange(application, ApplicationStatus.INTERVIEW_SCHEDULED);
         }
 
         log.info("Interview cancelled successfully for ID: {}", updatedInterview.getId());
@@ -158,6 +169,13 @@ public class InterviewServiceImpl implements InterviewService {
 
     // --- Méthodes de Mapping ---
 
+    private void publishStatusChange(JobApplication application, ApplicationStatus previousStatus) {
+        if (previousStatus != application.getStatus()) {
+            eventPublisher.publishEvent(new ApplicationStatusChangedEvent(List.of(new ApplicationStatusChangedEvent.Change(
+                    application.getId(), application.getJobOffer().getId(), previousStatus, application.getStatus()))));
+        }
+    }
+
     private InterviewDTO convertToDto(Interview interview) {
         if (interview == null) return null;
         InterviewDTO dto = new InterviewDTO();
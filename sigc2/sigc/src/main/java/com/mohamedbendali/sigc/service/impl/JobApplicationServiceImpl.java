@@ -1,24 +1,47 @@
 package com.mohamedbendali.sigc.service.impl;
 
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateRequest;
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateResultDTO;
+import com.mohamedbendali.sigc.dto.CursorPage;
 import com.mohamedbendali.sigc.dto.JobApplicationDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
 import com.mohamedbendali.sigc.entity.*;
 import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.CountMode;
 import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.enums.StatusUpdateOutcome;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.event.JobApplicationCreatedEvent;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
 import com.mohamedbendali.sigc.exception.OperationNotAllowedException; // Nouvelle exception possible
+import com.mohamedbendali.sigc.repository.ApplicationStatusStore;
 import com.mohamedbendali.sigc.repository.CandidateRepository;
 import com.mohamedbendali.sigc.repository.JobApplicationRepository;
 import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import com.mohamedbendali.sigc.repository.projection.ApplicationListRow;
 import com.mohamedbendali.sigc.service.JobApplicationService;
+import com.mohamedbendali.sigc.stats.OfferStatsCounter;
+import com.mohamedbendali.sigc.util.ETags;
+import com.mohamedbendali.sigc.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +53,13 @@ public class JobApplicationServiceImpl implements JobApplicationService {
     private final JobApplicationRepository applicationRepository;
     private final CandidateRepository candidateRepository;
     private final JobOfferRepository offerRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final OfferStatsCounter offerStatsCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationStatusStore statusStore;
+
+    @Value("${applications.bulk.max-size:1000}")
+    private int bulkMaxSize;
 
     @Override
     public JobApplicationDTO createApplication(JobApplicationDTO dto) {
@@ -46,6 +76,11 @@ public class JobApplicationServiceImpl implements JobApplicationService {
             log.warn("Attempted to apply for a non-published offer ID: {}", offer.getId());
             throw new OperationNotAllowedException("Cannot apply to an offer that is not published.");
         }
+        // Date d'expiration passée : refusée même si OfferExpirationSweeper ne l'a pas encore fermée
+        if (offer.getExpirationDate() != null && !offer.getExpirationDate().isAfter(LocalDateTime.now())) {
+            log.warn("Attempted to apply for an expired offer ID: {}", offer.getId());
+            throw new OperationNotAllowedException("Cannot apply to an offer that has expired.");
+        }
 
         // Vérifier si le candidat a déjà postulé à cette offre ?
         // boolean alreadyApplied = applicationRepository.existsByCandidateIdAndJobOfferId(candidate.getId(), offer.getId());
@@ -60,6 +95,8 @@ public class JobApplicationServiceImpl implements JobApplicationService {
 
         JobApplication savedApplication = applicationRepository.save(application);
         log.info("JobApplication created successfully with ID: {}", savedApplication.getId());
+        offerStatsCounter.recordApplication(offer.getId()); // Compté après commit
+        eventPublisher.publishEvent(new JobApplicationCreatedEvent(savedApplication.getId(), offer.getId()));
         return convertToDto(savedApplication);
     }
 
@@ -77,8 +114,8 @@ public class JobApplicationServiceImpl implements JobApplicationService {
     public List<JobApplicationDTO> getApplicationsByCandidateId(Long candidateId) {
         log.debug("Fetching applications for candidate ID: {}", candidateId);
         // Vérifier si le candidat existe? Pas forcément nécessaire si on retourne juste une liste vide.
-        List<JobApplication> applications = applicationRepository.findByCandidateId(candidateId);
-        return applications.stream().map(this::convertToDto).collect(Collectors.toList());
+        return applicationRepository.findRowsByCandidateId(candidateId).stream()
+                .map(this::convertRowToDto).collect(Collectors.toList());
     }
 
     @Override
@@ -86,7 +123,7 @@ public class JobApplicationServiceImpl implements JobApplicationService {
     public Page<JobApplicationDTO> getApplicationsByOfferId(Long offerId, Pageable pageable) {
         log.debug("Fetching applications for offer ID: {}, page: {}, size: {}", offerId, pageable.getPageNumber(), pageable.getPageSize());
         // Vérifier si l'offre existe?
-        return applicationRepository.findByJobOfferId(offerId, pageable).map(this::convertToDto);
+        return applicationRepository.findRowsByJobOfferId(offerId, pageable).map(this::convertRowToDto);
     }
 
     @Override
@@ -95,16 +132,80 @@ public class JobApplicationServiceImpl implements JobApplicationService {
         JobApplication application = applicationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JobApplication", "id", id));
 
-        // Ajouter une logique de validation de transition de statut si nécessaire
-        // Ex: On ne peut pas passer de REJECTED à INTERVIEW_SCHEDULED directement
+        // Mêmes règles que la mise à jour groupée (ApplicationStatus.canTransitionTo)
+        ApplicationStatus previousStatus = application.getStatus();
+        if (previousStatus == status) {
+            return convertToDto(application);
+        }
+        if (!previousStatus.canTransitionTo(status)) {
+            log.warn("Rejected status transition {} -> {} for application ID: {}", previousStatus, status, id);
+            throw new OperationNotAllowedException("Cannot change application status from " + previousStatus + " to " + status);
+        }
         application.setStatus(status);
         application.setUpdatedAt(LocalDateTime.now());
         JobApplication updatedApplication = applicationRepository.save(application);
         log.info("Application status updated successfully for ID: {}", updatedApplication.getId());
-        // Envoyer une notification au candidat ?
+        publishStatusChange(updatedApplication, previousStatus); // Notification au candidat : outbox (OutboxRecorder)
         return convertToDto(updatedApplication);
     }
 
+    @Override
+    public BulkStatusUpdateResultDTO updateApplicationStatuses(BulkStatusUpdateRequest request) {
+        ApplicationStatus target = request.getStatus();
+        boolean byIds = request.getApplicationIds() != null && !request.getApplicationIds().isEmpty();
+        if (byIds == (request.getOfferId() != null)) {
+            throw new OperationNotAllowedException("Provide either applicationIds or an offerId filter, not both.");
+        }
+
+        // Ordre de la demande conservé, doublons ignorés
+        Set<Long> requestedIds;
+        List<ApplicationStatusStore.CurrentStatus> current;
+        if (byIds) {
+            requestedIds = new LinkedHashSet<>(request.getApplicationIds());
+            requestedIds.remove(null);
+            if (requestedIds.size() > bulkMaxSize) {
+                throw new OperationNotAllowedException("At most " + bulkMaxSize + " applications can be updated at once.");
+            }
+            current = requestedIds.isEmpty() ? List.of() : statusStore.lockByIds(requestedIds);
+        } else {
+            current = statusStore.lockByOffer(request.getOfferId(), request.getCurrentStatus(), bulkMaxSize + 1);
+            if (current.size() > bulkMaxSize) {
+                throw new OperationNotAllowedException("The filter matches more than " + bulkMaxSize + " applications.");
+            }
+            requestedIds = current.stream().map(ApplicationStatusStore.CurrentStatus::id)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        // Validation des transitions en mémoire, puis une seule instruction UPDATE
+        Map<Long, ApplicationStatusStore.CurrentStatus> currentById = current.stream()
+                .collect(Collectors.toMap(ApplicationStatusStore.CurrentStatus::id, Function.identity()));
+        List<BulkStatusUpdateResultDTO.Outcome> outcomes = new ArrayList<>(requestedIds.size());
+        List<ApplicationStatusChangedEvent.Change> changes = new ArrayList<>();
+        for (Long id : requestedIds) {
+            ApplicationStatusStore.CurrentStatus row = currentById.get(id);
+            StatusUpdateOutcome outcome;
+            if (row == null) {
+                outcome = StatusUpdateOutcome.NOT_FOUND;
+            } else if (row.status() == target) {
+                outcome = StatusUpdateOutcome.UNCHANGED;
+            } else if (!row.status().canTransitionTo(target)) {
+                outcome = StatusUpdateOutcome.INVALID_TRANSITION;
+            } else {
+                outcome = StatusUpdateOutcome.UPDATED;
+                changes.add(new ApplicationStatusChangedEvent.Change(id, row.offerId(), row.status(), target));
+            }
+            outcomes.add(new BulkStatusUpdateResultDTO.Outcome(id, row != null ? row.status() : null, outcome));
+        }
+
+        statusStore.updateStatus(changes.stream().map(ApplicationStatusChangedEvent.Change::applicationId).toList(),
+                target, LocalDateTime.now());
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new ApplicationStatusChangedEvent(changes));
+        }
+        log.info("Bulk status update to {}: {} requested, {} updated", target, requestedIds.size(), changes.size());
+        return new BulkStatusUpdateResultDTO(target, requestedIds.size(), changes.size(), outcomes);
+    }
+
     @Override
     public void withdrawApplication(Long id) {
         log.debug("Withdrawing application ID: {}", id);
@@ -118,10 +219,95 @@ public class JobApplicationServiceImpl implements JobApplicationService {
             throw new OperationNotAllowedException("Cannot withdraw an application with status " + application.getStatus());
         }
 
+        ApplicationStatus previousStatus = application.getStatus();
         application.setStatus(ApplicationStatus.WITHDRAWN);
         application.setUpdatedAt(LocalDateTime.now());
         applicationRepository.save(application);
         log.info("Application withdrawn successfully for ID: {}", id);
+        publishStatusChange(application, previousStatus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<JobApplicationDTO> getApplicationsByStatus(ApplicationStatus status, Pageable pageable) {
+        log.debug("Fetching applications with status: {}, page: {}, size: {}", status, pageable.getPageNumber(), pageable.getPageSize());
+        return applicationRepository.findRowsByStatus(status, pageable).map(this::convertRowToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<JobApplicationDTO> getApplicationsByOfferIdSlice(Long offerId, Pageable pageable, CountMode countMode) {
+        Slice<JobApplicationDTO> slice = applicationRepository.findRowSliceByJobOfferId(offerId, pageable).map(this::convertRowToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("job_applications", "offer_id", offerId) : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<JobApplicationDTO> getApplicationsByStatusSlice(ApplicationStatus status, Pageable pageable, CountMode countMode) {
+        Slice<JobApplicationDTO> slice = applicationRepository.findRowSliceByStatus(status, pageable).map(this::convertRowToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("job_applications", "status", status.name()) : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobApplicationDTO> getApplicationsByOfferIdKeyset(Long offerId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<ApplicationListRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = applicationRepository.findRowsByJobOfferIdFirst(offerId, pageSize + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = applicationRepository.findRowsByJobOfferIdAfter(offerId, position.keyAsDateTime(), position.id(), pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, this::convertRowToDto, this::cursorOf);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobApplicationDTO> getApplicationsByStatusKeyset(ApplicationStatus status, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<ApplicationListRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = applicationRepository.findRowsByStatusFirst(status.name(), pageSize + 1);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = applicationRepository.findRowsByStatusAfter(status.name(), position.keyAsDateTime(), position.id(), pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, this::convertRowToDto, this::cursorOf);
+    }
+
+    private void publishStatusChange(JobApplication application, ApplicationStatus previousStatus) {
+        if (previousStatus != application.getStatus()) {
+            eventPublisher.publishEvent(new ApplicationStatusChangedEvent(List.of(new ApplicationStatusChangedEvent.Change(
+                    application.getId(), application.getJobOffer().getId(), previousStatus, application.getStatus()))));
+        }
+    }
+
+    private KeysetCursor cursorOf(ApplicationListRow row) {
+        return KeysetCursor.of(row.getApplicationDate(), row.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getApplicationETag(Long id) {
+        // updatedAt : statut (planification d'entretien comprise) et pièces jointes (AttachmentServiceImpl)
+        return applicationRepository.findLastModifiedById(id)
+                .map(lastModified -> ETags.of("application", id, lastModified))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getApplicationsByOfferETag(Long offerId) {
+        return ETags.of("offer-applications", offerId, applicationRepository.findVersionStampByJobOfferId(offerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getApplicationsByCandidateETag(Long candidateId) {
+        return ETags.of("candidate-applications", candidateId, applicationRepository.findVersionStampByCandidateId(candidateId));
     }
 
     // --- Méthodes de Mapping ---
@@ -153,6 +339,29 @@ public class JobApplicationServiceImpl implements JobApplicationService {
         return dto;
     }
 
+    // Listes : ligne projetée, sans lettre de motivation (coverLetter reste null, voir getApplicationById)
+    private JobApplicationDTO convertRowToDto(ApplicationListRow row) {
+        JobApplicationDTO dto = new JobApplicationDTO();
+        dto.setId(row.getId());
+        dto.setStatus(row.getStatus());
+        dto.setApplicationDate(row.getApplicationDate());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setCandidateId(row.getCandidateId());
+        dto.setCandidateFullName(row.getCandidateFirstName() + " " + row.getCandidateLastName());
+        dto.setJobOfferId(row.getJobOfferId());
+        dto.setJobOfferTitle(row.getJobOfferTitle());
+        dto.setInterviewIds(parseIds(row.getInterviewIds()));
+        dto.setAttachmentIds(parseIds(row.getAttachmentIds()));
+        return dto;
+    }
+
+    private static List<Long> parseIds(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(ids.split(JobApplicationRepository.ID_LIST_SEPARATOR)).map(Long::valueOf).collect(Collectors.toList());
+    }
+
     // Pas besoin de convertToEntity ici car la création utilise directement les IDs du DTO
 }
 
@@ -1,21 +1,53 @@
 package com.mohamedbendali.sigc.service.impl;
 
+import com.mohamedbendali.sigc.config.CacheConfig;
+import com.mohamedbendali.sigc.dto.CursorPage;
+import com.mohamedbendali.sigc.dto.FacetCountDTO;
+import com.mohamedbendali.sigc.dto.FacetedOfferSearchDTO;
+import com.mohamedbendali.sigc.dto.JobOfferCardDTO;
 import com.mohamedbendali.sigc.dto.JobOfferDTO;
+import com.mohamedbendali.sigc.dto.OfferStatsDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
+import com.mohamedbendali.sigc.dto.SuggestionDTO;
 import com.mohamedbendali.sigc.entity.JobOffer;
 import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.enums.CountMode;
 import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.enums.SalaryBand;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
 import com.mohamedbendali.sigc.repository.JobOfferRepository;
-import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.repository.OfferStatsStore;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import com.mohamedbendali.sigc.repository.projection.OfferCardRow;
+import com.mohamedbendali.sigc.repository.projection.OfferSearchHit;
+import com.mohamedbendali.sigc.search.FacetSearchResult;
+import com.mohamedbendali.sigc.search.OfferFacetIndex;
+import com.mohamedbendali.sigc.search.TypeaheadService;
 import com.mohamedbendali.sigc.service.JobOfferService;
+import com.mohamedbendali.sigc.stats.OfferStatsCounter;
+import com.mohamedbendali.sigc.util.ETags;
+import com.mohamedbendali.sigc.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 // Importez un Mapper (ex: MapStruct) ou faites le mapping manuellement
 // import com.mohamedbendali.sigc.mapper.JobOfferMapper;
@@ -25,9 +57,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor // Injection via constructeur (Lombok)
 @Transactional // Transactionnel par défaut pour les méthodes publiques
 public class JobOfferServiceImpl implements JobOfferService {
-    private final SkillRepository skillRepository;
+    private static final int MAX_FACETED_PAGE_SIZE = 100;
+    private static final int MAX_SKILL_FACETS = 50; // Les compétences les plus fréquentes seulement
+
+    private final SkillResolver skillResolver;
 
     private final JobOfferRepository offerRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final OfferFacetIndex offerFacetIndex;
+    private final TypeaheadService typeaheadService;
+    private final OfferStatsStore offerStatsStore;
+    private final OfferStatsCounter offerStatsCounter;
+    private final ApplicationEventPublisher eventPublisher; // Invalidation des caches après commit
     // private final JobOfferMapper offerMapper; // Si vous utilisez MapStruct
 
     @Override
@@ -41,12 +82,11 @@ public class JobOfferServiceImpl implements JobOfferService {
         offer.setPublicationDate(dto.getPublicationDate());
         offer.setExpirationDate(dto.getExpirationDate());
 
-        Set<Skill> skills = dto.getRequiredSkillNames().stream()
-                .map(name -> skillRepository.findByNameIgnoreCase(name)
-                        .orElseThrow(() -> new ResourceNotFoundException("Skill", "name", name)))
-                .collect(Collectors.toSet());
+        offer.setRequiredSkills(skillResolver.resolve(dto.getRequiredSkillNames())); // Une requête pour tous les noms
 
         JobOffer savedOffer = offerRepository.save(offer);
+        eventPublisher.publishEvent(new JobOfferChangedEvent(savedOffer.getId(),
+                JobOfferChangedEvent.ChangeType.CREATED, null, savedOffer.getStatus()));
         return convertToDto(savedOffer);
     }
 
@@ -55,6 +95,7 @@ public class JobOfferServiceImpl implements JobOfferService {
     public JobOfferDTO updateOffer(Long id, JobOfferDTO dto) {
         JobOffer offer = offerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", id));
+        OfferStatus previousStatus = offer.getStatus();
         // Mapper les champs de dto vers offer
         offer.setTitle(dto.getTitle());
         offer.setDescription(dto.getDescription());
@@ -62,7 +103,10 @@ public class JobOfferServiceImpl implements JobOfferService {
         if (dto.getStatus() != null) { // S'assurer que le statut n'est pas null
             offer.setStatus(dto.getStatus());
         }
-        // ... autres champs (salaryRange, requirements, requiredSkillNames, dates) ...
+        if (dto.getRequiredSkillNames() != null) { // null = compétences inchangées
+            offer.setRequiredSkills(skillResolver.resolve(dto.getRequiredSkillNames()));
+        }
+        // ... autres champs (salaryRange, requirements, dates) ...
         // Si le statut passe à PUBLISHED et publicationDate est null, le mettre à jour ?
         if (dto.getStatus() == OfferStatus.PUBLISHED && offer.getPublicationDate() == null) {
             offer.setPublicationDate(LocalDateTime.now());
@@ -71,17 +115,140 @@ public class JobOfferServiceImpl implements JobOfferService {
 
         offer.setUpdatedAt(LocalDateTime.now()); // Assurer la mise à jour
         JobOffer updatedOffer = offerRepository.save(offer);
+        eventPublisher.publishEvent(new JobOfferChangedEvent(updatedOffer.getId(),
+                JobOfferChangedEvent.ChangeType.UPDATED, previousStatus, updatedOffer.getStatus()));
         return convertToDto(updatedOffer);
     }
 
     @Override
     @Transactional(readOnly = true) // Lecture seule, pas de transaction nécessaire
+    @Cacheable(cacheNames = CacheConfig.OFFER_DETAILS, key = "#id", sync = true) // Évincé par OfferCacheInvalidationListener
     public JobOfferDTO getOfferById(Long id) {
         JobOffer offer = offerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", id));
         return convertToDto(offer);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Servi par le trie en mémoire, aucun accès base
+    public List<SuggestionDTO> suggestOffers(String prefix, int limit) {
+        return typeaheadService.suggestOffers(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetedOfferSearchDTO searchOffersFaceted(Set<Long> skillIds, Set<String> categories, Set<SalaryBand> salaryBands,
+                                                     int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FACETED_PAGE_SIZE));
+        FacetSearchResult result = offerFacetIndex.search(skillIds, categories, salaryBands);
+
+        // Seules les offres de la page sont lues en base, dans l'ordre de l'index
+        List<Long> pageIds = result.pageIds(Math.max(page, 0), pageSize);
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        List<JobOfferDTO> content = pageIds.stream()
+                .map(offersById::get)
+                .filter(Objects::nonNull) // Offre supprimée entre-temps
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        List<FacetCountDTO> skillFacets = result.skillCounts().entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .limit(MAX_SKILL_FACETS)
+                .map(e -> new FacetCountDTO(String.valueOf(e.getKey()), result.skillNames().get(e.getKey()), e.getValue()))
+                .collect(Collectors.toList());
+        List<FacetCountDTO> categoryFacets = result.categoryCounts().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(e -> new FacetCountDTO(e.getKey(), e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        List<FacetCountDTO> salaryFacets = result.salaryBandCounts().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey()) // Ordre croissant des tranches
+                .map(e -> new FacetCountDTO(e.getKey().name(), e.getKey().name(), e.getValue()))
+                .collect(Collectors.toList());
+
+        return new FacetedOfferSearchDTO(content, Math.max(page, 0), pageSize, result.total(),
+                skillFacets, categoryFacets, salaryFacets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<JobOfferDTO> getOffersByStatusSlice(OfferStatus status, Pageable pageable, CountMode countMode) {
+        Slice<JobOfferDTO> slice = offerRepository.findSliceByStatus(status, pageable).map(this::convertToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("job_offers", "status", status.name()) : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<JobOfferDTO> getAllOffersSlice(Pageable pageable, CountMode countMode) {
+        Slice<JobOfferDTO> slice = offerRepository.findAllAsSlice(pageable).map(this::convertToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("job_offers") : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OfferStatsDTO getOfferStats(Long id) {
+        if (!offerRepository.existsById(id)) {
+            throw new ResourceNotFoundException("JobOffer", "id", id);
+        }
+        OfferStatsDTO stats = offerStatsStore.find(id);
+        long[] pending = offerStatsCounter.pending(id); // Incréments de cette instance pas encore vidés
+        stats.setViews(stats.getViews() + pending[0]);
+        stats.setApplications(stats.getApplications() + pending[1]);
+        stats.setApplyRate(stats.getViews() > 0 ? (double) stats.getApplications() / stats.getViews() : null);
+        return stats;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<JobOfferCardDTO> getPublishedOfferCards(Pageable pageable) {
+        // Tri fixe dans la requête native (created_at DESC, id DESC) : seul le découpage en pages est conservé
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return offerRepository.findCardsByStatus(OfferStatus.PUBLISHED.name(), LocalDateTime.now(), unsorted)
+                .map(this::convertToCard);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<JobOfferDTO> getPublishedOffersSlice(Pageable pageable, CountMode countMode) {
+        Slice<JobOfferDTO> slice = offerRepository.findNotExpiredSliceByStatus(OfferStatus.PUBLISHED, LocalDateTime.now(), pageable)
+                .map(this::convertToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED
+                ? rowCountEstimator.estimate("job_offers", "status", OfferStatus.PUBLISHED.name()) : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<JobOfferDTO> getPublishedOffersKeyset(String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        List<JobOffer> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = offerRepository.findNotExpiredByStatusFirstPage(OfferStatus.PUBLISHED, now, PageRequest.of(0, pageSize + 1));
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = offerRepository.findNotExpiredByStatusAfter(OfferStatus.PUBLISHED.name(), now,
+                    position.keyAsDateTime(), position.id(), pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, this::convertToDto, offer -> KeysetCursor.of(offer.getCreatedAt(), offer.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getOfferETag(Long id) {
+        return offerRepository.findLastModifiedById(id)
+                .map(lastModified -> ETags.of("offer", id, lastModified))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getPublishedOffersETag() {
+        return ETags.of("offers", OfferStatus.PUBLISHED, offerRepository.findVersionStampByStatus(OfferStatus.PUBLISHED, LocalDateTime.now()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<JobOfferDTO> getAllOffers(Pageable pageable) {
@@ -99,32 +266,71 @@ public class JobOfferServiceImpl implements JobOfferService {
         JobOffer offer = offerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", id));
         // Ajouter logique: vérifier si des candidatures existent avant de supprimer? Archiver plutôt?
+        OfferStatus previousStatus = offer.getStatus();
         offerRepository.delete(offer);
+        eventPublisher.publishEvent(new JobOfferChangedEvent(id,
+                JobOfferChangedEvent.ChangeType.DELETED, previousStatus, null));
     }
 
     @Override
     public JobOfferDTO updateOfferStatus(Long id, OfferStatus newStatus) {
         JobOffer offer = offerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", id));
+        OfferStatus previousStatus = offer.getStatus();
         offer.setStatus(newStatus);
         // Ajouter logique: si PUBLISHED, mettre à jour publicationDate?
         if (newStatus == OfferStatus.PUBLISHED && offer.getPublicationDate() == null) {
             // offer.setPublicationDate(java.time.LocalDateTime.now()); // Mise à jour date publication
         }
         JobOffer updatedOffer = offerRepository.save(offer);
+        eventPublisher.publishEvent(new JobOfferChangedEvent(updatedOffer.getId(),
+                JobOfferChangedEvent.ChangeType.STATUS_CHANGED, previousStatus, newStatus));
         return convertToDto(updatedOffer);
     }
 
     @Override
     @Transactional(readOnly = true)
+    // Pages publiques sans mot-clé uniquement ; les offres qui expirent en sortent au passage d'OfferExpirationSweeper
+    @Cacheable(cacheNames = CacheConfig.PUBLISHED_OFFER_PAGES,
+            key = "#pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort",
+            condition = "(#keyword == null or #keyword.isBlank())"
+                    + " and #status == T(com.mohamedbendali.sigc.enums.OfferStatus).PUBLISHED"
+                    + " and #pageable.pageNumber < " + CacheConfig.MAX_CACHED_PAGES)
     public Page<JobOfferDTO> searchOffers(String keyword, OfferStatus status, Pageable pageable) {
         // Implémenter la recherche par mot clé + statut
         if (keyword != null && !keyword.isBlank()) {
-            return offerRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCaseAndStatus(keyword, keyword, status, pageable)
-                    .map(this::convertToDto);
+            return searchFullText(keyword.trim(), status, pageable);
         } else {
-            return offerRepository.findByStatus(status, pageable).map(this::convertToDto);
+            // Liste publique : les offres expirées sont masquées sans attendre OfferExpirationSweeper
+            return offerRepository.findNotExpiredByStatus(status, LocalDateTime.now(), pageable).map(this::convertToDto);
+        }
+    }
+
+    // Recherche plein texte : 1) ids + score + extrait via l'index GIN, 2) chargement des offres de la page uniquement
+    private Page<JobOfferDTO> searchFullText(String keyword, OfferStatus status, Pageable pageable) {
+        // Les résultats sont triés par pertinence : on ignore le tri demandé (ex: createdAt) pour la requête native
+        Pageable byRelevance = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<OfferSearchHit> hits = offerRepository.searchFullText(keyword, status.name(), LocalDateTime.now(), byRelevance);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+        }
+
+        List<Long> ids = hits.getContent().stream().map(OfferSearchHit::getId).collect(Collectors.toList());
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+
+        List<JobOfferDTO> results = new ArrayList<>(hits.getNumberOfElements());
+        for (OfferSearchHit hit : hits.getContent()) {
+            JobOffer offer = offersById.get(hit.getId());
+            if (offer == null) {
+                continue; // Supprimée entre les deux requêtes
+            }
+            JobOfferDTO dto = convertToDto(offer);
+            dto.setSearchRank(hit.getRank());
+            dto.setSearchSnippet(hit.getSnippet());
+            results.add(dto);
         }
+        return new PageImpl<>(results, byRelevance, hits.getTotalElements());
     }
 
     // Méthode de conversion Manuelle (à remplacer par MapStruct idéalement)
@@ -135,11 +341,20 @@ public class JobOfferServiceImpl implements JobOfferService {
         dto.setDescription(offer.getDescription());
         dto.setStatus(offer.getStatus());
         dto.setRequirements(offer.getRequirements());
-        // Convertir Set<Skill> en Set<String> (noms)
+        // Convertir Set<Skill> en Set<String> (noms) ; chargé par lots (@BatchSize) dans les listes
+        if (offer.getRequiredSkills() != null) {
+            dto.setRequiredSkillNames(offer.getRequiredSkills().stream().map(Skill::getName).collect(Collectors.toSet()));
+        }
         dto.setSalaryRange(offer.getSalaryRange());
         dto.setPublicationDate(offer.getPublicationDate());
         dto.setExpirationDate(offer.getExpirationDate());
         dto.setCreatedAt(offer.getCreatedAt());
         return dto;
     }
+
+    private JobOfferCardDTO convertToCard(OfferCardRow row) {
+        List<String> skillNames = row.getSkillNames() == null ? List.of() : Arrays.asList(row.getSkillNames());
+        return new JobOfferCardDTO(row.getId(), row.getTitle(), row.getExcerpt(), OfferStatus.valueOf(row.getStatus()),
+                row.getSalaryRange(), row.getPublicationDate(), row.getExpirationDate(), row.getCreatedAt(), skillNames);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.DuplicateClusterDTO;
+import com.mohamedbendali.sigc.dto.SkillMatchDTO;
+import com.mohamedbendali.sigc.dto.TextMatchDTO;
+import com.mohamedbendali.sigc.entity.Candidate;
+import com.mohamedbendali.sigc.entity.JobApplication;
+import com.mohamedbendali.sigc.entity.JobOffer;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.CandidateRepository;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.search.DuplicateOfferDetector;
+import com.mohamedbendali.sigc.search.SkillMatch;
+import com.mohamedbendali.sigc.search.SkillMatchIndex;
+import com.mohamedbendali.sigc.search.TextMatch;
+import com.mohamedbendali.sigc.search.TextSimilarityIndex;
+import com.mohamedbendali.sigc.service.MatchingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class MatchingServiceImpl implements MatchingService {
+
+    private static final int MAX_MATCHES = 100;
+
+    private final SkillMatchIndex skillMatchIndex;
+    private final CandidateRepository candidateRepository;
+    private final JobOfferRepository offerRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final TextSimilarityIndex textSimilarityIndex;
+    private final DuplicateOfferDetector duplicateOfferDetector;
+
+    @Override
+    public List<SkillMatchDTO> findBestCandidates(Long offerId, int limit) {
+        if (!offerRepository.existsById(offerId)) {
+            throw new ResourceNotFoundException("JobOffer", "id", offerId);
+        }
+        List<SkillMatch> matches = skillMatchIndex.topCandidates(offerId, clamp(limit));
+        // Seuls les K candidats retenus sont lus en base, dans l'ordre du classement
+        Map<Long, Candidate> candidatesById = candidateRepository.findAllById(matches.stream().map(SkillMatch::id).toList())
+                .stream().collect(Collectors.toMap(Candidate::getId, Function.identity()));
+        return matches.stream()
+                .map(match -> {
+                    Candidate candidate = candidatesById.get(match.id());
+                    return candidate == null ? null // Supprimé entre-temps
+                            : toDto(match, candidate.getFirstName() + " " + candidate.getLastName());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SkillMatchDTO> findMatchingOffers(Long candidateId, int limit) {
+        if (!candidateRepository.existsById(candidateId)) {
+            throw new ResourceNotFoundException("Candidate", "id", candidateId);
+        }
+        List<SkillMatch> matches = skillMatchIndex.topOffers(candidateId, clamp(limit));
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(matches.stream().map(SkillMatch::id).toList())
+                .stream().collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> isOpen(offersById.get(match.id())))
+                .map(match -> toDto(match, offersById.get(match.id()).getTitle()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SkillMatchDTO> findMatchingOffersByEmail(String email, int limit) {
+        Candidate candidate = candidateRepository.findByEmailIgnoreCase(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Candidate", "email", email));
+        return findMatchingOffers(candidate.getId(), limit);
+    }
+
+    @Override
+    public List<TextMatchDTO> rankApplicationsByRelevance(Long offerId, int limit) {
+        JobOffer offer = offerRepository.findById(offerId)
+                .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", offerId));
+        List<TextMatch> matches = textSimilarityIndex.rankApplications(offerId,
+                TextSimilarityIndex.offerText(offer.getTitle(), offer.getDescription()), clamp(limit));
+        Map<Long, JobApplication> applicationsById = applicationRepository.findWithCandidateByIdIn(
+                        matches.stream().map(TextMatch::id).toList())
+                .stream().collect(Collectors.toMap(JobApplication::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> applicationsById.containsKey(match.id()))
+                .map(match -> {
+                    Candidate candidate = applicationsById.get(match.id()).getCandidate();
+                    return new TextMatchDTO(match.id(), candidate.getFirstName() + " " + candidate.getLastName(), match.score());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TextMatchDTO> findSimilarOffers(Long offerId, int limit) {
+        JobOffer offer = offerRepository.findById(offerId)
+                .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", offerId));
+        List<TextMatch> matches = textSimilarityIndex.similarOffers(
+                TextSimilarityIndex.offerText(offer.getTitle(), offer.getDescription()), clamp(limit), offerId);
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(matches.stream().map(TextMatch::id).toList())
+                .stream().collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> isOpen(offersById.get(match.id())))
+                .map(match -> new TextMatchDTO(match.id(), offersById.get(match.id()).getTitle(), match.score()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TextMatchDTO> findDuplicateOffers(Long offerId) {
+        if (!offerRepository.existsById(offerId)) {
+            throw new ResourceNotFoundException("JobOffer", "id", offerId);
+        }
+        List<TextMatch> matches = duplicateOfferDetector.duplicatesOf(offerId);
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(matches.stream().map(TextMatch::id).toList())
+                .stream().collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> offersById.containsKey(match.id()))
+                .map(match -> new TextMatchDTO(match.id(), offersById.get(match.id()).getTitle(), match.score()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<DuplicateClusterDTO> findDuplicateClusters(int limit) {
+        List<List<TextMatch>> clusters = duplicateOfferDetector.clusters().stream().limit(clamp(limit)).toList();
+        // Tous les titres des groupes retenus en une seule requête
+        Map<Long, JobOffer> offersById = offerRepository.findAllById(clusters.stream()
+                        .flatMap(List::stream).map(TextMatch::id).toList())
+                .stream().collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        return clusters.stream()
+                .map(cluster -> new DuplicateClusterDTO(cluster.get(0).id(), cluster.stream()
+                        .filter(match -> offersById.containsKey(match.id()))
+                        .map(match -> new TextMatchDTO(match.id(), offersById.get(match.id()).getTitle(), match.score()))
+                        .toList()))
+                .filter(cluster -> cluster.getOffers().size() > 1)
+                .collect(Collectors.toList());
+    }
+
+    // L'index peut garder une offre expirée jusqu'au passage d'OfferExpirationSweeper
+    private static boolean isOpen(JobOffer offer) {
+        return offer != null && offer.getStatus() == OfferStatus.PUBLISHED
+                && (offer.getExpirationDate() == null || offer.getExpirationDate().isAfter(LocalDateTime.now()));
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_MATCHES));
+    }
+
+    private static SkillMatchDTO toDto(SkillMatch match, String label) {
+        return new SkillMatchDTO(match.id(), label, match.score(), match.coverage(), match.matchedSkills(), match.requiredSkills());
+    }
+}
@@ -0,0 +1,176 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résolution par lot des noms de compétences (offres, profils candidats) en entités Skill.
+ * Un cache mémoire nom normalisé -> id évite toute requête pour les noms déjà connus ; les noms inconnus
+ * sont résolus ensemble par une seule requête IN sur lower(name) (index idx_skills_lower_name),
+ * puis les entités sont chargées par une seule requête sur les ids.
+ * Avec skills.auto-create=true, les noms absents sont créés en un seul lot au lieu de lever un 404.
+ */
+@Component
+@Slf4j
+public class SkillResolver {
+
+    private static final String INSERT_SKILL_SQL = "INSERT INTO skills (name) VALUES (?) ON CONFLICT DO NOTHING";
+
+    private final SkillRepository skillRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean autoCreate;
+
+    private final Map<String, Long> idsByNormalizedName = new ConcurrentHashMap<>();
+
+    public SkillResolver(SkillRepository skillRepository, JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                         @Value("${skills.auto-create:false}") boolean autoCreate) {
+        this.skillRepository = skillRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.autoCreate = autoCreate;
+    }
+
+    /**
+     * Résout les noms (casse et espaces ignorés) dans la transaction courante.
+     * @return les compétences correspondantes (ensemble vide si names est null ou vide).
+     * @throws ResourceNotFoundException si des noms sont inconnus et que la création automatique est désactivée.
+     */
+    public Set<Skill> resolve(Collection<String> names) {
+        return resolve(names, true);
+    }
+
+    /**
+     * Variante des imports en masse : ids par nom normalisé (voir normalizeName), sans charger les entités.
+     * Ne lève pas d'exception : un nom inconnu est absent du résultat (création automatique désactivée),
+     * et l'appelant rejette les lignes concernées.
+     */
+    public Map<String, Long> resolveIds(Collection<String> names) {
+        Map<String, String> requested = normalize(names);
+        Map<String, Long> ids = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : requested.keySet()) {
+            Long id = idsByNormalizedName.get(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            lookup(misses, ids, true);
+        }
+        List<String> unknown = requested.keySet().stream().filter(key -> !ids.containsKey(key)).toList();
+        if (!unknown.isEmpty() && autoCreate) {
+            createMissing(unknown.stream().map(requested::get).toList());
+            lookup(unknown, ids, false);
+        }
+        return ids;
+    }
+
+    private Set<Skill> resolve(Collection<String> names, boolean useCache) {
+        Map<String, String> requested = normalize(names); // Nom normalisé -> orthographe saisie
+        if (requested.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Map<String, Long> ids = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : requested.keySet()) {
+            Long id = useCache ? idsByNormalizedName.get(key) : null;
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (!misses.isEmpty()) {
+            lookup(misses, ids, true);
+        }
+
+        List<String> unknown = requested.keySet().stream().filter(key -> !ids.containsKey(key)).toList();
+        if (!unknown.isEmpty()) {
+            if (!autoCreate) {
+                throw new ResourceNotFoundException("Skill", "name",
+                        String.join(", ", unknown.stream().map(requested::get).toList()));
+            }
+            createMissing(unknown.stream().map(requested::get).toList());
+            lookup(unknown, ids, false); // Inclut les compétences créées en concurrence (ON CONFLICT DO NOTHING)
+        }
+
+        List<Skill> skills = skillRepository.findAllById(ids.values());
+        if (skills.size() < ids.size() && useCache) {
+            // Id du cache devenu obsolète (suppression non encore propagée) : on repart de la base
+            log.debug("Stale skill ids in resolver cache, clearing it");
+            idsByNormalizedName.clear();
+            return resolve(names, false);
+        }
+        return new HashSet<>(skills);
+    }
+
+    // Une seule requête IN pour tous les noms ; les compétences créées dans la transaction ne sont pas mises en cache
+    // (un rollback laisserait des ids inexistants)
+    private void lookup(List<String> keys, Map<String, Long> ids, boolean cache) {
+        for (IdName row : skillRepository.findIdNamesByLowerNameIn(keys)) {
+            String key = normalizeName(row.getName());
+            ids.putIfAbsent(key, row.getId());
+            if (cache) {
+                idsByNormalizedName.put(key, row.getId());
+            }
+        }
+    }
+
+    private void createMissing(List<String> names) {
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SKILL_SQL,
+                names.stream().map(name -> new Object[]{name}).toList());
+        log.info("Auto-created {} skill(s) out of {} unknown name(s)", Arrays.stream(inserted).filter(n -> n > 0).count(), names.size());
+        // Id inconnu ici : l'événement déclenche la reconstruction de l'autocomplétion après commit
+        eventPublisher.publishEvent(new SkillChangedEvent(null, SkillChangedEvent.ChangeType.CREATED));
+    }
+
+    // Renommage ou suppression : les correspondances nom -> id peuvent être fausses
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.getType() != SkillChangedEvent.ChangeType.CREATED) {
+            idsByNormalizedName.clear();
+        }
+    }
+
+    private static Map<String, String> normalize(Collection<String> names) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.isBlank()) {
+                    normalized.putIfAbsent(normalizeName(name), name.trim());
+                }
+            }
+        }
+        return normalized;
+    }
+
+    // Même normalisation que l'index lower(name) : les noms sont stockés sans espaces superflus
+    static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
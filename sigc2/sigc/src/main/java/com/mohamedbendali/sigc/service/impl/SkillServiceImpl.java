@@ -1,19 +1,29 @@
 package com.mohamedbendali.sigc.service.impl;
 
 import com.mohamedbendali.sigc.dto.SkillDTO;
+import com.mohamedbendali.sigc.dto.SliceResponse;
 import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.enums.CountMode;
+import com.mohamedbendali.sigc.event.SkillChangedEvent;
 import com.mohamedbendali.sigc.exception.DuplicateResourceException;
 import com.mohamedbendali.sigc.exception.OperationNotAllowedException;
 import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
 import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.search.TypeaheadService;
 import com.mohamedbendali.sigc.service.SkillService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,6 +35,10 @@ import java.util.stream.Collectors;
 public class SkillServiceImpl implements SkillService {
 
     private final SkillRepository skillRepository;
+    private final JobOfferRepository offerRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final TypeaheadService typeaheadService;
+    private final ApplicationEventPublisher eventPublisher; // Rafraîchissement des index en mémoire après commit
 
     @Override
     @Transactional(readOnly = true)
@@ -43,6 +57,7 @@ public class SkillServiceImpl implements SkillService {
         });
         Skill skill = convertToEntity(skillDto);
         Skill savedSkill = skillRepository.save(skill);
+        eventPublisher.publishEvent(new SkillChangedEvent(savedSkill.getId(), SkillChangedEvent.ChangeType.CREATED));
         log.info("Skill created successfully with ID: {}", savedSkill.getId());
         return convertToDto(savedSkill);
     }
@@ -60,9 +75,16 @@ public class SkillServiceImpl implements SkillService {
             }
         });
 
+        boolean renamed = !skill.getName().equals(skillDto.getName());
         skill.setName(skillDto.getName());
         skill.setCategory(skillDto.getCategory());
         Skill updatedSkill = skillRepository.save(skill);
+        if (renamed) {
+            // Le cache OFFER_DETAILS est vidé par l'événement, mais l'ETag ne dépend que de updated_at
+            int touched = offerRepository.touchBySkillId(id, LocalDateTime.now());
+            log.debug("Skill {} renamed, {} offers marked as modified", id, touched);
+        }
+        eventPublisher.publishEvent(new SkillChangedEvent(updatedSkill.getId(), SkillChangedEvent.ChangeType.UPDATED));
         log.info("Skill updated successfully with ID: {}", updatedSkill.getId());
         return convertToDto(updatedSkill);
     }
@@ -90,14 +112,18 @@ public class SkillServiceImpl implements SkillService {
 
     @Override
     @Transactional(readOnly = true)
+    public SliceResponse<SkillDTO> findAllSlice(Pageable pageable, CountMode countMode) {
+        Slice<SkillDTO> slice = skillRepository.findAllAsSlice(pageable).map(this::convertToDto);
+        Long estimatedTotal = countMode == CountMode.ESTIMATED ? rowCountEstimator.estimate("skills") : null;
+        return SliceResponse.of(slice, estimatedTotal);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Servi par le trie en mémoire, aucun accès base
     public List<SkillDTO> searchSkills(String name) {
-        log.debug("Searching skills with name containing: {}", name);
-        // Utiliser une méthode de repository comme findByNameContainingIgnoreCase si définie
-        // Pour l'instant, on filtre en mémoire (pas idéal pour de gros volumes)
-        return skillRepository.findAll().stream()
-                .filter(skill -> skill.getName().toLowerCase().contains(name.toLowerCase()))
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        log.debug("Searching skills with a word starting with: {}", name);
+        // Préfixe de mot, insensible à la casse et aux accents, les plus utilisées d'abord
+        return typeaheadService.suggestSkills(name, typeaheadService.getMaxSuggestions());
     }
 
 
@@ -112,6 +138,7 @@ public class SkillServiceImpl implements SkillService {
         // Pour l'instant, on essaie de supprimer directement.
         try {
             skillRepository.delete(skill);
+            eventPublisher.publishEvent(new SkillChangedEvent(id, SkillChangedEvent.ChangeType.DELETED));
             log.info("Skill deleted successfully with ID: {}", id);
         } catch (Exception e) {
             log.error("Could not delete skill ID {}. It might be in use.", id, e);
@@ -0,0 +1,186 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.SkillBackfillReportDTO;
+import com.mohamedbendali.sigc.dto.SkillSuggestionDTO;
+import com.mohamedbendali.sigc.entity.JobOffer;
+import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.CandidateSkillsChangedEvent;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.SkillLinkStore;
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.search.SkillTagger;
+import com.mohamedbendali.sigc.search.TextSimilarityIndex;
+import com.mohamedbendali.sigc.service.SkillTaggingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Marquage automatique des compétences (SkillTagger) appliqué aux offres et aux lettres de motivation.
+ * Le marquage rétroactif parcourt l'historique par lots de skills.tagging.backfill-batch-size documents :
+ * une transaction courte par lot, et les index en mémoire sont prévenus après le commit de chaque lot.
+ */
+@Service
+@Transactional
+@Slf4j
+public class SkillTaggingServiceImpl implements SkillTaggingService {
+
+    private final SkillTagger skillTagger;
+    private final JobOfferRepository offerRepository;
+    private final SkillRepository skillRepository;
+    private final SkillLinkStore skillLinkStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public SkillTaggingServiceImpl(SkillTagger skillTagger, JobOfferRepository offerRepository, SkillRepository skillRepository,
+                                   SkillLinkStore skillLinkStore, TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${skills.tagging.backfill-batch-size:500}") int batchSize) {
+        this.skillTagger = skillTagger;
+        this.offerRepository = offerRepository;
+        this.skillRepository = skillRepository;
+        this.skillLinkStore = skillLinkStore;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Servi par l'automate en mémoire, aucun accès base
+    public List<SkillSuggestionDTO> tagText(String text) {
+        return toSuggestions(skillTagger.tag(text), Set.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SkillSuggestionDTO> suggestSkillsForOffer(Long offerId) {
+        JobOffer offer = findOffer(offerId);
+        return suggestionsFor(offer);
+    }
+
+    @Override
+    public List<SkillSuggestionDTO> autoTagOffer(Long offerId) {
+        JobOffer offer = findOffer(offerId);
+        List<SkillSuggestionDTO> suggestions = suggestionsFor(offer);
+        if (suggestions.isEmpty()) {
+            return suggestions;
+        }
+        // Une compétence supprimée depuis la dernière reconstruction de l'automate est ignorée
+        Map<Long, Skill> skillsById = skillRepository.findAllById(suggestions.stream().map(SkillSuggestionDTO::getSkillId).toList())
+                .stream().collect(Collectors.toMap(Skill::getId, Function.identity()));
+        offer.getRequiredSkills().addAll(skillsById.values());
+        offer.setUpdatedAt(LocalDateTime.now());
+        offerRepository.save(offer);
+        eventPublisher.publishEvent(new JobOfferChangedEvent(offerId,
+                JobOfferChangedEvent.ChangeType.UPDATED, offer.getStatus(), offer.getStatus()));
+        log.info("Offer {} auto-tagged with {} skills", offerId, skillsById.size());
+        return suggestions.stream().filter(suggestion -> skillsById.containsKey(suggestion.getSkillId())).toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Une transaction par lot (TransactionTemplate)
+    public SkillBackfillReportDTO backfill(boolean attach) {
+        long start = System.currentTimeMillis();
+        SkillBackfillReportDTO report = new SkillBackfillReportDTO();
+        report.setAttached(attach);
+
+        // Pagination sur l'id : chaque lot est une lecture indexée, même au fond de l'historique
+        long lastId = 0;
+        List<SkillLinkStore.Document> batch;
+        while (!(batch = skillLinkStore.findOffersAfter(lastId, batchSize)).isEmpty()) {
+            List<SkillLinkStore.Link> links = tagAll(batch);
+            report.setOffersScanned(report.getOffersScanned() + batch.size());
+            report.setOfferSkillLinks(report.getOfferSkillLinks() + (attach ? attachToOffers(batch, links) : links.size()));
+            lastId = batch.get(batch.size() - 1).id();
+        }
+
+        lastId = 0;
+        while (!(batch = skillLinkStore.findCoverLettersAfter(lastId, batchSize)).isEmpty()) {
+            List<SkillLinkStore.Link> links = tagAll(batch);
+            report.setCoverLettersScanned(report.getCoverLettersScanned() + batch.size());
+            report.setCandidateSkillLinks(report.getCandidateSkillLinks() + (attach ? attachToCandidates(links) : links.size()));
+            lastId = batch.get(batch.size() - 1).id();
+        }
+
+        report.setElapsedMs(System.currentTimeMillis() - start);
+        log.info("Skill backfill (attach={}) scanned {} offers and {} cover letters in {} ms: {} offer links, {} candidate links",
+                attach, report.getOffersScanned(), report.getCoverLettersScanned(), report.getElapsedMs(),
+                report.getOfferSkillLinks(), report.getCandidateSkillLinks());
+        return report;
+    }
+
+    private JobOffer findOffer(Long offerId) {
+        return offerRepository.findById(offerId)
+                .orElseThrow(() -> new ResourceNotFoundException("JobOffer", "id", offerId));
+    }
+
+    private List<SkillSuggestionDTO> suggestionsFor(JobOffer offer) {
+        Set<Long> required = offer.getRequiredSkills().stream().map(Skill::getId).collect(Collectors.toSet());
+        return toSuggestions(skillTagger.tag(TextSimilarityIndex.offerText(offer.getTitle(), offer.getDescription())), required);
+    }
+
+    // Plus fréquentes d'abord ; à fréquence égale, ordre d'apparition dans le texte
+    private List<SkillSuggestionDTO> toSuggestions(Map<Long, Integer> occurrences, Set<Long> excludedSkillIds) {
+        List<SkillSuggestionDTO> suggestions = new ArrayList<>();
+        occurrences.forEach((skillId, count) -> {
+            String name = skillTagger.nameOf(skillId);
+            if (name != null && !excludedSkillIds.contains(skillId)) {
+                suggestions.add(new SkillSuggestionDTO(skillId, name, count));
+            }
+        });
+        suggestions.sort((a, b) -> Integer.compare(b.getOccurrences(), a.getOccurrences()));
+        return suggestions;
+    }
+
+    // Liens distincts propriétaire -> compétence pour tout le lot (un candidat peut avoir plusieurs lettres)
+    private List<SkillLinkStore.Link> tagAll(List<SkillLinkStore.Document> documents) {
+        Set<SkillLinkStore.Link> links = new LinkedHashSet<>();
+        for (SkillLinkStore.Document document : documents) {
+            for (Long skillId : skillTagger.tag(document.text()).keySet()) {
+                links.add(new SkillLinkStore.Link(document.ownerId(), skillId));
+            }
+        }
+        return new ArrayList<>(links);
+    }
+
+    private int attachToOffers(List<SkillLinkStore.Document> batch, List<SkillLinkStore.Link> links) {
+        Map<Long, OfferStatus> statusById = batch.stream()
+                .collect(Collectors.toMap(SkillLinkStore.Document::id, SkillLinkStore.Document::status));
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<SkillLinkStore.Link> added = skillLinkStore.addOfferSkills(links);
+            // Publiés dans la transaction du lot : les listeners AFTER_COMMIT réagissent après son commit
+            added.stream().map(SkillLinkStore.Link::ownerId).distinct().forEach(offerId ->
+                    eventPublisher.publishEvent(new JobOfferChangedEvent(offerId, JobOfferChangedEvent.ChangeType.UPDATED,
+                            statusById.get(offerId), statusById.get(offerId))));
+            return added.size();
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    private int attachToCandidates(List<SkillLinkStore.Link> links) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<SkillLinkStore.Link> added = skillLinkStore.addCandidateSkills(links);
+            added.stream().map(SkillLinkStore.Link::ownerId).distinct().forEach(candidateId ->
+                    eventPublisher.publishEvent(new CandidateSkillsChangedEvent(candidateId)));
+            return added.size();
+        });
+        return inserted != null ? inserted : 0;
+    }
+}
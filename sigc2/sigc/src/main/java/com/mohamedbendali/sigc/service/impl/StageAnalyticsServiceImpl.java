@@ -0,0 +1,40 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.StageDurationDTO;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.StageStatsStore;
+import com.mohamedbendali.sigc.service.StageAnalyticsService;
+import com.mohamedbendali.sigc.stats.StageDwellHistogram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StageAnalyticsServiceImpl implements StageAnalyticsService {
+
+    private final StageStatsStore stageStatsStore;
+    private final JobOfferRepository offerRepository;
+
+    @Override
+    public List<StageDurationDTO> getStageDurations(Long offerId) {
+        if (offerId != null && !offerRepository.existsById(offerId)) {
+            throw new ResourceNotFoundException("JobOffer", "id", offerId);
+        }
+        // Une ligne par étape : la ligne "toutes offres" est maintenue à part, rien n'est sommé ici
+        return stageStatsStore.findByOffer(offerId != null ? offerId : StageStatsStore.ALL_OFFERS).stream()
+                .filter(row -> row.samples() > 0)
+                .sorted(Comparator.comparing(StageStatsStore.StageRow::stage))
+                .map(row -> new StageDurationDTO(row.stage(), row.samples(), row.totalSeconds() / row.samples(),
+                        StageDwellHistogram.percentile(row.histogram(), row.maxSeconds(), 0.5),
+                        StageDwellHistogram.percentile(row.histogram(), row.maxSeconds(), 0.9),
+                        StageDwellHistogram.percentile(row.histogram(), row.maxSeconds(), 0.95),
+                        row.maxSeconds()))
+                .toList();
+    }
+}
@@ -67,6 +67,25 @@ public class UserServiceImpl implements UserService {
         );
     }
 
+    /**
+     * Appelée par Spring Security après un login réussi lorsque le hash stocké
+     * utilise un coût BCrypt inférieur au coût configuré (PasswordEncoder.upgradeEncoding).
+     * Le nouveau hash est déjà calculé (sur le pool de hachage) : on se contente de le persister.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        // userDetails.getUsername() contient l'email (voir loadUserByUsername)
+        userRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(userDetails.getUsername(), userDetails.getUsername())
+                .ifPresent(user -> {
+                    user.setPassword(newEncodedPassword);
+                    userRepository.save(user);
+                    log.info("Password hash upgraded to the configured BCrypt cost for user: {}", user.getUsername());
+                });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newEncodedPassword)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
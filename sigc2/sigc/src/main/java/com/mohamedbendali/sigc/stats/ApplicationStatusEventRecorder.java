@@ -0,0 +1,39 @@
+package com.mohamedbendali.sigc.stats;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.event.JobApplicationCreatedEvent;
+import com.mohamedbendali.sigc.repository.StatusEventStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Écrit chaque changement de statut (et la création, RECEIVED) dans l'historique application_status_events.
+ * Écoute en BEFORE_COMMIT, comme OutboxRecorder : l'historique est validé ou annulé avec le changement lui-même.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationStatusEventRecorder {
+
+    private final StatusEventStore statusEventStore;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onApplicationCreated(JobApplicationCreatedEvent event) {
+        statusEventStore.addAll(List.of(new StatusEventStore.NewEvent(event.getApplicationId(), event.getOfferId(),
+                null, ApplicationStatus.RECEIVED, LocalDateTime.now())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(ApplicationStatusChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        statusEventStore.addAll(event.getChanges().stream()
+                .map(change -> new StatusEventStore.NewEvent(change.applicationId(), change.offerId(),
+                        change.previousStatus(), change.newStatus(), now))
+                .toList());
+    }
+}
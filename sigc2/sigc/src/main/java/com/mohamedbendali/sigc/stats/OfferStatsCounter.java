@@ -0,0 +1,125 @@
+package com.mohamedbendali.sigc.stats;
+
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.repository.OfferStatsStore;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs de vues et de candidatures par offre, tenus en mémoire et vidés périodiquement en base.
+ *
+ * Une vue ne coûte qu'un LongAdder.increment() (cellules réparties entre threads, pas de contention ni
+ * de verrou de ligne sur job_offers). Le vidage envoie tous les incréments en un seul upsert additif par lot,
+ * ce qui rend les compteurs cumulables entre instances. Tolérance à la perte : en cas d'arrêt brutal, au plus
+ * un intervalle de vidage est perdu ; un vidage en échec réinjecte ses incréments pour le suivant.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfferStatsCounter {
+
+    private final OfferStatsStore offerStatsStore;
+
+    private final Map<Long, Counts> countsByOffer = new ConcurrentHashMap<>();
+
+    private static final class Counts {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder applications = new LongAdder();
+    }
+
+    public void recordView(Long offerId) {
+        counts(offerId).views.increment();
+    }
+
+    /**
+     * Compte la candidature après validation de la transaction courante (pas de candidature fantôme en cas de rollback).
+     */
+    public void recordApplication(Long offerId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counts(offerId).applications.increment();
+                }
+            });
+        } else {
+            counts(offerId).applications.increment();
+        }
+    }
+
+    // Incréments de cette instance pas encore écrits en base : {vues, candidatures}
+    public long[] pending(Long offerId) {
+        Counts counts = countsByOffer.get(offerId);
+        return counts == null ? new long[]{0, 0} : new long[]{counts.views.sum(), counts.applications.sum()};
+    }
+
+    /**
+     * Écrit les incréments accumulés depuis le dernier vidage.
+     * sumThenReset remet chaque cellule à zéro atomiquement : un incrément concurrent est soit dans ce lot, soit dans le suivant.
+     * synchronized : le vidage planifié et celui de l'arrêt ne se chevauchent pas.
+     */
+    @Scheduled(fixedDelayString = "${offers.stats.flush-interval-ms:10000}",
+            initialDelayString = "${offers.stats.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<Long, OfferStatsStore.Delta> deltas = new TreeMap<>(); // Trié par id : ordre de verrouillage stable
+        countsByOffer.forEach((offerId, counts) -> {
+            long views = counts.views.sumThenReset();
+            long applications = counts.applications.sumThenReset();
+            if (views != 0 || applications != 0) {
+                deltas.put(offerId, new OfferStatsStore.Delta(offerId, views, applications));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Offres supprimées (ou ids inexistants) : l'entrée en mémoire est retirée, sinon elle resterait indéfiniment
+            offerStatsStore.addAll(new ArrayList<>(deltas.values())).forEach(countsByOffer::remove);
+            log.debug("Flushed view/apply counters for {} offers", deltas.size());
+        } catch (Exception e) {
+            // Réinjection : les incréments seront retentés au prochain vidage
+            deltas.values().forEach(d -> {
+                Counts counts = counts(d.offerId());
+                counts.views.add(d.views());
+                counts.applications.add(d.applications());
+            });
+            log.warn("Offer stats flush failed for {} offers, retrying on next run: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Offre supprimée : compteurs en mémoire et ligne de statistiques retirés
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfferChanged(JobOfferChangedEvent event) {
+        if (event.getType() == JobOfferChangedEvent.ChangeType.DELETED) {
+            countsByOffer.remove(event.getOfferId());
+            try {
+                offerStatsStore.delete(event.getOfferId());
+            } catch (Exception e) {
+                log.warn("Could not delete stats of deleted offer {}: {}", event.getOfferId(), e.getMessage());
+            }
+        }
+    }
+
+    private Counts counts(Long offerId) {
+        return countsByOffer.computeIfAbsent(offerId, id -> new Counts());
+    }
+}
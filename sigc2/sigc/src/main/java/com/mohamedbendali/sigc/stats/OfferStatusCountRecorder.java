@@ -0,0 +1,67 @@
+package com.mohamedbendali.sigc.stats;
+
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.event.JobApplicationCreatedEvent;
+import com.mohamedbendali.sigc.event.JobOfferChangedEvent;
+import com.mohamedbendali.sigc.repository.OfferStatusCountStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tient à jour offer_status_counts : +1 dans RECEIVED à la création, -1 / +1 à chaque changement de statut
+ * (retrait et mises à jour groupées compris). Écoute en BEFORE_COMMIT, comme ApplicationStatusEventRecorder :
+ * les compteurs sont validés ou annulés avec le changement lui-même.
+ */
+@Component
+@RequiredArgsConstructor
+public class OfferStatusCountRecorder {
+
+    private final OfferStatusCountStore offerStatusCountStore;
+
+    private record CountKey(long offerId, ApplicationStatus status) {
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onApplicationCreated(JobApplicationCreatedEvent event) {
+        offerStatusCountStore.addAll(List.of(
+                new OfferStatusCountStore.Delta(event.getOfferId(), ApplicationStatus.RECEIVED, 1)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(ApplicationStatusChangedEvent event) {
+        // Une mise à jour groupée touche souvent les mêmes lignes : une seule écriture par (offre, statut)
+        Map<CountKey, Long> deltas = new TreeMap<>(
+                Comparator.comparingLong(CountKey::offerId).thenComparing(CountKey::status)); // Ordre de verrouillage stable
+        for (ApplicationStatusChangedEvent.Change change : event.getChanges()) {
+            if (change.previousStatus() != null) {
+                deltas.merge(new CountKey(change.offerId(), change.previousStatus()), -1L, Long::sum);
+            }
+            deltas.merge(new CountKey(change.offerId(), change.newStatus()), 1L, Long::sum);
+        }
+        List<OfferStatusCountStore.Delta> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new OfferStatusCountStore.Delta(key.offerId(), key.status(), delta));
+            }
+        });
+        if (!rows.isEmpty()) {
+            offerStatusCountStore.addAll(rows);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onOfferDeleted(JobOfferChangedEvent event) {
+        if (event.getType() == JobOfferChangedEvent.ChangeType.DELETED) {
+            offerStatusCountStore.deleteByOffer(event.getOfferId());
+        }
+    }
+}
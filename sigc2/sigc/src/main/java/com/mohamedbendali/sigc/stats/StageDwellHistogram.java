@@ -0,0 +1,53 @@
+package com.mohamedbendali.sigc.stats;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme à tranches fixes des durées passées dans une étape (application_stage_stats.histogram).
+ * Tranches de plus en plus larges (minute, heure, jour, semaine) : une vingtaine de compteurs suffisent pour
+ * estimer les centiles de quelques secondes à plusieurs mois, et deux histogrammes s'additionnent élément par élément.
+ */
+public final class StageDwellHistogram {
+
+    // Bornes supérieures incluses des tranches, en secondes ; une dernière tranche ouverte suit
+    private static final long[] BOUNDS = {
+            60, 300, 900, 1_800, 3_600, 7_200, 14_400, 28_800, 43_200,               // 1 min .. 12 h
+            86_400, 172_800, 259_200, 432_000, 604_800, 864_000, 1_209_600,          // 1 j .. 14 j
+            1_814_400, 2_592_000, 3_888_000, 5_184_000, 7_776_000                    // 21 j .. 90 j
+    };
+
+    public static final int BUCKETS = BOUNDS.length + 1;
+
+    private StageDwellHistogram() {
+    }
+
+    public static int bucket(long seconds) {
+        int index = Arrays.binarySearch(BOUNDS, seconds);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Centile estimé (interpolation linéaire dans la tranche qui contient le rang), borné par la durée maximale observée.
+     * @param quantile entre 0 et 1 (ex: 0.9 pour le 90e centile)
+     */
+    public static long percentile(long[] histogram, long maxSeconds, double quantile) {
+        long samples = Arrays.stream(histogram).sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            if (seen + histogram[i] >= rank) {
+                long lower = i == 0 ? 0 : Math.min(BOUNDS[Math.min(i, BOUNDS.length) - 1], maxSeconds);
+                long upper = i < BOUNDS.length ? Math.min(BOUNDS[i], maxSeconds) : maxSeconds;
+                return lower + Math.round((upper - lower) * (rank - seen) / (double) histogram[i]);
+            }
+            seen += histogram[i];
+        }
+        return maxSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mohamedbendali.sigc.util;
+
+import com.mohamedbendali.sigc.repository.projection.VersionStamp;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Construction d'ETags forts à partir des colonnes de version (updatedAt, dernier id, ...)
+ * plutôt qu'en hachant le corps sérialisé de la réponse.
+ */
+public final class ETags {
+
+    // À incrémenter si le format JSON des DTOs change, pour invalider les ETags déjà distribués
+    private static final String REPRESENTATION_VERSION = "v1";
+
+    private ETags() {
+    }
+
+    /**
+     * ETag d'une ressource identifiée par son type, ses paramètres et sa date de dernière modification.
+     * Ex: {@code "v1-offer-42-1697712345123456"}.
+     */
+    public static String of(String resource, Object... parts) {
+        StringBuilder tag = new StringBuilder("\"").append(REPRESENTATION_VERSION).append('-').append(resource);
+        for (Object part : parts) {
+            tag.append('-').append(part instanceof LocalDateTime dateTime ? toEpochMicros(dateTime) : part);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * ETag d'une collection : le nombre d'éléments couvre les suppressions,
+     * la dernière modification couvre les créations et mises à jour.
+     */
+    public static String of(String resource, Object key, VersionStamp stamp) {
+        return of(resource, key, stamp.getCount(), stamp.getLastModified() != null ? stamp.getLastModified() : 0);
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+}
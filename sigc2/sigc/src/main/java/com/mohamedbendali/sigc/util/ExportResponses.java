@@ -0,0 +1,49 @@
+package com.mohamedbendali.sigc.util;
+
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponses d'export en flux (StreamingResponseBody) : le corps est écrit sur un thread MVC asynchrone pendant
+ * la lecture du curseur. Compression gzip à la volée si le client l'accepte (Accept-Encoding).
+ */
+public final class ExportResponses {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private ExportResponses() {
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public static ResponseEntity<StreamingResponseBody> of(String baseName, ExportFormat format, String acceptEncoding, Body body) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String extension = format == ExportFormat.NDJSON ? ".ndjson" : ".csv";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == ExportFormat.NDJSON ? APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(baseName + extension).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(body::writeTo);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+            body.writeTo(compressed);
+            compressed.finish(); // Termine le flux gzip sans fermer la réponse
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.mohamedbendali.sigc.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Écrit des lignes d'export au fil de l'eau (CSV ou NDJSON), sans les accumuler : chaque ligne est encodée
+ * dans un tampon de taille fixe puis envoyée au flux. close() vide le tampon sans fermer le flux sous-jacent.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    protected final List<String> columns;
+
+    protected ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static ExportWriter of(ExportFormat format, OutputStream out, List<String> columns, ObjectMapper objectMapper)
+            throws IOException {
+        return format == ExportFormat.NDJSON ? new Ndjson(out, columns, objectMapper) : new Csv(out, columns);
+    }
+
+    // Une valeur par colonne, dans l'ordre de columns ; null pour une valeur absente
+    public abstract void write(Object[] row) throws IOException;
+
+    private static final class Csv extends ExportWriter {
+
+        private static final char SEPARATOR = ';'; // Séparateur attendu par les tableurs en locale française
+
+        private final Writer writer;
+
+        private Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            writer.write('\uFEFF'); // BOM : Excel détecte l'UTF-8 (accents des noms)
+            write(columns.toArray());
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(SEPARATOR);
+                }
+                if (row[i] != null) {
+                    writer.write(escape(String.valueOf(row[i])));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180 ; une cellule commençant par = + - @ est préfixée d'une apostrophe (pas de formule exécutée par le tableur)
+        private static String escape(String value) {
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        private Ndjson(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"))
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                Object value = row[i];
+                generator.writeFieldName(columns.get(i));
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString(String.valueOf(value)); // Dates au format ISO-8601 (LocalDateTime.toString)
+                }
+            }
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n'); // Dernière ligne terminée comme les autres
+            }
+            generator.close(); // Vide le tampon ; le flux reste ouvert (AUTO_CLOSE_TARGET désactivé)
+        }
+    }
+}
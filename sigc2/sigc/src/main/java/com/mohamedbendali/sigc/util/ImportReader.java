@@ -0,0 +1,285 @@
+package com.mohamedbendali.sigc.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import com.mohamedbendali.sigc.exception.InvalidImportFileException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture en flux d'un fichier importé, un enregistrement à la fois (mémoire constante).
+ * CSV : RFC 4180 (champs entre guillemets, "" échappé, retours à la ligne dans un champ), séparateur ";" ou ","
+ * détecté sur l'en-tête, BOM UTF-8 ignoré : les fichiers produits par ExportWriter sont relus tels quels.
+ * NDJSON : un objet JSON par ligne.
+ * Seul le découpage est séquentiel : la conversion en champs (Record.fields(), analyse JSON comprise)
+ * est laissée à l'appelant, qui peut la paralléliser. Les lignes vides sont ignorées.
+ */
+public abstract class ImportReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Enregistrement brut. fields() retourne les valeurs par nom de colonne normalisé (minuscules, sans "_", "-"
+     * ni espace : "salary_range" et "salaryRange" sont équivalents), null pour une valeur vide ;
+     * lève IllegalArgumentException si l'enregistrement est invalide (message destiné au bilan d'import).
+     */
+    public interface Record {
+        long line();
+        Map<String, String> fields();
+    }
+
+    protected final BufferedReader reader;
+
+    protected ImportReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    public static ImportReader of(ExportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.NDJSON ? new Ndjson(in, objectMapper) : new Csv(in);
+    }
+
+    // null en fin de fichier
+    public abstract Record next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public static String columnKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private static final class Csv extends ImportReader {
+
+        private final char separator;
+        private final List<String> header;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private long line = 1;
+
+        Csv(InputStream in) throws IOException {
+            super(in);
+            reader.mark(BUFFER_SIZE);
+            String firstLine = reader.readLine();
+            if (firstLine == null || firstLine.isBlank()) {
+                throw new InvalidImportFileException("Fichier CSV vide : une ligne d'en-tête est attendue");
+            }
+            try {
+                reader.reset();
+            } catch (IOException e) {
+                throw new InvalidImportFileException("Ligne d'en-tête CSV trop longue");
+            }
+            // Même règle que les tableurs : ";" s'il est plus fréquent que "," dans l'en-tête
+            separator = count(firstLine, ';') > count(firstLine, ',') ? ';' : ',';
+            List<String> names = readValues();
+            header = names.stream().map(name -> name == null ? "" : columnKey(name)).toList();
+        }
+
+        @Override
+        public Record next() throws IOException {
+            List<String> values;
+            long start;
+            do {
+                start = line;
+                values = readValues();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0) == null); // Ligne vide
+            return new CsvRecord(start, values);
+        }
+
+        private final class CsvRecord implements Record {
+
+            private final long line;
+            private final List<String> values;
+
+            CsvRecord(long line, List<String> values) {
+                this.line = line;
+                this.values = values;
+            }
+
+            @Override
+            public long line() {
+                return line;
+            }
+
+            @Override
+            public Map<String, String> fields() {
+                if (values.size() != header.size()) {
+                    throw new IllegalArgumentException(String.format("%d colonne(s) au lieu de %d (séparateur \"%c\")",
+                            values.size(), header.size(), separator));
+                }
+                Map<String, String> fields = new HashMap<>(header.size() * 2);
+                for (int i = 0; i < header.size(); i++) {
+                    fields.put(header.get(i), values.get(i));
+                }
+                return fields;
+            }
+        }
+
+        // Un enregistrement ; null en fin de fichier. Champ vide non entre guillemets -> null
+        private List<String> readValues() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            long start = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            while (true) {
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new InvalidImportFileException("Guillemet non fermé dans l'enregistrement commençant ligne " + start);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            inQuotes = false;
+                            continue; // Caractère suivant traité hors guillemets
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == separator) {
+                    values.add(value(field, quoted));
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    values.add(value(field, quoted));
+                    return values;
+                } else if (c == '"' && field.length() == 0 && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        private static String value(StringBuilder field, boolean quoted) {
+            return field.length() == 0 && !quoted ? null : field.toString();
+        }
+
+        private static int count(String text, char c) {
+            int count = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == c) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class Ndjson extends ImportReader {
+
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) throws IOException {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            long number = line;
+            String json = text;
+            return new Record() {
+                @Override
+                public long line() {
+                    return number;
+                }
+
+                @Override
+                public Map<String, String> fields() {
+                    return parse(json);
+                }
+            };
+        }
+
+        // Valeurs scalaires en texte ; un tableau (ex: "skills": ["Java", "SQL"]) devient une liste séparée par ","
+        private Map<String, String> parse(String json) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(json);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON invalide : " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("Un objet JSON est attendu sur chaque ligne");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                fields.put(columnKey(field.getKey()), text(field.getValue()));
+            }
+            return fields;
+        }
+
+        private static String text(JsonNode value) {
+            if (value.isNull()) {
+                return null;
+            }
+            if (value.isArray()) {
+                List<String> items = new ArrayList<>();
+                value.forEach(item -> items.add(item.isValueNode() ? item.asText() : item.toString()));
+                return String.join(",", items);
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+    }
+}
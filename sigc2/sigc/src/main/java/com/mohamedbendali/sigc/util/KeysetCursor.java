@@ -0,0 +1,55 @@
+package com.mohamedbendali.sigc.util;
+
+import com.mohamedbendali.sigc.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans une liste triée par (clé de tri, id), encodée en jeton opaque (Base64 URL-safe)
+ * pour la pagination keyset. Le client ne doit ni interpréter ni construire ce jeton.
+ */
+public record KeysetCursor(String key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(LocalDateTime key, Long id) {
+        return new KeysetCursor(key.toString(), id);
+    }
+
+    public static KeysetCursor of(String key, Long id) {
+        return new KeysetCursor(key, id);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encode()}.
+     * @throws InvalidCursorException si le jeton est mal formé.
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR); // La clé (ex: un nom) peut elle-même contenir le séparateur
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) { // Base64 invalide ou NumberFormatException
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public LocalDateTime keyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException(encode());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+-- =====================================================================
+-- Objets PostgreSQL non générés par Hibernate (ddl-auto ne gère que les entités).
+-- Exécuté à chaque démarrage APRÈS Hibernate (spring.jpa.defer-datasource-initialization=true) :
+-- toutes les instructions doivent rester idempotentes (IF NOT EXISTS).
+-- =====================================================================
+
+-- ---------------------------------------------------------------------
+-- Recherche plein texte des offres (JobOfferRepository.searchFullText)
+-- Colonne générée : maintenue par PostgreSQL à chaque INSERT/UPDATE, sans trigger ni code Java.
+-- Titre pondéré A, description pondérée B, configurations française et anglaise.
+-- ---------------------------------------------------------------------
+ALTER TABLE job_offers ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french'::regconfig, coalesce(description, '')), 'B') ||
+        setweight(to_tsvector('english'::regconfig, coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_job_offers_search_vector ON job_offers USING GIN (search_vector);
+
+-- ---------------------------------------------------------------------
+-- Pagination keyset (curseur) : un index composite par tri (clé de tri, id),
+-- précédé de la colonne de filtre, pour que la page N coûte autant que la page 1.
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_job_offers_status_created_id
+    ON job_offers (status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_job_applications_offer_date_id
+    ON job_applications (offer_id, application_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_job_applications_status_date_id
+    ON job_applications (status, application_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_candidates_last_name_id
+    ON candidates (last_name, id);
+
+-- ---------------------------------------------------------------------
+-- Expiration des offres (OfferExpirationSweeper) : index partiel limité aux offres publiées
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_job_offers_published_expiration
+    ON job_offers (expiration_date) WHERE status = 'PUBLISHED';
+
+-- ---------------------------------------------------------------------
+-- Résolution des compétences par nom normalisé (SkillResolver : lower(name) IN (...))
+-- ---------------------------------------------------------------------
+CREATE INDEX IF NOT EXISTS idx_skills_lower_name ON skills (lower(name));
+
+-- ---------------------------------------------------------------------
+-- Compteurs de vues et de candidatures par offre (OfferStatsCounter / OfferStatsStore)
+-- Écrits par upserts additifs en lot, jamais par UPDATE sur job_offers (pas de verrou sur les offres populaires).
+-- Pas de clé étrangère : un incrément pour une offre supprimée ne doit pas faire échouer tout le lot.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS offer_stats (
+    offer_id    BIGINT PRIMARY KEY,
+    view_count  BIGINT NOT NULL DEFAULT 0,
+    apply_count BIGINT NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- ---------------------------------------------------------------------
+-- Signatures MinHash des offres (DuplicateOfferDetector / OfferSignatureStore) : 128 entiers en 512 octets.
+-- Relues au démarrage pour reconstruire l'index LSH sans recalculer les signatures ; supprimées avec l'offre.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS offer_minhash (
+    offer_id   BIGINT PRIMARY KEY REFERENCES job_offers (id) ON DELETE CASCADE,
+    signature  BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- ---------------------------------------------------------------------
+-- Recherche de candidats (CandidateSearchRepository)
+-- Sous-chaîne du nom / email : index GIN trigramme sur l'expression exacte utilisée par la requête (LIKE '%...%').
+-- pg_trgm est une extension "trusted" (PostgreSQL 13+) : le propriétaire de la base peut la créer.
+-- ---------------------------------------------------------------------
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_candidates_search_trgm
+    ON candidates USING gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
+
+-- Pagination keyset du plus récent au plus ancien, et filtre sur la date de création
+CREATE INDEX IF NOT EXISTS idx_candidates_created_at_id
+    ON candidates (created_at DESC, id DESC);
+
+-- Rapprochement par email, casse ignorée (fusion des imports de candidats, ImportStore)
+CREATE INDEX IF NOT EXISTS idx_candidates_lower_email
+    ON candidates (lower(email));
+
+-- Filtre par compétence : la clé primaire (candidate_id, skill_id) ne sert que dans l'autre sens
+CREATE INDEX IF NOT EXISTS idx_candidate_skills_skill_candidate
+    ON candidate_skills (skill_id, candidate_id);
+
+-- Filtre "a au moins une candidature dans ces statuts"
+CREATE INDEX IF NOT EXISTS idx_job_applications_candidate_status
+    ON job_applications (candidate_id, status);
+
+-- ---------------------------------------------------------------------
+-- Outbox transactionnelle (OutboxRecorder / OutboxDispatcher) : les effets de bord d'une écriture
+-- (notifications, ...) sont enregistrés dans la même transaction puis livrés en arrière-plan.
+-- next_attempt_at sert à la fois de bail de traitement et de délai avant nouvel essai ;
+-- seules les lignes PENDING sont indexées, les lignes DONE sont purgées après la rétention.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    aggregate_type  VARCHAR(50)  NOT NULL,
+    aggregate_id    BIGINT       NOT NULL,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    attempts        INT          NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    next_attempt_at TIMESTAMP    NOT NULL DEFAULT now(),
+    processed_at    TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_pending ON outbox (id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_aggregate ON outbox (aggregate_type, aggregate_id, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_done_processed ON outbox (processed_at) WHERE status = 'DONE';
+
+-- ---------------------------------------------------------------------
+-- Historique des changements de statut des candidatures (ApplicationStatusEventRecorder), en ajout seul.
+-- Partitionné par mois sur occurred_at : les partitions sont créées à l'avance par StatusEventPartitionMaintainer,
+-- la partition DEFAULT ne sert que de filet (elle doit rester vide pour pouvoir créer les mois suivants).
+-- entered_at : entrée dans from_status (changement précédent), pour que la durée d'une étape se calcule sans
+-- relire l'historique. La clé primaire (id, occurred_at) sert aussi la lecture incrémentale par id.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS application_status_events (
+    id             BIGSERIAL,
+    application_id BIGINT      NOT NULL,
+    offer_id       BIGINT      NOT NULL,
+    from_status    VARCHAR(30),
+    to_status      VARCHAR(30) NOT NULL,
+    entered_at     TIMESTAMP,
+    occurred_at    TIMESTAMP   NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+CREATE TABLE IF NOT EXISTS application_status_events_default PARTITION OF application_status_events DEFAULT;
+CREATE INDEX IF NOT EXISTS idx_status_events_application ON application_status_events (application_id, occurred_at);
+
+-- Durées passées dans chaque étape, par offre (offer_id = 0 : toutes offres confondues).
+-- Maintenues par StageDwellAggregator à partir des nouveaux événements ; histogram : nombre de séjours par
+-- tranche de durée (bornes dans StageDwellHistogram), additionné élément par élément.
+CREATE TABLE IF NOT EXISTS application_stage_stats (
+    offer_id      BIGINT      NOT NULL,
+    stage         VARCHAR(30) NOT NULL,
+    samples       BIGINT      NOT NULL DEFAULT 0,
+    total_seconds BIGINT      NOT NULL DEFAULT 0,
+    max_seconds   BIGINT      NOT NULL DEFAULT 0,
+    histogram     BIGINT[]    NOT NULL,
+    updated_at    TIMESTAMP   NOT NULL DEFAULT now(),
+    PRIMARY KEY (offer_id, stage)
+);
+
+-- Position des traitements incrémentaux (dernier id d'événement agrégé)
+CREATE TABLE IF NOT EXISTS stats_watermarks (
+    name    VARCHAR(50) PRIMARY KEY,
+    last_id BIGINT      NOT NULL
+);
+
+-- ---------------------------------------------------------------------
+-- Tableau de bord recruteur : nombre de candidatures par offre et par statut (OfferStatusCountRecorder).
+-- Upserts additifs écrits dans la transaction du changement de statut ; OfferStatusCountReconciler recalcule
+-- la table chaque nuit pour corriger une éventuelle dérive. Pas de clé étrangère, comme offer_stats.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS offer_status_counts (
+    offer_id   BIGINT      NOT NULL,
+    status     VARCHAR(30) NOT NULL,
+    count      BIGINT      NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP   NOT NULL DEFAULT now(),
+    PRIMARY KEY (offer_id, status)
+);
+
+-- Pagination keyset du tableau de bord sans filtre de statut (avec filtre : idx_job_offers_status_created_id)
+CREATE INDEX IF NOT EXISTS idx_job_offers_created_id ON job_offers (created_at DESC, id DESC);
@@ -0,0 +1,192 @@
+package com.mohamedbendali.sigc.config;
+
+import com.mohamedbendali.sigc.controller.CandidateController;
+import com.mohamedbendali.sigc.controller.JobApplicationController;
+import com.mohamedbendali.sigc.controller.JobOfferController;
+import com.mohamedbendali.sigc.controller.SkillController;
+import com.mohamedbendali.sigc.security.JwtAuthenticationEntryPoint;
+import com.mohamedbendali.sigc.security.JwtRequestFilter;
+import com.mohamedbendali.sigc.security.JwtTokenUtil;
+import com.mohamedbendali.sigc.service.CandidateService;
+import com.mohamedbendali.sigc.service.DashboardService;
+import com.mohamedbendali.sigc.service.ExportService;
+import com.mohamedbendali.sigc.service.ImportService;
+import com.mohamedbendali.sigc.service.JobApplicationService;
+import com.mohamedbendali.sigc.service.JobOfferService;
+import com.mohamedbendali.sigc.service.MatchingService;
+import com.mohamedbendali.sigc.service.SkillService;
+import com.mohamedbendali.sigc.service.SkillTaggingService;
+import com.mohamedbendali.sigc.service.StageAnalyticsService;
+import com.mohamedbendali.sigc.service.UserService;
+import com.mohamedbendali.sigc.stats.OfferStatsCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Règles d'URL de SecurityFilterChain : @PreAuthorize n'étant pas appliqué, les endpoints recruteur ou admin
+ * placés sous un chemin public ("/api/offers/*") doivent être protégés par une règle explicite.
+ */
+@WebMvcTest(controllers = {JobOfferController.class, CandidateController.class, JobApplicationController.class,
+        SkillController.class})
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class})
+class SecurityConfigTest {
+
+    private static final MockMultipartFile IMPORT_FILE =
+            new MockMultipartFile("file", "import.csv", "text/csv", "email\n".getBytes());
+
+    // JwtRequestFilter est conditionné à un bean UserService, que @MockBean enregistre trop tard
+    @TestConfiguration
+    static class JwtFilterConfig {
+        @Bean
+        JwtRequestFilter jwtRequestFilter() {
+            return new JwtRequestFilter();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobOfferService offerService;
+    @MockBean
+    private OfferStatsCounter offerStatsCounter;
+    @MockBean
+    private MatchingService matchingService;
+    @MockBean
+    private SkillTaggingService skillTaggingService;
+    @MockBean
+    private ImportService importService;
+    @MockBean
+    private StageAnalyticsService stageAnalyticsService;
+    @MockBean
+    private DashboardService dashboardService;
+    @MockBean
+    private CandidateService candidateService;
+    @MockBean
+    private ExportService exportService;
+    @MockBean
+    private JobApplicationService applicationService;
+    @MockBean
+    private SkillService skillService;
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Test
+    void dashboardRejectsAnonymous() throws Exception {
+        mockMvc.perform(get("/api/offers/dashboard")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "CANDIDATE")
+    void dashboardRejectsCandidate() throws Exception {
+        mockMvc.perform(get("/api/offers/dashboard")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void dashboardAllowsRecruiter() throws Exception {
+        mockMvc.perform(get("/api/offers/dashboard")).andExpect(status().isOk());
+    }
+
+    @Test
+    void duplicateClustersRejectAnonymous() throws Exception {
+        mockMvc.perform(get("/api/offers/duplicates")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void duplicateClustersAreAdminOnly() throws Exception {
+        mockMvc.perform(get("/api/offers/duplicates")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/offers/1/duplicates")).andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void duplicateClustersAllowAdmin() throws Exception {
+        mockMvc.perform(get("/api/offers/duplicates")).andExpect(status().isOk());
+    }
+
+    @Test
+    void stageDurationsRejectAnonymous() throws Exception {
+        mockMvc.perform(get("/api/offers/stage-durations")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/offers/all")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(roles = "CANDIDATE")
+    void recruiterOfferEndpointsRejectCandidate() throws Exception {
+        mockMvc.perform(get("/api/offers/stage-durations")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/offers/1/stage-durations")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/offers/1/stats")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/offers/1/matching-candidates")).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/offers/1/skills/auto-tag")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void stageDurationsAllowRecruiter() throws Exception {
+        mockMvc.perform(get("/api/offers/stage-durations")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/offers/1/stage-durations")).andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CANDIDATE", "RECRUITER"})
+    void importsRejectNonAdmin() throws Exception {
+        mockMvc.perform(multipart("/api/offers/import").file(IMPORT_FILE)).andExpect(status().isForbidden());
+        mockMvc.perform(multipart("/api/candidates/import").file(IMPORT_FILE)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importsAllowAdmin() throws Exception {
+        mockMvc.perform(multipart("/api/offers/import").file(IMPORT_FILE)).andExpect(status().isOk());
+        mockMvc.perform(multipart("/api/candidates/import").file(IMPORT_FILE)).andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "CANDIDATE")
+    void exportsRejectCandidate() throws Exception {
+        mockMvc.perform(get("/api/candidates/export")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/applications/offer/1/export")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void exportsAllowRecruiter() throws Exception {
+        mockMvc.perform(get("/api/candidates/export")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/applications/offer/1/export")).andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "RECRUITER")
+    void skillBackfillRejectsNonAdmin() throws Exception {
+        mockMvc.perform(post("/api/skills/backfill").param("attach", "true")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void skillBackfillAllowsAdmin() throws Exception {
+        mockMvc.perform(post("/api/skills/backfill")).andExpect(status().isOk());
+    }
+
+    @Test
+    void publishedOffersStayPublic() throws Exception {
+        mockMvc.perform(get("/api/offers/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/offers/1/similar")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,50 @@
+package com.mohamedbendali.sigc.enums;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Règles de transition des candidatures (ApplicationStatus.canTransitionTo), partagées par la mise à jour
+ * unitaire et la mise à jour groupée.
+ */
+class ApplicationStatusTest {
+
+    @ParameterizedTest
+    @EnumSource(value = ApplicationStatus.class, names = {"ACCEPTED", "REJECTED", "WITHDRAWN"})
+    void finalStatusesAcceptNoTransition(ApplicationStatus from) {
+        assertThat(from.isFinal()).isTrue();
+        for (ApplicationStatus target : ApplicationStatus.values()) {
+            assertThat(from.canTransitionTo(target)).as("%s -> %s", from, target).isFalse();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ApplicationStatus.class, names = {"ACCEPTED", "REJECTED", "WITHDRAWN"}, mode = EnumSource.Mode.EXCLUDE)
+    void openStatusesCanMoveForwardBackwardOrToAFinalStatus(ApplicationStatus from) {
+        assertThat(from.isFinal()).isFalse();
+        for (ApplicationStatus target : ApplicationStatus.values()) {
+            boolean expected = target != from && target != ApplicationStatus.RECEIVED;
+            assertThat(from.canTransitionTo(target)).as("%s -> %s", from, target).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void receivedIsOnlyAnInitialStatus() {
+        assertThat(ApplicationStatus.UNDER_REVIEW.canTransitionTo(ApplicationStatus.RECEIVED)).isFalse();
+        assertThat(ApplicationStatus.RECEIVED.canTransitionTo(ApplicationStatus.RECEIVED)).isFalse();
+    }
+
+    @Test
+    void stepsCanBeSkippedOrReplayed() {
+        assertThat(ApplicationStatus.RECEIVED.canTransitionTo(ApplicationStatus.OFFER_EXTENDED)).isTrue();
+        assertThat(ApplicationStatus.INTERVIEW_COMPLETED.canTransitionTo(ApplicationStatus.INTERVIEW_SCHEDULED)).isTrue();
+    }
+
+    @Test
+    void nullTargetIsRejected() {
+        assertThat(ApplicationStatus.RECEIVED.canTransitionTo(null)).isFalse();
+    }
+}
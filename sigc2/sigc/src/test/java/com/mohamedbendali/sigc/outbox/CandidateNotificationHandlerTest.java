@@ -0,0 +1,43 @@
+package com.mohamedbendali.sigc.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.exception.ResourceNotFoundException;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.service.MatchingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Un message dont l'offre ou la candidature a été supprimée avant l'envoi est traité sans erreur :
+ * il ne doit pas être réessayé jusqu'à l'état DEAD.
+ */
+class CandidateNotificationHandlerTest {
+
+    private final JobApplicationRepository applicationRepository = mock(JobApplicationRepository.class);
+    private final MatchingService matchingService = mock(MatchingService.class);
+    private final CandidateNotificationHandler handler =
+            new CandidateNotificationHandler(applicationRepository, matchingService, new ObjectMapper(), 20);
+
+    @Test
+    void deletedOfferIsNoOp() {
+        when(matchingService.findBestCandidates(7L, 20)).thenThrow(new ResourceNotFoundException("JobOffer", "id", 7L));
+        OutboxMessage message = new OutboxMessage(1, "JobOffer", 7, OutboxEvents.OFFER_PUBLISHED,
+                "{\"offerId\":7,\"previousStatus\":\"DRAFT\"}", 0);
+
+        assertThatCode(() -> handler.handle(message)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void deletedApplicationIsNoOp() {
+        when(applicationRepository.findContactById(3L)).thenReturn(Optional.empty());
+        OutboxMessage message = new OutboxMessage(2, "JobApplication", 3, OutboxEvents.APPLICATION_STATUS_CHANGED,
+                "{\"applicationId\":3,\"offerId\":7,\"previousStatus\":\"RECEIVED\",\"newStatus\":\"UNDER_REVIEW\"}", 0);
+
+        assertThatCode(() -> handler.handle(message)).doesNotThrowAnyException();
+    }
+}
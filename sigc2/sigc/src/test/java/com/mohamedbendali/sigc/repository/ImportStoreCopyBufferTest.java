@@ -0,0 +1,41 @@
+package com.mohamedbendali.sigc.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encodage des lignes envoyées à COPY ... (FORMAT csv) : NULL = champ vide sans guillemets,
+ * chaîne (même vide) toujours entre guillemets.
+ */
+class ImportStoreCopyBufferTest {
+
+    @Test
+    void encodesNullAsUnquotedEmptyAndEmptyStringAsQuoted() {
+        ImportStore.CopyBuffer buffer = new ImportStore.CopyBuffer();
+        buffer.value(null).value("").value(null).endRow();
+
+        assertThat(buffer).hasToString(",\"\",\n");
+    }
+
+    @Test
+    void quotesStringsAndDoublesEmbeddedQuotes() {
+        ImportStore.CopyBuffer buffer = new ImportStore.CopyBuffer();
+        buffer.value("Dev \"Java\", senior").value("ligne 1\nligne 2").endRow();
+
+        assertThat(buffer).hasToString("\"Dev \"\"Java\"\", senior\",\"ligne 1\nligne 2\"\n");
+    }
+
+    @Test
+    void writesNumbersAndDatesUnquotedOneRowPerLine() {
+        ImportStore.CopyBuffer buffer = new ImportStore.CopyBuffer();
+        buffer.value(7L).value(LocalDateTime.of(2024, 3, 1, 9, 30)).endRow();
+        buffer.value(8L).value(null).endRow();
+
+        assertThat(buffer).hasToString("7,2024-03-01T09:30\n8,\n");
+        assertThat(buffer.isEmpty()).isFalse();
+        assertThat(new ImportStore.CopyBuffer().isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,97 @@
+package com.mohamedbendali.sigc.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Recherche multi-motifs d'AhoCorasick : motifs imbriqués ou chevauchants, mots entiers seulement,
+ * pliage casse/accents, comptage des occurrences et doublons de motifs.
+ */
+class AhoCorasickTest {
+
+    @Test
+    void findsOverlappingAndNestedPatterns() {
+        AhoCorasick<String> automaton = new AhoCorasick.Builder<String>()
+                .add("machine learning", "ML")
+                .add("learning", "LEARNING")
+                .add("spring", "SPRING")
+                .add("spring boot", "BOOT")
+                .build();
+
+        Map<String, Integer> found = automaton.findAll("Machine learning avec Spring Boot");
+
+        assertThat(found).containsOnly(entry("ML", 1), entry("LEARNING", 1), entry("SPRING", 1), entry("BOOT", 1));
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        AhoCorasick<String> automaton = new AhoCorasick.Builder<String>()
+                .add("java", "JAVA")
+                .add("sql", "SQL")
+                .build();
+
+        assertThat(automaton.findAll("JavaScript, MySQL et NoSQL")).isEmpty();
+        assertThat(automaton.findAll("java/sql")).containsOnly(entry("JAVA", 1), entry("SQL", 1));
+    }
+
+    @Test
+    void failureLinksDoNotLoseMatchesAfterPartialPrefix() {
+        // "reactjs" avance dans le préfixe "react" de "react native" puis échoue : l'occurrence suivante reste trouvée
+        AhoCorasick<String> automaton = new AhoCorasick.Builder<String>()
+                .add("react native", "RN")
+                .add("native", "NATIVE")
+                .build();
+
+        assertThat(automaton.findAll("reactjs puis react native"))
+                .containsOnly(entry("RN", 1), entry("NATIVE", 1));
+    }
+
+    @Test
+    void foldsCaseAccentsAndPunctuation() {
+        AhoCorasick<Long> automaton = new AhoCorasick.Builder<Long>()
+                .add("Intelligence Artificielle", 1L)
+                .add("C++", 2L)
+                .add("Node.js", 3L)
+                .build();
+
+        assertThat(automaton.findAll("INTELLIGENCE ARTIFICIELLE, c++ et node js"))
+                .containsOnly(entry(1L, 1), entry(2L, 1), entry(3L, 1));
+        assertThat(automaton.findAll("intelligence artificièlle")).containsOnly(entry(1L, 1));
+    }
+
+    @Test
+    void countsOccurrencesInFirstAppearanceOrder() {
+        AhoCorasick<String> automaton = new AhoCorasick.Builder<String>()
+                .add("java", "JAVA")
+                .add("docker", "DOCKER")
+                .build();
+
+        Map<String, Integer> found = automaton.findAll("Docker, Java, Docker et encore Docker");
+
+        assertThat(found).containsExactly(entry("DOCKER", 3), entry("JAVA", 1));
+        assertThat(List.copyOf(found.keySet())).containsExactly("DOCKER", "JAVA");
+    }
+
+    @Test
+    void duplicatePatternKeepsFirstValue() {
+        AhoCorasick<Long> automaton = new AhoCorasick.Builder<Long>()
+                .add("PostgreSQL", 1L)
+                .add("postgresql", 2L)
+                .add("  ", 3L)
+                .build();
+
+        assertThat(automaton.patternCount()).isEqualTo(1);
+        assertThat(automaton.findAll("postgresql")).containsOnly(entry(1L, 1));
+    }
+
+    @Test
+    void emptyAutomatonFindsNothing() {
+        assertThat(AhoCorasick.<String>empty().findAll("java spring")).isEmpty();
+        assertThat(AhoCorasick.empty().patternCount()).isZero();
+    }
+}
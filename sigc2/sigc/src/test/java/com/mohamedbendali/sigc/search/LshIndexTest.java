@@ -0,0 +1,93 @@
+package com.mohamedbendali.sigc.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index LSH sur signatures MinHash : voisins au-dessus du seuil, document exclu, retrait et remplacement,
+ * groupes de quasi-doublons et leur ordre (taille décroissante, puis premier id).
+ */
+class LshIndexTest {
+
+    private static final String OFFER = words(0, 40);
+
+    private static String words(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "mot" + i).collect(Collectors.joining(" "));
+    }
+
+    private static List<Long> ids(List<TextMatch> matches) {
+        return matches.stream().map(TextMatch::id).toList();
+    }
+
+    @Test
+    void nearFindsDuplicatesAndExcludesSelf() {
+        LshIndex index = new LshIndex();
+        index.put(1, MinHasher.signature(OFFER));
+        index.put(2, MinHasher.signature(OFFER.toUpperCase()));
+        index.put(3, MinHasher.signature(words(100, 140)));
+
+        List<TextMatch> matches = index.near(1, 0.8);
+
+        assertThat(ids(matches)).containsExactly(2L);
+        assertThat(matches.get(0).score()).isEqualTo(1.0f);
+        assertThat(index.near(MinHasher.signature(OFFER), 0.8, -1)).extracting(TextMatch::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.near(99, 0.8)).isEmpty();
+    }
+
+    @Test
+    void nearIsSortedByDescendingScore() {
+        LshIndex index = new LshIndex();
+        index.put(1, MinHasher.signature(words(0, 42)));
+        index.put(2, MinHasher.signature(words(0, 42)));
+        index.put(3, MinHasher.signature(words(0, 38) + " autre fin"));
+
+        List<TextMatch> matches = index.near(MinHasher.signature(words(0, 42)), 0.5, -1);
+
+        assertThat(ids(matches)).hasSize(3).endsWith(3L);
+        assertThat(matches.get(2).score()).isLessThan(matches.get(0).score());
+    }
+
+    @Test
+    void removeAndReplace() {
+        LshIndex index = new LshIndex();
+        index.put(1, MinHasher.signature(OFFER));
+        index.put(2, MinHasher.signature(OFFER));
+
+        index.remove(2);
+        index.remove(42); // Absent : sans effet
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.near(1, 0.5)).isEmpty();
+
+        index.put(2, MinHasher.signature(OFFER));
+        index.put(2, MinHasher.signature(words(100, 140))); // Texte modifié : l'ancienne signature disparaît
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.near(1, 0.5)).isEmpty();
+    }
+
+    @Test
+    void clustersOrderedBySizeThenFirstId() {
+        LshIndex index = new LshIndex();
+        index.put(30, MinHasher.signature(words(200, 240)));
+        index.put(31, MinHasher.signature(words(200, 240)));
+        index.put(10, MinHasher.signature(words(100, 140)));
+        index.put(11, MinHasher.signature(words(100, 140)));
+        index.put(5, MinHasher.signature(OFFER));
+        index.put(7, MinHasher.signature(OFFER));
+        index.put(6, MinHasher.signature(OFFER));
+        index.put(50, MinHasher.signature(words(300, 340))); // Isolé : aucun groupe
+
+        List<List<TextMatch>> clusters = index.clusters(0.9);
+
+        assertThat(clusters).extracting(LshIndexTest::ids)
+                .containsExactly(List.of(5L, 6L, 7L), List.of(10L, 11L), List.of(30L, 31L));
+        assertThat(clusters.get(0)).extracting(TextMatch::score).containsOnly(1.0f);
+    }
+}
@@ -0,0 +1,70 @@
+package com.mohamedbendali.sigc.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Signatures MinHash : textes identiques au pliage près, ensembles disjoints, similarité de Jaccard connue
+ * (shingles de 3 mots), texte sans mot, sérialisation en base.
+ */
+class MinHasherTest {
+
+    // Mots tous distincts : le texte des mots [from, to) a exactement to - from - 2 shingles, sans doublon
+    private static String words(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "mot" + i).collect(Collectors.joining(" "));
+    }
+
+    @Test
+    void identicalAfterFoldingGivesOne() {
+        int[] a = MinHasher.signature("Développeur Java Spring, télétravail partiel");
+        int[] b = MinHasher.signature("developpeur JAVA spring   teletravail partiel !");
+
+        assertThat(MinHasher.similarity(a, b)).isEqualTo(1.0);
+    }
+
+    @Test
+    void disjointTextsGiveAlmostZero() {
+        assertThat(MinHasher.similarity(MinHasher.signature(words(0, 60)), MinHasher.signature(words(100, 160))))
+                .isLessThan(0.05);
+    }
+
+    @Test
+    void estimatesKnownJaccardSimilarity() {
+        // 100 shingles chacun, 50 en commun : J = 50 / 150 ; écart type de l'estimation ~0,04 avec 128 fonctions
+        int[] a = MinHasher.signature(words(0, 102));
+        int[] b = MinHasher.signature(words(50, 152));
+
+        assertThat(MinHasher.similarity(a, b)).isCloseTo(1.0 / 3, within(0.12));
+    }
+
+    @Test
+    void shortTextIsOneShingle() {
+        assertThat(MinHasher.similarity(MinHasher.signature("java spring"), MinHasher.signature("Java, Spring")))
+                .isEqualTo(1.0);
+        assertThat(MinHasher.similarity(MinHasher.signature("java spring"), MinHasher.signature("spring java")))
+                .isLessThan(0.05);
+    }
+
+    @Test
+    void textWithoutWordsHasNoSignature() {
+        assertThat(MinHasher.signature(null)).isNull();
+        assertThat(MinHasher.signature(" - ! ")).isNull();
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        int[] signature = MinHasher.signature(words(0, 20));
+
+        byte[] bytes = MinHasher.toBytes(signature);
+
+        assertThat(bytes).hasSize(MinHasher.SIGNATURE_BYTES);
+        assertThat(MinHasher.fromBytes(bytes)).containsExactly(signature);
+        assertThat(MinHasher.fromBytes(new byte[64])).isNull();
+        assertThat(MinHasher.fromBytes(null)).isNull();
+    }
+}
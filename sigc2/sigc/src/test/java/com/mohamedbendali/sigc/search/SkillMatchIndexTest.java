@@ -0,0 +1,170 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.enums.OfferStatus;
+import com.mohamedbendali.sigc.event.CandidateSkillsChangedEvent;
+import com.mohamedbendali.sigc.repository.CandidateRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.projection.OfferFacetRow;
+import com.mohamedbendali.sigc.repository.projection.SkillLink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classement top-K de SkillMatchIndex (poids 0,7 couverture / 0,3 Jaccard) : scores attendus, candidats sans
+ * compétence commune exclus, égalités départagées par l'id le plus petit, y compris sur le parcours fork/join.
+ */
+class SkillMatchIndexTest {
+
+    private static final long OFFER_ID = 100;
+
+    private record Link(Long ownerId, Long skillId) implements SkillLink {
+        @Override
+        public Long getOwnerId() {
+            return ownerId;
+        }
+
+        @Override
+        public Long getSkillId() {
+            return skillId;
+        }
+    }
+
+    private record FacetRow(Long offerId, Long skillId) implements OfferFacetRow {
+        @Override
+        public Long getOfferId() {
+            return offerId;
+        }
+
+        @Override
+        public String getSalaryRange() {
+            return null;
+        }
+
+        @Override
+        public Long getSkillId() {
+            return skillId;
+        }
+
+        @Override
+        public String getSkillName() {
+            return null;
+        }
+
+        @Override
+        public String getSkillCategory() {
+            return null;
+        }
+    }
+
+    private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+    private final JobOfferRepository offerRepository = mock(JobOfferRepository.class);
+    private final SkillMatchIndex index = new SkillMatchIndex(candidateRepository, offerRepository, 2, 0.7, 0.3);
+
+    @AfterEach
+    void shutdown() {
+        index.shutdown();
+    }
+
+    private static void addCandidate(List<SkillLink> links, long candidateId, long... skillIds) {
+        for (long skillId : skillIds) {
+            links.add(new Link(candidateId, skillId));
+        }
+    }
+
+    private void build(List<SkillLink> candidateLinks) {
+        when(candidateRepository.findAllSkillLinks()).thenReturn(candidateLinks);
+        when(offerRepository.findFacetRowsByStatus(eq(OfferStatus.PUBLISHED), any())).thenReturn(List.of(
+                new FacetRow(OFFER_ID, 1L), new FacetRow(OFFER_ID, 2L), new FacetRow(OFFER_ID, 3L), new FacetRow(OFFER_ID, 4L),
+                new FacetRow(200L, 1L), new FacetRow(200L, 2L),
+                new FacetRow(300L, null))); // Offre sans compétence requise
+        index.rebuild();
+    }
+
+    private static List<Long> ids(List<SkillMatch> matches) {
+        return matches.stream().map(SkillMatch::id).toList();
+    }
+
+    @Test
+    void ranksByWeightedCoverageAndJaccard() {
+        List<SkillLink> links = new ArrayList<>();
+        addCandidate(links, 1, 1, 2, 3, 4);       // 0,7 * 1 + 0,3 * 1
+        addCandidate(links, 2, 1, 2, 3, 4, 5, 6); // 0,7 * 1 + 0,3 * 4/6
+        addCandidate(links, 3, 1, 2);             // 0,7 * 0,5 + 0,3 * 0,5
+        addCandidate(links, 5, 7);                // Aucune compétence requise : non classé
+        build(links);
+
+        List<SkillMatch> matches = index.topCandidates(OFFER_ID, 10);
+
+        assertThat(ids(matches)).containsExactly(1L, 2L, 3L);
+        assertThat(matches.get(0).score()).isCloseTo(1.0, within(1e-9));
+        assertThat(matches.get(1).score()).isCloseTo(0.9, within(1e-9));
+        assertThat(matches.get(2).score()).isCloseTo(0.5, within(1e-9));
+        assertThat(matches.get(2).matchedSkills()).isEqualTo(2);
+        assertThat(matches.get(2).requiredSkills()).isEqualTo(4);
+    }
+
+    @Test
+    void tiesKeepSmallestIdsAtCutoff() {
+        List<SkillLink> links = new ArrayList<>();
+        addCandidate(links, 9, 3, 4);
+        addCandidate(links, 1, 1, 2, 3, 4);
+        addCandidate(links, 3, 1, 2);
+        addCandidate(links, 8, 2, 3);
+        build(links);
+
+        // 3, 8 et 9 ont le même score : seuls les deux plus petits ids passent la coupure, dans l'ordre croissant
+        assertThat(ids(index.topCandidates(OFFER_ID, 3))).containsExactly(1L, 3L, 8L);
+    }
+
+    @Test
+    void parallelScanBreaksTiesLikeSequentialScan() {
+        List<SkillLink> links = new ArrayList<>();
+        LongStream.rangeClosed(1, 10_000).forEach(id -> addCandidate(links, id, 1, 2)); // Au-delà d'une tranche séquentielle
+        addCandidate(links, 7_777, 3);
+        build(links);
+
+        assertThat(ids(index.topCandidates(OFFER_ID, 5))).containsExactly(7_777L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void topOffersUsesEachOfferAsRequiredSkills() {
+        List<SkillLink> links = new ArrayList<>();
+        addCandidate(links, 1, 1, 2);
+        build(links);
+
+        List<SkillMatch> offers = index.topOffers(1L, 5);
+
+        assertThat(ids(offers)).containsExactly(200L, OFFER_ID);
+        assertThat(offers.get(0).score()).isCloseTo(1.0, within(1e-9));
+        assertThat(index.topOffers(42L, 5)).isEmpty();
+        assertThat(index.topCandidates(300L, 5)).isEmpty();
+    }
+
+    @Test
+    void candidateUpdateReplacesSkills() {
+        List<SkillLink> links = new ArrayList<>();
+        addCandidate(links, 1, 1, 2, 3, 4);
+        addCandidate(links, 5, 7);
+        build(links);
+        assertThat(ids(index.topCandidates(OFFER_ID, 5))).containsExactly(1L);
+
+        when(candidateRepository.findSkillIdsByCandidateId(5L)).thenReturn(List.of(1L, 2L, 3L, 4L));
+        index.onCandidateSkillsChanged(new CandidateSkillsChangedEvent(5L));
+        assertThat(ids(index.topCandidates(OFFER_ID, 5))).containsExactly(1L, 5L);
+
+        when(candidateRepository.findSkillIdsByCandidateId(1L)).thenReturn(List.of());
+        index.onCandidateSkillsChanged(new CandidateSkillsChangedEvent(1L));
+        assertThat(ids(index.topCandidates(OFFER_ID, 5))).containsExactly(5L);
+    }
+}
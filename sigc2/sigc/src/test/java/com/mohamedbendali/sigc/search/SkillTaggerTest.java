@@ -0,0 +1,112 @@
+package com.mohamedbendali.sigc.search;
+
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.repository.projection.IdName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Étiquetage des compétences par SkillTagger : libellés du référentiel et synonymes, motifs trop courts ignorés,
+ * synonymes d'une compétence absente ignorés, alias ambigus absents du fichier livré.
+ */
+class SkillTaggerTest {
+
+    private record SkillRow(Long id, String name) implements IdName {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final String SYNONYMS = """
+            # Commentaire ignoré
+            JavaScript: js, ecmascript
+            Kubernetes: k8s
+            Rust: rs, r
+
+            Compétence inconnue: java
+            ligne sans séparateur
+            """;
+
+    private static SkillTagger tagger(String synonyms, IdName... skills) {
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        when(skillRepository.findAllIdNames()).thenReturn(List.of(skills));
+        SkillTagger tagger = new SkillTagger(skillRepository,
+                new ByteArrayResource(synonyms.getBytes(StandardCharsets.UTF_8)));
+        tagger.rebuild();
+        return tagger;
+    }
+
+    @Test
+    void tagsSkillNamesAndSynonyms() {
+        SkillTagger tagger = tagger(SYNONYMS,
+                new SkillRow(1L, "JavaScript"), new SkillRow(2L, "Kubernetes"), new SkillRow(3L, "Java"));
+
+        assertThat(tagger.tag("Développeur JS / Java, déploiement k8s et javascript"))
+                .containsExactly(entry(1L, 2), entry(3L, 1), entry(2L, 1));
+        assertThat(tagger.nameOf(2L)).isEqualTo("Kubernetes");
+        assertThat(tagger.nameOf(99L)).isNull();
+    }
+
+    @Test
+    void ignoresSingleCharacterPatterns() {
+        SkillTagger tagger = tagger(SYNONYMS, new SkillRow(1L, "R"), new SkillRow(2L, "Rust"));
+
+        assertThat(tagger.tag("c'est r, pas rs")).containsOnly(entry(2L, 1));
+    }
+
+    @Test
+    void ignoresSynonymsOfUnknownSkills() {
+        SkillTagger tagger = tagger(SYNONYMS, new SkillRow(1L, "Kubernetes"));
+
+        assertThat(tagger.tag("java et javascript")).isEmpty();
+    }
+
+    @Test
+    void ignoresNamesThatFoldToCommonWords() {
+        SkillTagger tagger = tagger(".NET: dotnet, asp.net\n", new SkillRow(1L, ".NET"), new SkillRow(2L, "Go"));
+
+        assertThat(tagger.tag("Salaire net de 2 500 €, poste 16 Go de RAM")).isEmpty();
+        assertThat(tagger.tag("Développeur dotnet (ASP.NET Core)")).containsOnly(entry(1L, 2));
+    }
+
+    @Test
+    void blankTextAndMissingSynonymsFile() {
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        when(skillRepository.findAllIdNames()).thenReturn(List.of(new SkillRow(1L, "Docker")));
+        SkillTagger tagger = new SkillTagger(skillRepository, new ClassPathResource("skills/absent.txt"));
+        tagger.rebuild();
+
+        assertThat(tagger.tag("  ")).isEmpty();
+        assertThat(tagger.tag(null)).isEmpty();
+        assertThat(tagger.tag("docker compose")).containsOnly(entry(1L, 1));
+    }
+
+    @Test
+    void shippedSynonymsDoNotContainAmbiguousAliases() {
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        when(skillRepository.findAllIdNames()).thenReturn(List.of(
+                new SkillRow(1L, "TypeScript"), new SkillRow(2L, "Node.js"), new SkillRow(3L, "Vue.js"),
+                new SkillRow(4L, "Python"), new SkillRow(5L, "Machine Learning"), new SkillRow(6L, "CI/CD"),
+                new SkillRow(7L, "Linux")));
+        SkillTagger tagger = new SkillTagger(skillRepository, new ClassPathResource("skills/synonyms.txt"));
+        tagger.rebuild();
+
+        assertThat(tagger.tag("ts node vue py ml ia jenkins unix")).isEmpty();
+        assertThat(tagger.tag("typescript nodejs vuejs")).containsOnlyKeys(1L, 2L, 3L);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mohamedbendali.sigc.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence d'une requête "offres similaires" : IVF (nprobe listes) contre parcours exact du corpus.
+ * Corpus synthétique : des thèmes de vocabulaire mélangés à du bruit, pour que les listes IVF aient un sens.
+ *
+ * Lancement : mvn test-compile puis exécuter la méthode main (classpath de test).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextSimilarityBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int TOPICS = 200;
+    private static final int WORDS_PER_DOCUMENT = 120;
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "50000"})
+    public int corpusSize;
+
+    @Param({"4", "16"})
+    public int nprobe;
+
+    private final TextVectorizer vectorizer = new TextVectorizer();
+    private IvfIndex ivfIndex;
+    private IvfIndex exactIndex;
+    private SparseVector[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        String[] texts = new String[corpusSize];
+        for (int d = 0; d < corpusSize; d++) {
+            texts[d] = document(random);
+            vectorizer.addDocument(vectorizer.vectorize(texts[d]));
+        }
+        Map<Long, SparseVector> vectors = new HashMap<>();
+        for (int d = 0; d < corpusSize; d++) {
+            vectors.put((long) d, vectorizer.vectorize(texts[d]));
+        }
+
+        ivfIndex = new IvfIndex();
+        ivfIndex.train(vectors, 42L);
+        exactIndex = new IvfIndex();
+        exactIndex.train(Map.of(), 42L); // Aucune liste apprise : une seule liste, recherche exacte
+        vectors.forEach(exactIndex::add);
+
+        queries = new SparseVector[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = vectorizer.vectorize(document(random));
+        }
+    }
+
+    @Benchmark
+    public List<TextMatch> ivfSearch() {
+        return ivfIndex.search(nextQuery(), 10, nprobe, -1);
+    }
+
+    @Benchmark
+    public List<TextMatch> exactSearch() {
+        return exactIndex.search(nextQuery(), 10, 1, -1);
+    }
+
+    private SparseVector nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    // Deux tiers des mots tirés dans le vocabulaire d'un thème, le reste dans tout le vocabulaire
+    private static String document(Random random) {
+        int topicStart = random.nextInt(TOPICS) * (VOCABULARY_SIZE / TOPICS);
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+            int word = random.nextInt(3) < 2
+                    ? topicStart + random.nextInt(VOCABULARY_SIZE / TOPICS)
+                    : random.nextInt(VOCABULARY_SIZE);
+            text.append("terme").append(Integer.toString(word, 36)).append("q ");
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TextSimilarityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.CandidateDTO;
+import com.mohamedbendali.sigc.entity.Candidate;
+import com.mohamedbendali.sigc.entity.JobApplication;
+import com.mohamedbendali.sigc.entity.JobOffer;
+import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.repository.CandidateSearchRepository;
+import com.mohamedbendali.sigc.repository.OfferStatusCountStore;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garde-fou contre le N+1 de la liste des candidats : le nombre de requêtes d'une page ne doit pas dépendre
+ * de sa taille (page + COUNT + un lot de compétences + les identifiants de candidatures).
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never", // schema.sql est propre à PostgreSQL
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(CandidateServiceImpl.class)
+class CandidateServiceQueryCountTest {
+
+    private static final int CANDIDATES = 60;
+    private static final int PAGE_SIZE = 50;
+    private static final long MAX_STATEMENTS = 4;
+
+    @MockBean
+    private CandidateSearchRepository candidateSearchRepository;
+    @MockBean
+    private RowCountEstimator rowCountEstimator;
+    @MockBean
+    private SkillResolver skillResolver;
+    @MockBean
+    private OfferStatusCountStore offerStatusCountStore;
+
+    @Autowired
+    private CandidateServiceImpl candidateService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void populate() {
+        Skill java = skill("Java");
+        Skill sql = skill("SQL");
+        JobOffer offer = new JobOffer();
+        offer.setTitle("Développeur backend");
+        entityManager.persist(offer);
+        JobOffer otherOffer = new JobOffer();
+        otherOffer.setTitle("Développeur full stack");
+        entityManager.persist(otherOffer);
+
+        for (int i = 0; i < CANDIDATES; i++) {
+            Candidate candidate = new Candidate();
+            candidate.setFirstName("Prénom" + i);
+            candidate.setLastName(String.format("Nom%03d", i));
+            candidate.setEmail("candidat" + i + "@example.com");
+            candidate.setSkills(new HashSet<>(Set.of(java, sql)));
+            entityManager.persist(candidate);
+            application(candidate, offer);
+            application(candidate, otherOffer);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void candidatePageIssuesConstantNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<CandidateDTO> page = candidateService.getAllCandidates(PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(CANDIDATES);
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getSkillNames()).containsExactlyInAnyOrder("Java", "SQL");
+            assertThat(dto.getApplicationIds()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount())
+                .as("requêtes SQL pour une page de %d candidats", PAGE_SIZE)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private Skill skill(String name) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        return entityManager.persist(skill);
+    }
+
+    private void application(Candidate candidate, JobOffer offer) {
+        JobApplication application = new JobApplication();
+        application.setCandidate(candidate);
+        application.setJobOffer(offer);
+        entityManager.persist(application);
+    }
+}
@@ -0,0 +1,248 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateRequest;
+import com.mohamedbendali.sigc.dto.BulkStatusUpdateResultDTO;
+import com.mohamedbendali.sigc.dto.JobApplicationDTO;
+import com.mohamedbendali.sigc.entity.JobApplication;
+import com.mohamedbendali.sigc.entity.JobOffer;
+import com.mohamedbendali.sigc.enums.ApplicationStatus;
+import com.mohamedbendali.sigc.enums.StatusUpdateOutcome;
+import com.mohamedbendali.sigc.event.ApplicationStatusChangedEvent;
+import com.mohamedbendali.sigc.exception.OperationNotAllowedException;
+import com.mohamedbendali.sigc.repository.ApplicationStatusStore;
+import com.mohamedbendali.sigc.repository.CandidateRepository;
+import com.mohamedbendali.sigc.repository.JobApplicationRepository;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import com.mohamedbendali.sigc.stats.OfferStatsCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mise à jour de statut des candidatures (JobApplicationServiceImpl) : résultat par identifiant de la mise à jour
+ * groupée, choix ids / filtre, et règles de transition appliquées aussi à la mise à jour unitaire (PATCH).
+ */
+@ExtendWith(MockitoExtension.class)
+class JobApplicationStatusUpdateTest {
+
+    private static final long OFFER_ID = 7L;
+
+    @Mock
+    private JobApplicationRepository applicationRepository;
+    @Mock
+    private CandidateRepository candidateRepository;
+    @Mock
+    private JobOfferRepository offerRepository;
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+    @Mock
+    private OfferStatsCounter offerStatsCounter;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ApplicationStatusStore statusStore;
+
+    private JobApplicationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JobApplicationServiceImpl(applicationRepository, candidateRepository, offerRepository,
+                rowCountEstimator, offerStatsCounter, eventPublisher, statusStore);
+        ReflectionTestUtils.setField(service, "bulkMaxSize", 4);
+    }
+
+    // --- Mise à jour groupée ---
+
+    @Test
+    void reportsOneOutcomePerRequestedIdInRequestOrder() {
+        when(statusStore.lockByIds(anyCollection())).thenReturn(List.of(
+                current(1, ApplicationStatus.RECEIVED),
+                current(2, ApplicationStatus.UNDER_REVIEW),
+                current(3, ApplicationStatus.REJECTED)));
+
+        BulkStatusUpdateResultDTO result = service.updateApplicationStatuses(
+                byIds(ApplicationStatus.UNDER_REVIEW, 3L, 2L, 99L, 1L));
+
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getOutcomes()).containsExactly(
+                new BulkStatusUpdateResultDTO.Outcome(3L, ApplicationStatus.REJECTED, StatusUpdateOutcome.INVALID_TRANSITION),
+                new BulkStatusUpdateResultDTO.Outcome(2L, ApplicationStatus.UNDER_REVIEW, StatusUpdateOutcome.UNCHANGED),
+                new BulkStatusUpdateResultDTO.Outcome(99L, null, StatusUpdateOutcome.NOT_FOUND),
+                new BulkStatusUpdateResultDTO.Outcome(1L, ApplicationStatus.RECEIVED, StatusUpdateOutcome.UPDATED));
+        verify(statusStore).updateStatus(eq(List.of(1L)), eq(ApplicationStatus.UNDER_REVIEW), any());
+
+        ArgumentCaptor<ApplicationStatusChangedEvent> event = ArgumentCaptor.forClass(ApplicationStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChanges()).containsExactly(
+                new ApplicationStatusChangedEvent.Change(1L, OFFER_ID, ApplicationStatus.RECEIVED, ApplicationStatus.UNDER_REVIEW));
+    }
+
+    @Test
+    void ignoresDuplicateAndNullIds() {
+        when(statusStore.lockByIds(anyCollection())).thenReturn(List.of(current(1, ApplicationStatus.RECEIVED)));
+
+        BulkStatusUpdateResultDTO result = service.updateApplicationStatuses(
+                byIds(ApplicationStatus.REJECTED, 1L, null, 1L, null));
+
+        assertThat(result.getRequested()).isEqualTo(1);
+        assertThat(result.getOutcomes()).extracting(BulkStatusUpdateResultDTO.Outcome::applicationId).containsExactly(1L);
+        verify(statusStore).lockByIds(Set.of(1L));
+    }
+
+    @Test
+    void onlyNullIdsUpdateNothingWithoutQuerying() {
+        BulkStatusUpdateResultDTO result = service.updateApplicationStatuses(byIds(ApplicationStatus.REJECTED, (Long) null));
+
+        assertThat(result.getRequested()).isZero();
+        assertThat(result.getOutcomes()).isEmpty();
+        verify(statusStore, never()).lockByIds(anyCollection());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void noEventWhenNothingChanges() {
+        when(statusStore.lockByIds(anyCollection())).thenReturn(List.of(current(1, ApplicationStatus.ACCEPTED)));
+
+        BulkStatusUpdateResultDTO result = service.updateApplicationStatuses(byIds(ApplicationStatus.REJECTED, 1L));
+
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getOutcomes()).extracting(BulkStatusUpdateResultDTO.Outcome::outcome)
+                .containsExactly(StatusUpdateOutcome.INVALID_TRANSITION);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void filterSelectsApplicationsOfTheOffer() {
+        when(statusStore.lockByOffer(OFFER_ID, ApplicationStatus.RECEIVED, 5)).thenReturn(List.of(
+                current(5, ApplicationStatus.RECEIVED), current(6, ApplicationStatus.RECEIVED)));
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(ApplicationStatus.UNDER_REVIEW);
+        request.setOfferId(OFFER_ID);
+        request.setCurrentStatus(ApplicationStatus.RECEIVED);
+
+        BulkStatusUpdateResultDTO result = service.updateApplicationStatuses(request);
+
+        assertThat(result.getRequested()).isEqualTo(2);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        verify(statusStore).updateStatus(eq(List.of(5L, 6L)), eq(ApplicationStatus.UNDER_REVIEW), any());
+    }
+
+    @Test
+    void requiresEitherIdsOrFilterButNotBoth() {
+        BulkStatusUpdateRequest neither = new BulkStatusUpdateRequest();
+        neither.setStatus(ApplicationStatus.REJECTED);
+        neither.setApplicationIds(List.of());
+        assertThatThrownBy(() -> service.updateApplicationStatuses(neither)).isInstanceOf(OperationNotAllowedException.class);
+
+        BulkStatusUpdateRequest both = byIds(ApplicationStatus.REJECTED, 1L);
+        both.setOfferId(OFFER_ID);
+        assertThatThrownBy(() -> service.updateApplicationStatuses(both)).isInstanceOf(OperationNotAllowedException.class);
+
+        verifyNoInteractions(statusStore);
+    }
+
+    @Test
+    void rejectsTooManyIdsOrATooBroadFilter() {
+        assertThatThrownBy(() -> service.updateApplicationStatuses(byIds(ApplicationStatus.REJECTED, 1L, 2L, 3L, 4L, 5L)))
+                .isInstanceOf(OperationNotAllowedException.class);
+
+        when(statusStore.lockByOffer(OFFER_ID, null, 5)).thenReturn(List.of(
+                current(1, ApplicationStatus.RECEIVED), current(2, ApplicationStatus.RECEIVED),
+                current(3, ApplicationStatus.RECEIVED), current(4, ApplicationStatus.RECEIVED),
+                current(5, ApplicationStatus.RECEIVED)));
+        BulkStatusUpdateRequest filter = new BulkStatusUpdateRequest();
+        filter.setStatus(ApplicationStatus.REJECTED);
+        filter.setOfferId(OFFER_ID);
+        assertThatThrownBy(() -> service.updateApplicationStatuses(filter)).isInstanceOf(OperationNotAllowedException.class);
+
+        verify(statusStore, never()).updateStatus(anyCollection(), any(), any());
+    }
+
+    // --- Mise à jour unitaire (PATCH) : mêmes règles que la mise à jour groupée ---
+
+    @Test
+    void singleUpdateAppliesAllowedTransitionAndPublishesChange() {
+        JobApplication application = application(ApplicationStatus.UNDER_REVIEW);
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application));
+        when(applicationRepository.save(application)).thenReturn(application);
+
+        JobApplicationDTO dto = service.updateApplicationStatus(1L, ApplicationStatus.OFFER_EXTENDED);
+
+        assertThat(dto.getStatus()).isEqualTo(ApplicationStatus.OFFER_EXTENDED);
+        assertThat(application.getUpdatedAt()).isNotNull();
+        verify(eventPublisher).publishEvent(any(ApplicationStatusChangedEvent.class));
+    }
+
+    @Test
+    void singleUpdateRejectsTransitionFromFinalStatus() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(ApplicationStatus.REJECTED)));
+
+        assertThatThrownBy(() -> service.updateApplicationStatus(1L, ApplicationStatus.UNDER_REVIEW))
+                .isInstanceOf(OperationNotAllowedException.class);
+        verify(applicationRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void singleUpdateRejectsReturnToReceived() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(ApplicationStatus.UNDER_REVIEW)));
+
+        assertThatThrownBy(() -> service.updateApplicationStatus(1L, ApplicationStatus.RECEIVED))
+                .isInstanceOf(OperationNotAllowedException.class);
+    }
+
+    @Test
+    void singleUpdateToSameStatusIsANoOp() {
+        when(applicationRepository.findById(1L)).thenReturn(Optional.of(application(ApplicationStatus.ACCEPTED)));
+
+        JobApplicationDTO dto = service.updateApplicationStatus(1L, ApplicationStatus.ACCEPTED);
+
+        assertThat(dto.getStatus()).isEqualTo(ApplicationStatus.ACCEPTED);
+        verify(applicationRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private static ApplicationStatusStore.CurrentStatus current(long id, ApplicationStatus status) {
+        return new ApplicationStatusStore.CurrentStatus(id, OFFER_ID, status);
+    }
+
+    private static BulkStatusUpdateRequest byIds(ApplicationStatus target, Long... ids) {
+        BulkStatusUpdateRequest request = new BulkStatusUpdateRequest();
+        request.setStatus(target);
+        request.setApplicationIds(new ArrayList<>(Arrays.asList(ids)));
+        return request;
+    }
+
+    private static JobApplication application(ApplicationStatus status) {
+        JobOffer offer = new JobOffer();
+        offer.setId(OFFER_ID);
+        JobApplication application = new JobApplication();
+        application.setId(1L);
+        application.setStatus(status);
+        application.setJobOffer(offer);
+        return application;
+    }
+}
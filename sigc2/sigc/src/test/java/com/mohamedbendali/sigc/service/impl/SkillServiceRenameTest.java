@@ -0,0 +1,81 @@
+package com.mohamedbendali.sigc.service.impl;
+
+import com.mohamedbendali.sigc.dto.SkillDTO;
+import com.mohamedbendali.sigc.entity.Skill;
+import com.mohamedbendali.sigc.repository.JobOfferRepository;
+import com.mohamedbendali.sigc.repository.RowCountEstimator;
+import com.mohamedbendali.sigc.repository.SkillRepository;
+import com.mohamedbendali.sigc.search.TypeaheadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renommage d'une compétence : les offres qui la requièrent sont marquées modifiées (updated_at),
+ * pour que leur ETag change avec requiredSkillNames. Un simple changement de catégorie n'y touche pas.
+ */
+@ExtendWith(MockitoExtension.class)
+class SkillServiceRenameTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+    @Mock
+    private JobOfferRepository offerRepository;
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+    @Mock
+    private TypeaheadService typeaheadService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SkillServiceImpl skillService;
+
+    private Skill skill;
+
+    @BeforeEach
+    void setUp() {
+        skill = new Skill();
+        skill.setId(5L);
+        skill.setName("Javascript");
+        skill.setCategory("Langage");
+        when(skillRepository.findById(5L)).thenReturn(Optional.of(skill));
+        when(skillRepository.findByNameIgnoreCase(any())).thenReturn(Optional.of(skill));
+        when(skillRepository.save(skill)).thenReturn(skill);
+    }
+
+    @Test
+    void renameTouchesOffersRequiringSkill() {
+        SkillDTO dto = new SkillDTO();
+        dto.setName("JavaScript");
+        dto.setCategory("Langage");
+
+        skillService.updateSkill(5L, dto);
+
+        verify(offerRepository).touchBySkillId(eq(5L), any());
+    }
+
+    @Test
+    void categoryChangeLeavesOffersUntouched() {
+        SkillDTO dto = new SkillDTO();
+        dto.setName("Javascript");
+        dto.setCategory("Frontend");
+
+        skillService.updateSkill(5L, dto);
+
+        verify(offerRepository, never()).touchBySkillId(anyLong(), any());
+    }
+}
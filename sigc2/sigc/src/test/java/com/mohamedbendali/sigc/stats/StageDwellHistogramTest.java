@@ -0,0 +1,99 @@
+package com.mohamedbendali.sigc.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tranches et centiles interpolés de StageDwellHistogram : bornes incluses, tranche ouverte finale,
+ * durée maximale inférieure à la borne de la tranche, rang tombant exactement sur une fin de tranche.
+ */
+class StageDwellHistogramTest {
+
+    private static final int LAST = StageDwellHistogram.BUCKETS - 1;
+
+    @Test
+    void upperBoundsAreInclusive() {
+        assertThat(StageDwellHistogram.bucket(0)).isZero();
+        assertThat(StageDwellHistogram.bucket(60)).isZero();
+        assertThat(StageDwellHistogram.bucket(61)).isEqualTo(1);
+        assertThat(StageDwellHistogram.bucket(300)).isEqualTo(1);
+        assertThat(StageDwellHistogram.bucket(7_776_000)).isEqualTo(LAST - 1);
+    }
+
+    @Test
+    void durationsBeyondLastBoundGoToOpenBucket() {
+        assertThat(StageDwellHistogram.bucket(7_776_001)).isEqualTo(LAST);
+        assertThat(StageDwellHistogram.bucket(Long.MAX_VALUE)).isEqualTo(LAST);
+    }
+
+    @Test
+    void emptyHistogramHasZeroPercentiles() {
+        assertThat(StageDwellHistogram.percentile(new long[StageDwellHistogram.BUCKETS], 0, 0.5)).isZero();
+    }
+
+    @Test
+    void interpolatesInsideFirstBucket() {
+        long[] histogram = histogram(0, 4);
+
+        assertThat(StageDwellHistogram.percentile(histogram, 60, 0.5)).isEqualTo(30);
+        assertThat(StageDwellHistogram.percentile(histogram, 60, 1.0)).isEqualTo(60);
+        // Quantile 0 : premier rang, jamais le rang 0
+        assertThat(StageDwellHistogram.percentile(histogram, 60, 0.0)).isEqualTo(15);
+    }
+
+    @Test
+    void bucketUpperBoundIsCappedByMaxSeconds() {
+        long[] histogram = histogram(1, 2); // Tranche ]60 s, 300 s], plus longue durée observée : 100 s
+
+        assertThat(StageDwellHistogram.percentile(histogram, 100, 0.5)).isEqualTo(80);
+        assertThat(StageDwellHistogram.percentile(histogram, 100, 1.0)).isEqualTo(100);
+    }
+
+    @Test
+    void openLastBucketInterpolatesUpToMaxSeconds() {
+        long[] histogram = histogram(LAST, 2);
+
+        assertThat(StageDwellHistogram.percentile(histogram, 10_000_000, 0.5)).isEqualTo(8_888_000);
+        assertThat(StageDwellHistogram.percentile(histogram, 10_000_000, 1.0)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    void rankOnBucketBoundaryStaysInLowerBucket() {
+        long[] histogram = histogram(0, 2);
+        histogram[1] = 2;
+
+        // Rang 2 sur 4 : dernier échantillon de la première tranche, donc sa borne supérieure
+        assertThat(StageDwellHistogram.percentile(histogram, 300, 0.5)).isEqualTo(60);
+        // Rang 3 : premier échantillon de la tranche suivante, à mi-chemin de ]60, 300]
+        assertThat(StageDwellHistogram.percentile(histogram, 300, 0.51)).isEqualTo(180);
+    }
+
+    @Test
+    void emptyBucketsAreSkipped() {
+        long[] histogram = histogram(0, 1);
+        histogram[5] = 1; // ]3 600 s, 7 200 s]
+
+        assertThat(StageDwellHistogram.percentile(histogram, 7_200, 1.0)).isEqualTo(7_200);
+        assertThat(StageDwellHistogram.percentile(histogram, 7_200, 0.5)).isEqualTo(60);
+    }
+
+    @Test
+    void percentileNeverExceedsMaxSeconds() {
+        long[] histogram = new long[StageDwellHistogram.BUCKETS];
+        long max = 0;
+        for (long seconds : new long[]{5, 90, 4_000, 90_000, 700_000, 9_000_000}) {
+            histogram[StageDwellHistogram.bucket(seconds)]++;
+            max = Math.max(max, seconds);
+        }
+        for (double quantile = 0; quantile <= 1.0; quantile += 0.05) {
+            assertThat(StageDwellHistogram.percentile(histogram, max, quantile)).isBetween(0L, max);
+        }
+    }
+
+    private static long[] histogram(int bucket, long samples) {
+        long[] histogram = new long[StageDwellHistogram.BUCKETS];
+        histogram[bucket] = samples;
+        return histogram;
+    }
+}
@@ -0,0 +1,153 @@
+package com.mohamedbendali.sigc.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohamedbendali.sigc.enums.ExportFormat;
+import com.mohamedbendali.sigc.exception.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lecture des fichiers importés : cas limites du CSV (RFC 4180) et du NDJSON, et relecture d'un export.
+ */
+class ImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void splitsOnCommaOrSemicolonDependingOnHeader() throws IOException {
+        assertThat(fields(ExportFormat.CSV, "title,salary_range\nDev,40k\n"))
+                .containsExactly(Map.of("title", "Dev", "salaryrange", "40k"));
+        assertThat(fields(ExportFormat.CSV, "title;salaryRange\nDev, senior;40k\n"))
+                .containsExactly(Map.of("title", "Dev, senior", "salaryrange", "40k"));
+    }
+
+    @Test
+    void skipsUtf8Bom() throws IOException {
+        List<Map<String, String>> rows = fields(ExportFormat.CSV, "\uFEFFtitle;status\nDev;DRAFT\n");
+
+        assertThat(rows).containsExactly(Map.of("title", "Dev", "status", "DRAFT"));
+    }
+
+    @Test
+    void keepsQuotedNewlinesSeparatorsAndEscapedQuotes() throws IOException {
+        List<ImportReader.Record> records = records(ExportFormat.CSV,
+                "title;description\r\n\"Dev \"\"Java\"\"\";\"ligne 1\nligne 2; suite\"\r\nQA;simple\r\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).fields())
+                .containsEntry("title", "Dev \"Java\"")
+                .containsEntry("description", "ligne 1\nligne 2; suite");
+        // Le numéro de ligne tient compte du retour à la ligne dans le champ précédent
+        assertThat(records.get(0).line()).isEqualTo(2);
+        assertThat(records.get(1).line()).isEqualTo(4);
+    }
+
+    @Test
+    void distinguishesNullFromEmptyString() throws IOException {
+        Map<String, String> row = fields(ExportFormat.CSV, "a;b;c\n;\"\";x\n").get(0);
+
+        assertThat(row.get("a")).isNull();
+        assertThat(row.get("b")).isEmpty();
+        assertThat(row.get("c")).isEqualTo("x");
+    }
+
+    @Test
+    void ignoresBlankLines() throws IOException {
+        assertThat(fields(ExportFormat.CSV, "a;b\n\n1;2\n\n")).containsExactly(Map.of("a", "1", "b", "2"));
+    }
+
+    @Test
+    void reportsWrongColumnCountPerRecord() throws IOException {
+        ImportReader.Record record = records(ExportFormat.CSV, "a;b\n1;2;3\n").get(0);
+
+        assertThatThrownBy(record::fields)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3 colonne(s) au lieu de 2");
+    }
+
+    @Test
+    void rejectsUnclosedQuote() {
+        assertThatThrownBy(() -> records(ExportFormat.CSV, "a;b\n1;\"jamais fermé\n2;3\n"))
+                .isInstanceOf(InvalidImportFileException.class)
+                .hasMessageContaining("ligne 2");
+    }
+
+    @Test
+    void rejectsEmptyCsvFile() {
+        assertThatThrownBy(() -> records(ExportFormat.CSV, ""))
+                .isInstanceOf(InvalidImportFileException.class);
+    }
+
+    @Test
+    void readsNdjsonScalarsArraysAndNulls() throws IOException {
+        List<ImportReader.Record> records = records(ExportFormat.NDJSON,
+                "{\"email\":\"a@b.c\",\"skills\":[\"Java\",\"SQL\"],\"phone\":null,\"age\":30}\n\n[1]\n");
+
+        assertThat(records).hasSize(2);
+        Map<String, String> first = records.get(0).fields();
+        assertThat(first).containsEntry("email", "a@b.c").containsEntry("skills", "Java,SQL").containsEntry("age", "30");
+        assertThat(first.get("phone")).isNull();
+        assertThat(records.get(1).line()).isEqualTo(3);
+        assertThatThrownBy(() -> records.get(1).fields()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsBackCsvProducedByExportWriter() throws IOException {
+        List<String> columns = List.of("id", "title", "description", "createdAt", "phone");
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        Object[] row = {42L, "Dev; \"senior\"", "ligne 1\nligne 2", createdAt, null};
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.of(ExportFormat.CSV, out, columns, objectMapper)) {
+            writer.write(row);
+        }
+        Map<String, String> read = fields(ExportFormat.CSV, out.toString(StandardCharsets.UTF_8)).get(0);
+
+        assertThat(read).containsEntry("id", "42")
+                .containsEntry("title", "Dev; \"senior\"")
+                .containsEntry("description", "ligne 1\nligne 2")
+                .containsEntry("createdat", createdAt.toString());
+        assertThat(read.get("phone")).isNull();
+    }
+
+    @Test
+    void readsBackNdjsonProducedByExportWriter() throws IOException {
+        List<String> columns = List.of("id", "title");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.of(ExportFormat.NDJSON, out, columns, objectMapper)) {
+            writer.write(new Object[]{1L, "Dev\n\"Java\""});
+            writer.write(new Object[]{2L, null});
+        }
+        List<Map<String, String>> rows = fields(ExportFormat.NDJSON, out.toString(StandardCharsets.UTF_8));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsEntry("id", "1").containsEntry("title", "Dev\n\"Java\"");
+        assertThat(rows.get(1).get("title")).isNull();
+    }
+
+    private List<ImportReader.Record> records(ExportFormat format, String content) throws IOException {
+        List<ImportReader.Record> records = new ArrayList<>();
+        try (ImportReader reader = ImportReader.of(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            for (ImportReader.Record record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private List<Map<String, String>> fields(ExportFormat format, String content) throws IOException {
+        return records(format, content).stream().map(ImportReader.Record::fields).toList();
+    }
+}